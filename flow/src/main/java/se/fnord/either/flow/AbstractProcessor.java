@@ -0,0 +1,95 @@
+package se.fnord.either.flow;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+/**
+ * A processor producing at most one output item for every input item, with a bounded output buffer.
+ */
+abstract class AbstractProcessor<T, O> implements Flow.Processor<T, O> {
+    private final Downstream<O> downstream;
+    private final Upstream upstream;
+    private boolean done;
+
+    AbstractProcessor(int capacity) {
+        this.downstream = new Downstream<>(this::replenish, this::cancel);
+        this.upstream = new Upstream(capacity, downstream::queued);
+    }
+
+    private void replenish() {
+        upstream.replenish();
+    }
+
+    private void cancel() {
+        upstream.cancel();
+    }
+
+    /**
+     * Processes an input item, emitting at most one output item
+     */
+    abstract void process(T item);
+
+    /**
+     * Called when the upstream publisher completes, before completing downstream
+     */
+    void finish() {
+    }
+
+    final void emit(O item) {
+        downstream.offer(item);
+    }
+
+    @Override
+    public final void subscribe(Flow.Subscriber<? super O> subscriber) {
+        Objects.requireNonNull(subscriber);
+        downstream.subscribe(subscriber);
+    }
+
+    @Override
+    public final void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        upstream.set(subscription);
+    }
+
+    @Override
+    public final void onNext(T item) {
+        Objects.requireNonNull(item);
+        if (done)
+            return;
+        try {
+            process(item);
+        }
+        catch (RuntimeException | Error e) {
+            done = true;
+            upstream.cancel();
+            downstream.error(e);
+            return;
+        }
+        upstream.received();
+        upstream.replenish();
+    }
+
+    @Override
+    public final void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        if (done)
+            return;
+        done = true;
+        downstream.error(throwable);
+    }
+
+    @Override
+    public final void onComplete() {
+        if (done)
+            return;
+        done = true;
+        try {
+            finish();
+        }
+        catch (RuntimeException | Error e) {
+            downstream.error(e);
+            return;
+        }
+        downstream.complete();
+    }
+}
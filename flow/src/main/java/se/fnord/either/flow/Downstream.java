@@ -0,0 +1,161 @@
+package se.fnord.either.flow;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The subscription of the single subscriber of an operator output. Items offered by the operator are queued and
+ * delivered by a drain loop as the subscriber requests them; whichever thread finds the loop idle runs it, so
+ * signals to the subscriber are serialised without locking. The operator bounds the queue by bounding what it
+ * requests upstream, and is told through <code>onDrained</code> whenever queued items have been delivered.
+ */
+final class Downstream<T> implements Flow.Subscription {
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Flow.Subscriber<? super T>> subscriber = new AtomicReference<>();
+    private final Runnable onDrained;
+    private final Runnable onCancel;
+    private volatile boolean done;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+    private volatile boolean badRequest;
+
+    Downstream(Runnable onDrained, Runnable onCancel) {
+        this.onDrained = onDrained;
+        this.onCancel = onCancel;
+    }
+
+    void subscribe(Flow.Subscriber<? super T> s) {
+        if (!subscriber.compareAndSet(null, s)) {
+            s.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            s.onError(new IllegalStateException("only one subscriber is supported"));
+            return;
+        }
+        s.onSubscribe(this);
+        drain();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void offer(T item) {
+        if (cancelled)
+            return;
+        queued.incrementAndGet();
+        queue.offer(item);
+        drain();
+    }
+
+    void complete() {
+        done = true;
+        drain();
+    }
+
+    void error(Throwable t) {
+        error = t;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            badRequest = true;
+        }
+        else {
+            long r;
+            do {
+                r = requested.get();
+            } while (r != Long.MAX_VALUE && !requested.compareAndSet(r, r + n < 0 ? Long.MAX_VALUE : r + n));
+        }
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            drain();
+            onCancel.run();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0)
+            return;
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super T> s = subscriber.get();
+            if (cancelled) {
+                discard();
+            }
+            else if (s != null && badRequest) {
+                cancelled = true;
+                discard();
+                onCancel.run();
+                s.onError(new IllegalArgumentException("request must be positive"));
+            }
+            else if (s != null) {
+                emit(s);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void discard() {
+        while (queue.poll() != null)
+            queued.decrementAndGet();
+    }
+
+    private void emit(Flow.Subscriber<? super T> s) {
+        long r = requested.get();
+        long emitted = 0;
+        while (emitted != r && !cancelled) {
+            boolean d = done;
+            T item = queue.poll();
+            if (item == null) {
+                if (d)
+                    terminate(s);
+                break;
+            }
+            queued.decrementAndGet();
+            s.onNext(item);
+            emitted++;
+        }
+        if (!cancelled && done && queue.isEmpty())
+            terminate(s);
+        if (emitted != 0) {
+            if (r != Long.MAX_VALUE)
+                requested.addAndGet(-emitted);
+            onDrained.run();
+        }
+    }
+
+    private void terminate(Flow.Subscriber<? super T> s) {
+        cancelled = true;
+        Throwable t = error;
+        if (t != null)
+            s.onError(t);
+        else
+            s.onComplete();
+    }
+}
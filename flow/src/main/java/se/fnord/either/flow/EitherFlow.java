@@ -0,0 +1,80 @@
+package se.fnord.either.flow;
+
+import se.fnord.either.Either;
+import se.fnord.either.ThrowingFunction;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * {@link java.util.concurrent.Flow} operators for Either values.
+ * <p>
+ * Every operator honours the demand of its subscribers and buffers at most <code>capacity</code> items, by default
+ * {@link java.util.concurrent.Flow#defaultBufferSize()}, requesting more from its upstream publisher as the buffer
+ * drains.
+ */
+public interface EitherFlow {
+    /**
+     * Creates a processor mapping every item to an Either value. If <code>function</code> throws, the upstream
+     * subscription is cancelled and the exception is signalled downstream.
+     * @param function a {@link java.util.function.Function} mapping an item to an Either value
+     * @param <T> The type of the items
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a processor
+     */
+    static <T, L, R> Flow.Processor<T, Either<L, R>> map(Function<? super T, ? extends Either<L, R>> function) {
+        return map(function, Flow.defaultBufferSize());
+    }
+
+    static <T, L, R> Flow.Processor<T, Either<L, R>> map(Function<? super T, ? extends Either<L, R>> function, int capacity) {
+        return new MappingProcessor<>(function, capacity);
+    }
+
+    /**
+     * Creates a processor applying <code>function</code> to every item, as {@link se.fnord.either.Either#fromFunction(ThrowingFunction, Object)}
+     * @param function a {@link se.fnord.either.ThrowingFunction} that, when invoked with an item, returns a value or throws an exception
+     * @param <T> The type of the items
+     * @param <R> The return type of the function
+     * @return a processor emitting either the value returned by the function, or the exception thrown
+     */
+    static <T, R> Flow.Processor<T, Either<Exception, R>> capture(ThrowingFunction<? super T, ? extends R> function) {
+        return capture(function, Flow.defaultBufferSize());
+    }
+
+    static <T, R> Flow.Processor<T, Either<Exception, R>> capture(ThrowingFunction<? super T, ? extends R> function, int capacity) {
+        return new MappingProcessor<T, Exception, R>(t -> Either.fromFunction(function, t), capacity);
+    }
+
+    /**
+     * Creates a processor collecting right values into lists of <code>batchSize</code> values, for bulk processing
+     * downstream. Left values are passed on as they arrive. When the upstream publisher completes, the last,
+     * possibly smaller, batch is emitted.
+     * @param batchSize the number of right values in a batch
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a processor
+     */
+    static <L, R> Flow.Processor<Either<L, R>, Either<L, List<R>>> batchRights(int batchSize) {
+        return batchRights(batchSize, Flow.defaultBufferSize());
+    }
+
+    static <L, R> Flow.Processor<Either<L, R>, Either<L, List<R>>> batchRights(int batchSize, int capacity) {
+        return new RightBatchingProcessor<>(batchSize, capacity);
+    }
+
+    /**
+     * Creates a subscriber splitting Either values into a publisher of left values and a publisher of right values
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a splitter
+     */
+    static <L, R> EitherSplitter<L, R> split() {
+        return split(Flow.defaultBufferSize());
+    }
+
+    static <L, R> EitherSplitter<L, R> split(int capacity) {
+        return new EitherSplitter<>(capacity);
+    }
+}
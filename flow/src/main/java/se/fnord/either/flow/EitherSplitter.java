@@ -0,0 +1,99 @@
+package se.fnord.either.flow;
+
+import se.fnord.either.Either;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * A subscriber splitting a stream of Either values into a publisher of the left values and a publisher of the right
+ * values, each supporting a single subscriber.
+ * <p>
+ * Each side has its own bounded buffer, so a slow subscriber on one side does not hold up the other side until its
+ * own buffer is full; only then is less requested upstream. If one side is cancelled its values are dropped, and
+ * the upstream subscription is cancelled once both sides have been cancelled.
+ *
+ * @param <L> The type of the Either left value
+ * @param <R> The type of the Either right value
+ */
+public final class EitherSplitter<L, R> implements Flow.Subscriber<Either<L, R>> {
+    private static final Function<Object, Object> UNWRAP = Function.identity();
+
+    private final Downstream<L> lefts;
+    private final Downstream<R> rights;
+    private final Upstream upstream;
+    private boolean done;
+
+    EitherSplitter(int capacity) {
+        this.lefts = new Downstream<>(this::replenish, this::cancelled);
+        this.rights = new Downstream<>(this::replenish, this::cancelled);
+        // Every item ends up on one side, so the fuller buffer bounds what can be requested
+        this.upstream = new Upstream(capacity, () -> Math.max(lefts.queued(), rights.queued()));
+    }
+
+    private void replenish() {
+        upstream.replenish();
+    }
+
+    private void cancelled() {
+        if (lefts.isCancelled() && rights.isCancelled())
+            upstream.cancel();
+        else
+            upstream.replenish();
+    }
+
+    /**
+     * @return a publisher of the left values
+     */
+    public Flow.Publisher<L> lefts() {
+        return lefts::subscribe;
+    }
+
+    /**
+     * @return a publisher of the right values
+     */
+    public Flow.Publisher<R> rights() {
+        return rights::subscribe;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        upstream.set(subscription);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onNext(Either<L, R> item) {
+        Objects.requireNonNull(item);
+        if (done)
+            return;
+        Object value = item.fold(UNWRAP, UNWRAP);
+        if (item.isLeft())
+            lefts.offer((L) value);
+        else
+            rights.offer((R) value);
+        upstream.received();
+        upstream.replenish();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        if (done)
+            return;
+        done = true;
+        lefts.error(throwable);
+        rights.error(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done)
+            return;
+        done = true;
+        lefts.complete();
+        rights.complete();
+    }
+}
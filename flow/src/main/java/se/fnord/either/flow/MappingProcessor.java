@@ -0,0 +1,19 @@
+package se.fnord.either.flow;
+
+import se.fnord.either.Either;
+
+import java.util.function.Function;
+
+final class MappingProcessor<T, L, R> extends AbstractProcessor<T, Either<L, R>> {
+    private final Function<? super T, ? extends Either<L, R>> function;
+
+    MappingProcessor(Function<? super T, ? extends Either<L, R>> function, int capacity) {
+        super(capacity);
+        this.function = function;
+    }
+
+    @Override
+    void process(T item) {
+        emit(function.apply(item));
+    }
+}
@@ -0,0 +1,51 @@
+package se.fnord.either.flow;
+
+import se.fnord.either.Either;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Collects right values into lists of up to a batch size. Left values are passed on as they arrive, ahead of the
+ * right values of the batch being filled.
+ */
+final class RightBatchingProcessor<L, R> extends AbstractProcessor<Either<L, R>, Either<L, List<R>>> {
+    private static final Function<Object, Object> UNWRAP = Function.identity();
+
+    private final int batchSize;
+    private List<R> batch;
+
+    RightBatchingProcessor(int batchSize, int capacity) {
+        super(capacity);
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be positive");
+        this.batchSize = batchSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    void process(Either<L, R> item) {
+        if (item.isLeft()) {
+            emit((Either<L, List<R>>) (Either<L, ?>) item);
+            return;
+        }
+        if (batch == null)
+            batch = new ArrayList<>(batchSize);
+        batch.add((R) item.fold(UNWRAP, UNWRAP));
+        if (batch.size() == batchSize) {
+            List<R> full = batch;
+            batch = null;
+            emit(Either.right(full));
+        }
+    }
+
+    @Override
+    void finish() {
+        if (batch != null) {
+            List<R> partial = batch;
+            batch = null;
+            emit(Either.right(partial));
+        }
+    }
+}
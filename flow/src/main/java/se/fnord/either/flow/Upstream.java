@@ -0,0 +1,73 @@
+package se.fnord.either.flow;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+/**
+ * The subscription to the upstream publisher of an operator. Requests are sized so that the items in flight plus the
+ * items waiting in the operator outputs never exceed the capacity, given that every item produces at most one
+ * output item. More is requested once at least half of the capacity is free, to avoid a request per item.
+ */
+final class Upstream {
+    private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+    private final AtomicLong outstanding = new AtomicLong();
+    private final int capacity;
+    private final IntSupplier queued;
+
+    Upstream(int capacity, IntSupplier queued) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+        this.queued = queued;
+    }
+
+    boolean set(Flow.Subscription s) {
+        if (!subscription.compareAndSet(null, s)) {
+            s.cancel();
+            return false;
+        }
+        replenish();
+        return true;
+    }
+
+    /**
+     * Records that a requested item has been received and processed
+     */
+    void received() {
+        outstanding.decrementAndGet();
+    }
+
+    void replenish() {
+        Flow.Subscription s = subscription.get();
+        if (s == null)
+            return;
+        while (true) {
+            long out = outstanding.get();
+            long room = capacity - queued.getAsInt() - out;
+            if (room <= 0 || (out > 0 && room < (capacity + 1) / 2))
+                return;
+            if (outstanding.compareAndSet(out, out + room)) {
+                s.request(room);
+                return;
+            }
+        }
+    }
+
+    void cancel() {
+        Flow.Subscription s = subscription.getAndSet(CANCELLED);
+        if (s != null && s != CANCELLED)
+            s.cancel();
+    }
+
+    private static final Flow.Subscription CANCELLED = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+}
@@ -0,0 +1,325 @@
+package se.fnord.either.flow;
+
+import org.junit.Test;
+import se.fnord.either.Either;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+
+public class TestEitherFlow {
+    /**
+     * A publisher of a fixed list of items, recording how much has been requested
+     */
+    private static final class ListPublisher<T> implements Flow.Publisher<T> {
+        private final List<T> items;
+        private final AtomicInteger requested = new AtomicInteger();
+        private volatile boolean cancelled;
+
+        ListPublisher(List<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private int next;
+                private boolean emitting;
+                private long demand;
+
+                @Override
+                public void request(long n) {
+                    requested.addAndGet((int) Math.min(n, Integer.MAX_VALUE));
+                    demand += n;
+                    if (emitting)
+                        return;
+                    emitting = true;
+                    while (demand > 0 && next < items.size() && !cancelled) {
+                        demand--;
+                        subscriber.onNext(items.get(next++));
+                    }
+                    emitting = false;
+                    if (next == items.size() && !cancelled) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * A subscriber that only requests when told to
+     */
+    private static final class TestSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Throwable error;
+        volatile boolean completed;
+        Flow.Subscription subscription;
+        private final long initialRequest;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0)
+                subscription.request(initialRequest);
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        synchronized List<T> items() {
+            return new ArrayList<>(items);
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static List<Integer> range(int n) {
+        return IntStream.range(0, n).boxed().collect(Collectors.toList());
+    }
+
+    private static Integer parse(String s) throws IOException {
+        if (s.startsWith("x"))
+            throw new IOException(s);
+        return Integer.parseInt(s);
+    }
+
+    @Test
+    public void testMap() throws InterruptedException {
+        Flow.Processor<Integer, Either<String, Integer>> processor = EitherFlow.map(i -> i % 2 == 0 ? Either.right(i) : Either.left("odd " + i));
+        new ListPublisher<>(range(4)).subscribe(processor);
+        TestSubscriber<Either<String, Integer>> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        subscriber.await();
+        assertTrue(subscriber.completed);
+        assertEquals(Arrays.asList(Either.right(0), Either.left("odd 1"), Either.right(2), Either.left("odd 3")), subscriber.items());
+    }
+
+    @Test
+    public void testCapture() throws InterruptedException {
+        Flow.Processor<String, Either<Exception, Integer>> processor = EitherFlow.capture(TestEitherFlow::parse);
+        new ListPublisher<>(Arrays.asList("1", "x", "3")).subscribe(processor);
+        TestSubscriber<Either<Exception, Integer>> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        subscriber.await();
+        List<Either<Exception, Integer>> items = subscriber.items();
+        assertEquals(Either.right(1), items.get(0));
+        assertThat(items.get(1).leftOption().get(), instanceOf(IOException.class));
+        assertEquals(Either.right(3), items.get(2));
+    }
+
+    @Test
+    public void testMapFailure() throws InterruptedException {
+        Flow.Processor<Integer, Either<String, Integer>> processor = EitherFlow.map(i -> {
+            throw new IllegalStateException();
+        });
+        new ListPublisher<>(range(4)).subscribe(processor);
+        TestSubscriber<Either<String, Integer>> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        subscriber.await();
+        assertThat(subscriber.error, instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void testBackpressure() {
+        ListPublisher<Integer> publisher = new ListPublisher<>(range(1000));
+        Flow.Processor<Integer, Either<String, Integer>> processor = EitherFlow.map(Either::right, 16);
+        publisher.subscribe(processor);
+        TestSubscriber<Either<String, Integer>> subscriber = new TestSubscriber<>(0);
+        processor.subscribe(subscriber);
+
+        assertEquals(16, publisher.requested.get());
+        assertTrue(subscriber.items().isEmpty());
+
+        subscriber.subscription.request(5);
+        assertEquals(5, subscriber.items().size());
+        assertTrue(publisher.requested.get() <= 16 + 5);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(1000, subscriber.items().size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testCancel() {
+        ListPublisher<Integer> publisher = new ListPublisher<>(range(1000));
+        Flow.Processor<Integer, Either<String, Integer>> processor = EitherFlow.map(Either::right, 16);
+        publisher.subscribe(processor);
+        TestSubscriber<Either<String, Integer>> subscriber = new TestSubscriber<>(3);
+        processor.subscribe(subscriber);
+        subscriber.subscription.cancel();
+        assertTrue(publisher.cancelled);
+        assertEquals(3, subscriber.items().size());
+    }
+
+    @Test
+    public void testSecondSubscriberRejected() {
+        Flow.Processor<Integer, Either<String, Integer>> processor = EitherFlow.map(Either::right);
+        processor.subscribe(new TestSubscriber<>(0));
+        TestSubscriber<Either<String, Integer>> second = new TestSubscriber<>(0);
+        processor.subscribe(second);
+        assertThat(second.error, instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void testInvalidRequest() {
+        ListPublisher<Integer> publisher = new ListPublisher<>(range(10));
+        Flow.Processor<Integer, Either<String, Integer>> processor = EitherFlow.map(Either::right);
+        publisher.subscribe(processor);
+        TestSubscriber<Either<String, Integer>> subscriber = new TestSubscriber<>(0);
+        processor.subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    public void testBatchRights() throws InterruptedException {
+        List<Either<String, Integer>> input = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            input.add(i == 4 ? Either.left("four") : Either.right(i));
+        Flow.Processor<Either<String, Integer>, Either<String, List<Integer>>> processor = EitherFlow.batchRights(3);
+        new ListPublisher<>(input).subscribe(processor);
+        TestSubscriber<Either<String, List<Integer>>> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        subscriber.await();
+
+        assertEquals(Arrays.asList(
+            Either.right(Arrays.asList(0, 1, 2)),
+            Either.left("four"),
+            Either.right(Arrays.asList(3, 5, 6)),
+            Either.right(Arrays.asList(7, 8, 9))), subscriber.items());
+    }
+
+    @Test
+    public void testBatchRightsPartialBatchNeedsDemand() {
+        Flow.Processor<Either<String, Integer>, Either<String, List<Integer>>> processor = EitherFlow.batchRights(3);
+        new ListPublisher<>(Arrays.<Either<String, Integer>>asList(Either.right(1), Either.right(2), Either.right(3), Either.right(4))).subscribe(processor);
+        TestSubscriber<Either<String, List<Integer>>> subscriber = new TestSubscriber<>(1);
+        processor.subscribe(subscriber);
+        assertEquals(Arrays.asList(Either.right(Arrays.asList(1, 2, 3))), subscriber.items());
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(1);
+        assertEquals(Either.right(Arrays.asList(4)), subscriber.items().get(1));
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testSplit() throws InterruptedException {
+        List<Either<String, Integer>> input = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            input.add(i % 10 == 0 ? Either.left("failed " + i) : Either.right(i));
+        EitherSplitter<String, Integer> splitter = EitherFlow.split(8);
+        TestSubscriber<String> lefts = new TestSubscriber<>(Long.MAX_VALUE);
+        TestSubscriber<Integer> rights = new TestSubscriber<>(Long.MAX_VALUE);
+        splitter.lefts().subscribe(lefts);
+        splitter.rights().subscribe(rights);
+        new ListPublisher<>(input).subscribe(splitter);
+
+        lefts.await();
+        rights.await();
+        assertEquals(10, lefts.items().size());
+        assertEquals("failed 90", lefts.items().get(9));
+        assertEquals(90, rights.items().size());
+    }
+
+    @Test
+    public void testSplitBoundedBySlowSide() {
+        List<Either<String, Integer>> input = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            input.add(i % 2 == 0 ? Either.left("failed " + i) : Either.right(i));
+        ListPublisher<Either<String, Integer>> publisher = new ListPublisher<>(input);
+        EitherSplitter<String, Integer> splitter = EitherFlow.split(8);
+        TestSubscriber<String> lefts = new TestSubscriber<>(0);
+        TestSubscriber<Integer> rights = new TestSubscriber<>(Long.MAX_VALUE);
+        splitter.lefts().subscribe(lefts);
+        splitter.rights().subscribe(rights);
+        publisher.subscribe(splitter);
+
+        // The rights side keeps receiving until the idle lefts side fills its buffer
+        assertEquals(7, rights.items().size());
+        assertEquals(15, publisher.requested.get());
+
+        lefts.subscription.request(Long.MAX_VALUE);
+        assertEquals(50, lefts.items().size());
+        assertEquals(50, rights.items().size());
+    }
+
+    @Test
+    public void testSplitCancelOneSide() {
+        List<Either<String, Integer>> input = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            input.add(i % 2 == 0 ? Either.left("failed " + i) : Either.right(i));
+        ListPublisher<Either<String, Integer>> publisher = new ListPublisher<>(input);
+        EitherSplitter<String, Integer> splitter = EitherFlow.split(8);
+        TestSubscriber<String> lefts = new TestSubscriber<>(0);
+        TestSubscriber<Integer> rights = new TestSubscriber<>(Long.MAX_VALUE);
+        splitter.lefts().subscribe(lefts);
+        splitter.rights().subscribe(rights);
+        publisher.subscribe(splitter);
+
+        lefts.subscription.cancel();
+        assertEquals(50, rights.items().size());
+        assertTrue(rights.completed);
+        assertTrue(lefts.items().isEmpty());
+    }
+
+    @Test
+    public void testWithSubmissionPublisher() throws InterruptedException {
+        Flow.Processor<String, Either<Exception, Integer>> parse = EitherFlow.capture(TestEitherFlow::parse);
+        Flow.Processor<Either<Exception, Integer>, Either<Exception, List<Integer>>> batch = EitherFlow.batchRights(100);
+        TestSubscriber<Either<Exception, List<Integer>>> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        parse.subscribe(batch);
+        batch.subscribe(subscriber);
+
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(parse);
+            for (int i = 0; i < 10_000; i++)
+                publisher.submit(i % 1000 == 0 ? "x" + i : Integer.toString(i));
+        }
+        subscriber.await();
+
+        List<Either<Exception, List<Integer>>> items = subscriber.items();
+        assertEquals(10, items.stream().filter(Either::isLeft).count());
+        assertEquals(9990, items.stream().filter(Either::isRight).mapToInt(e -> e.rightOption().get().size()).sum());
+    }
+}
@@ -0,0 +1,103 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cost of the exception capturing factories compared with a plain try/catch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CaptureBenchmark {
+    private String valid = "12345";
+    private String invalid = "fnord";
+
+    private Supplier<Integer> succeedingSupplier = () -> Integer.parseInt(valid);
+    private ThrowingSupplier<Integer> succeedingThrowingSupplier = () -> Integer.parseInt(valid);
+    private Supplier<Integer> failingSupplier = () -> Integer.parseInt(invalid);
+    private Function<String, Integer> parse = Integer::parseInt;
+    private ThrowingFunction<String, Integer> throwingParse = Integer::parseInt;
+    private BiFunction<String, Integer, Integer> parseRadix = Integer::parseInt;
+    private ThrowingBiFunction<String, Integer, Integer> throwingParseRadix = Integer::parseInt;
+
+    @Benchmark
+    public Integer tryCatchSuccess() {
+        try {
+            return parse.apply(valid);
+        }
+        catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Object tryCatchFailure() {
+        try {
+            return parse.apply(invalid);
+        }
+        catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Either<RuntimeException, Integer> fromSupplierSuccess() {
+        return Either.fromSupplier(succeedingSupplier);
+    }
+
+    @Benchmark
+    public Either<RuntimeException, Integer> fromSupplierFailure() {
+        return Either.fromSupplier(failingSupplier);
+    }
+
+    @Benchmark
+    public Either<Exception, Integer> fromThrowingSupplierSuccess() {
+        return Either.fromSupplier(succeedingThrowingSupplier);
+    }
+
+    @Benchmark
+    public Either<RuntimeException, Integer> fromFunctionSuccess() {
+        return Either.fromFunction(parse, valid);
+    }
+
+    @Benchmark
+    public Either<RuntimeException, Integer> fromFunctionFailure() {
+        return Either.fromFunction(parse, invalid);
+    }
+
+    @Benchmark
+    public Either<Exception, Integer> fromThrowingFunctionSuccess() {
+        return Either.fromFunction(throwingParse, valid);
+    }
+
+    @Benchmark
+    public Either<Exception, Integer> fromThrowingFunctionFailure() {
+        return Either.fromFunction(throwingParse, invalid);
+    }
+
+    @Benchmark
+    public Either<RuntimeException, Integer> fromBiFunctionSuccess() {
+        return Either.fromBiFunction(parseRadix, valid, 10);
+    }
+
+    @Benchmark
+    public Either<Exception, Integer> fromThrowingBiFunctionFailure() {
+        return Either.fromBiFunction(throwingParseRadix, invalid, 10);
+    }
+}
@@ -0,0 +1,83 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default exception capture compared with a {@link CapturePolicy} mapping a preallocated
+ * {@link StacklessException} to a shared left value, at different failure rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CapturePolicyBenchmark {
+    private static final int INPUTS = 1024;
+    private static final StacklessException NOT_A_NUMBER = new StacklessException("not a number");
+
+    @Param({ "0.01", "0.1", "0.5" })
+    private double failureRate;
+
+    private String[] inputs;
+    private int index;
+
+    private final CapturePolicy<String> policy = EitherOps.<String>capturing()
+            .on(StacklessException.class, "not a number")
+            .otherwise(Throwable::getMessage);
+
+    @Setup
+    public void setup() {
+        Random random = new Random(4711);
+        inputs = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++)
+            inputs[i] = random.nextDouble() < failureRate ? "fnord" : Integer.toString(random.nextInt(100000));
+    }
+
+    private String next() {
+        return inputs[index++ & (INPUTS - 1)];
+    }
+
+    private static boolean isNumber(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (!Character.isDigit(s.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private static Integer parse(String s) {
+        if (!isNumber(s))
+            throw new NumberFormatException(s);
+        return Integer.valueOf(s);
+    }
+
+    private static Integer parseStackless(String s) {
+        if (!isNumber(s))
+            throw NOT_A_NUMBER;
+        return Integer.valueOf(s);
+    }
+
+    @Benchmark
+    public Either<Exception, Integer> defaultCapture() {
+        return Either.fromFunction((ThrowingFunction<String, Integer>) CapturePolicyBenchmark::parse, next());
+    }
+
+    @Benchmark
+    public Either<String, Integer> policyCapture() {
+        return Either.fromFunction(CapturePolicyBenchmark::parseStackless, next(), policy);
+    }
+}
@@ -0,0 +1,174 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Calls {@link Either#fold(Function, Function)} and {@link Either#orElse(Object)} from a single call site over an
+ * array of values, compared with the same operations on {@link Open}, a model of an interface based Either that
+ * anyone may implement.
+ * <p>
+ * The <code>shape</code> parameter decides how many classes reach the call site: only right values
+ * (monomorphic), left and right values (bimorphic), or left and right values plus two further implementations, as
+ * added by user code, proxies or mocks (megamorphic). The closed Either only ever has two classes and branches on
+ * a field, so in its megamorphic shape the extra implementations are plain right values; the interface
+ * model falls back to a virtual call once a third class shows up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+    private static final int SIZE = 1000;
+
+    interface Open<L, R> {
+        <V> V fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr);
+
+        R orElse(R v);
+    }
+
+    static final class OpenLeft<L, R> implements Open<L, R> {
+        private final L l;
+
+        OpenLeft(L l) {
+            this.l = l;
+        }
+
+        @Override
+        public <V> V fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+            return fl.apply(l);
+        }
+
+        @Override
+        public R orElse(R v) {
+            return v;
+        }
+    }
+
+    static final class OpenRight<L, R> implements Open<L, R> {
+        private final R r;
+
+        OpenRight(R r) {
+            this.r = r;
+        }
+
+        @Override
+        public <V> V fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+            return fr.apply(r);
+        }
+
+        @Override
+        public R orElse(R v) {
+            return r;
+        }
+    }
+
+    static final class Delegating<L, R> implements Open<L, R> {
+        private final Open<L, R> delegate;
+
+        Delegating(Open<L, R> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <V> V fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+            return delegate.fold(fl, fr);
+        }
+
+        @Override
+        public R orElse(R v) {
+            return delegate.orElse(v);
+        }
+    }
+
+    static final class Constant<L, R> implements Open<L, R> {
+        private final R r;
+
+        Constant(R r) {
+            this.r = r;
+        }
+
+        @Override
+        public <V> V fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+            return fr.apply(r);
+        }
+
+        @Override
+        public R orElse(R v) {
+            return r;
+        }
+    }
+
+    @Param({ "monomorphic", "bimorphic", "megamorphic" })
+    private String shape;
+
+    private Either<Integer, Integer>[] closed;
+    private Open<Integer, Integer>[] open;
+    private final Function<Integer, Integer> negate = l -> -l;
+    private final Function<Integer, Integer> identity = r -> r;
+    private final Integer fallback = -1;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        closed = BatchLoops.newArray(SIZE);
+        open = (Open<Integer, Integer>[]) new Open<?, ?>[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            Integer v = i;
+            int kind = shape.equals("monomorphic") ? 0 : shape.equals("bimorphic") ? i % 2 : i % 4;
+            closed[i] = kind == 1 ? Either.left(v) : Either.right(v);
+            switch (kind) {
+                case 0: open[i] = new OpenRight<>(v); break;
+                case 1: open[i] = new OpenLeft<>(v); break;
+                case 2: open[i] = new Delegating<>(new OpenRight<>(v)); break;
+                default: open[i] = new Constant<>(v); break;
+            }
+        }
+    }
+
+    @Benchmark
+    public int closedFold() {
+        int sum = 0;
+        for (Either<Integer, Integer> e : closed)
+            sum += e.fold(negate, identity);
+        return sum;
+    }
+
+    @Benchmark
+    public int openFold() {
+        int sum = 0;
+        for (Open<Integer, Integer> e : open)
+            sum += e.fold(negate, identity);
+        return sum;
+    }
+
+    @Benchmark
+    public int closedOrElse() {
+        int sum = 0;
+        for (Either<Integer, Integer> e : closed)
+            sum += e.orElse(fallback);
+        return sum;
+    }
+
+    @Benchmark
+    public int openOrElse() {
+        int sum = 0;
+        for (Open<Integer, Integer> e : open)
+            sum += e.orElse(fallback);
+        return sum;
+    }
+}
@@ -0,0 +1,80 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk operations on a {@link List} of Either values compared with the same operations on an {@link EitherArray}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EitherArrayBenchmark {
+    @Param({ "10000" })
+    private int size;
+
+    private List<Either<String, Integer>> list;
+    private EitherArray<String, Integer> array;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(4711);
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            list.add(random.nextInt(10) == 0 ? Either.left("failed") : Either.right(i));
+        array = EitherArray.from(list);
+    }
+
+    @Benchmark
+    public long listCountLefts() {
+        return list.stream().filter(Either::isLeft).count();
+    }
+
+    @Benchmark
+    public int arrayCountLefts() {
+        return array.countLefts();
+    }
+
+    @Benchmark
+    public List<Either<String, Integer>> listMapRight() {
+        List<Either<String, Integer>> mapped = new ArrayList<>(list.size());
+        for (Either<String, Integer> e : list)
+            mapped.add(e.map(i -> i + 1));
+        return mapped;
+    }
+
+    @Benchmark
+    public EitherArray<String, Integer> arrayMapRight() {
+        return array.mapRight(i -> i + 1);
+    }
+
+    @Benchmark
+    public Object listPartition() {
+        List<String> lefts = list.stream().flatMap(Either::leftStream).collect(Collectors.toList());
+        List<Integer> rights = list.stream().flatMap(Either::rightStream).collect(Collectors.toList());
+        return Partition.of(lefts, rights);
+    }
+
+    @Benchmark
+    public Object arrayPartition() {
+        return array.partition();
+    }
+}
@@ -0,0 +1,64 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Mapping the right values of an array of Either values one element at a time with {@link EitherOps#map(Function)},
+ * compared with {@link EitherBatch#mapRights(Either[], Function, Either[])}, sequentially and in parallel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EitherBatchBenchmark {
+    @Param({ "1000", "100000" })
+    private int size;
+
+    private Either<String, Integer>[] in;
+    private Either<String, Integer>[] out;
+    private Function<Integer, Integer> twice = i -> i * 2;
+    private EitherF<String, Integer, String, Integer> map = EitherOps.map(twice);
+
+    @Setup
+    public void setup() {
+        in = BatchLoops.newArray(size);
+        out = BatchLoops.newArray(size);
+        for (int i = 0; i < size; i++)
+            in[i] = i % 10 == 0 ? Either.left("failed") : Either.right(i);
+    }
+
+    @Benchmark
+    public Either<String, Integer>[] perElement() {
+        for (int i = 0; i < in.length; i++)
+            out[i] = map.apply(in[i]);
+        return out;
+    }
+
+    @Benchmark
+    public Either<String, Integer>[] batch() {
+        EitherBatch.mapRights(in, twice, out);
+        return out;
+    }
+
+    @Benchmark
+    public Either<String, Integer>[] batchParallel() {
+        EitherBatch.mapRights(in, twice, out, ForkJoinPool.commonPool());
+        return out;
+    }
+}
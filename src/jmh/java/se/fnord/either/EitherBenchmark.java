@@ -0,0 +1,144 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of the basic {@link Either} operations on either side, with {@link Optional} as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EitherBenchmark {
+    private String value = "value";
+    private Either<String, String> left = Either.left("left");
+    private Either<String, String> right = Either.right("right");
+    private Optional<String> present = Optional.of("present");
+
+    private Function<String, Integer> length = String::length;
+    private Function<String, Either<? extends String, ? extends Integer>> flatLength = s -> Either.right(s.length());
+
+    @Benchmark
+    public Either<String, String> constructLeft() {
+        return Either.left(value);
+    }
+
+    @Benchmark
+    public Either<String, String> constructRight() {
+        return Either.right(value);
+    }
+
+    @Benchmark
+    public Optional<String> constructOptional() {
+        return Optional.of(value);
+    }
+
+    @Benchmark
+    public Either<Integer, Integer> bimapLeft() {
+        return left.bimap(length, length);
+    }
+
+    @Benchmark
+    public Either<Integer, Integer> bimapRight() {
+        return right.bimap(length, length);
+    }
+
+    @Benchmark
+    public Either<String, Integer> mapLeft() {
+        return left.map(length);
+    }
+
+    @Benchmark
+    public Either<String, Integer> mapRight() {
+        return right.map(length);
+    }
+
+    @Benchmark
+    public Either<Integer, String> leftMapLeft() {
+        return left.leftMap(length);
+    }
+
+    @Benchmark
+    public Either<Integer, String> leftMapRight() {
+        return right.leftMap(length);
+    }
+
+    @Benchmark
+    public Optional<Integer> mapOptional() {
+        return present.map(length);
+    }
+
+    @Benchmark
+    public Either<String, Integer> rightFlatMapLeft() {
+        return left.rightFlatMap(flatLength);
+    }
+
+    @Benchmark
+    public Either<String, Integer> rightFlatMapRight() {
+        return right.rightFlatMap(flatLength);
+    }
+
+    @Benchmark
+    public Integer foldLeft() {
+        return left.fold(length, length);
+    }
+
+    @Benchmark
+    public Integer foldRight() {
+        return right.fold(length, length);
+    }
+
+    @Benchmark
+    public Either<String, String> swapLeft() {
+        return left.swap();
+    }
+
+    @Benchmark
+    public Either<String, String> swapRight() {
+        return right.swap();
+    }
+
+    @Benchmark
+    public long streamLeft() {
+        return left.stream().count();
+    }
+
+    @Benchmark
+    public long streamRight() {
+        return right.stream().count();
+    }
+
+    @Benchmark
+    public Optional<String> optionLeft() {
+        return left.option();
+    }
+
+    @Benchmark
+    public Optional<String> optionRight() {
+        return right.option();
+    }
+
+    @Benchmark
+    public String orElseLeft() {
+        return left.orElse(value);
+    }
+
+    @Benchmark
+    public String orElseRight() {
+        return right.orElse(value);
+    }
+}
@@ -0,0 +1,71 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A tokenising loop that trims and checks each token, using immutable Either values compared with a single reused
+ * {@link EitherCursor}. Neither step allocates by itself, so any allocation is spent on Either values. Run with
+ * <code>-prof gc</code> to see the allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EitherCursorBenchmark {
+    private static final int SIZE = 1000;
+    private static final String EMPTY = "empty token";
+
+    private String[] tokens;
+    private final EitherCursor<String, String> cursor = EitherCursor.create();
+
+    private final Function<String, String> trim = String::trim;
+    private final Function<String, Either<? extends String, ? extends String>> check = t -> t.isEmpty() ? Either.left(EMPTY) : Either.right(t);
+    private final BiConsumer<String, EitherCursor<String, String>> checkInPlace = (t, c) -> {
+        if (t.isEmpty())
+            c.setLeft(EMPTY);
+    };
+
+    @Setup
+    public void setup() {
+        tokens = new String[SIZE];
+        for (int i = 0; i < SIZE; i++)
+            tokens[i] = i % 100 == 0 ? "" : "token" + i;
+    }
+
+    @Benchmark
+    public int immutable() {
+        int length = 0;
+        for (String token : tokens) {
+            Either<String, String> e = Either.<String, String>right(token).map(trim).flatMap(check);
+            if (e.isRight())
+                length += e.orElse("").length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int cursor() {
+        int length = 0;
+        for (String token : tokens) {
+            cursor.setRight(token).mapRight(trim).flatMapRight(checkInPlace);
+            if (cursor.isRight())
+                length += cursor.getRight().length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,82 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reading a paged source that waits 200 microseconds for every page of 100 elements, while spending some CPU time
+ * on each element, on the calling thread with {@link EitherIterators#of(ThrowingIterator)} compared with
+ * {@link EitherIterators#prefetching(ThrowingIterator, java.util.concurrent.Executor, int, int, EitherIterators.FailureMode)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EitherIteratorsBenchmark {
+    private static final int SIZE = 2000;
+    private static final int PAGE = 100;
+
+    private ExecutorService executor;
+
+    private static final class PagedSource implements ThrowingIterator<Integer> {
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+            return next < SIZE;
+        }
+
+        @Override
+        public Integer next() {
+            if (next % PAGE == 0)
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            return next++;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static void consume(EitherIterator<Integer> iterator, Blackhole blackhole) {
+        try (EitherIterator<Integer> i = iterator) {
+            while (i.hasNext()) {
+                blackhole.consume(i.next());
+                Blackhole.consumeCPU(200);
+            }
+        }
+    }
+
+    @Benchmark
+    public void callingThread(Blackhole blackhole) {
+        consume(EitherIterators.of(new PagedSource()), blackhole);
+    }
+
+    @Benchmark
+    public void prefetching(Blackhole blackhole) {
+        consume(EitherIterators.prefetching(new PagedSource(), executor, PAGE, 4 * PAGE, EitherIterators.FailureMode.STOP), blackhole);
+    }
+}
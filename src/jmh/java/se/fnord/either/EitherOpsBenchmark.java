@@ -0,0 +1,91 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of pipelines composed from {@link EitherOps} functions, compared with the same pipeline written with
+ * {@link Optional} and with a plain try/catch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EitherOpsBenchmark {
+    private String valid = "12345";
+    private String invalid = "fnord";
+
+    private Function<String, Integer> parseOrElse = EitherOps.<String, Integer>fromFunction(Integer::parseInt)
+            .andThen(EitherOps.map((Integer i) -> i * 2))
+            .andThen(EitherOps.flatMap((Integer i) -> i > 0 ? Either.right(i) : Either.left(new IllegalArgumentException())))
+            .andThen(EitherOps.leftMap((RuntimeException e) -> e))
+            .andThen(EitherOps.orElse((RuntimeException e) -> -1));
+
+    private Function<String, String> parseFold = EitherOps.<String, Integer>fromFunction(Integer::parseInt)
+            .andThen(EitherOps.bimap(RuntimeException::getMessage, (Integer i) -> i * 2))
+            .andThen(EitherOps.fold(e -> "failed", String::valueOf));
+
+    private static Optional<Integer> parseOptional(String s) {
+        try {
+            return Optional.of(Integer.parseInt(s));
+        }
+        catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Benchmark
+    public Integer composedSuccess() {
+        return parseOrElse.apply(valid);
+    }
+
+    @Benchmark
+    public Integer composedFailure() {
+        return parseOrElse.apply(invalid);
+    }
+
+    @Benchmark
+    public String composedFoldSuccess() {
+        return parseFold.apply(valid);
+    }
+
+    @Benchmark
+    public Integer optionalSuccess() {
+        return parseOptional(valid)
+                .map(i -> i * 2)
+                .filter(i -> i > 0)
+                .orElse(-1);
+    }
+
+    @Benchmark
+    public Integer optionalFailure() {
+        return parseOptional(invalid)
+                .map(i -> i * 2)
+                .filter(i -> i > 0)
+                .orElse(-1);
+    }
+
+    @Benchmark
+    public Integer tryCatchSuccess() {
+        try {
+            int i = Integer.parseInt(valid) * 2;
+            return i > 0 ? i : -1;
+        }
+        catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A ten stage pipeline built with {@link EitherPipeline} compared with the same stages composed from
+ * {@link EitherOps} functions with <code>andThen</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EitherPipelineBenchmark {
+    private Either<String, Integer> left = Either.left("left");
+    private Either<String, Integer> right = Either.right(17);
+
+    private Function<Either<String, Integer>, Either<String, Integer>> composed =
+            EitherOps.<String, Integer, Integer>map(i -> i + 1)
+                    .andThen(EitherOps.map(i -> i * 3))
+                    .andThen(EitherOps.leftMap(s -> s + "!"))
+                    .andThen(EitherOps.map(i -> i - 2))
+                    .andThen(EitherOps.flatMap(i -> i > 0 ? Either.right(i) : Either.left("negative")))
+                    .andThen(EitherOps.map(i -> i ^ 0x55))
+                    .andThen(EitherOps.leftMap(String::trim))
+                    .andThen(EitherOps.map(i -> i >> 1))
+                    .andThen(EitherOps.map(i -> i + 7))
+                    .andThen(EitherOps.leftMap(s -> s + "?"));
+
+    private EitherF<String, Integer, String, Integer> fused =
+            EitherPipeline.<String, Integer>start()
+                    .map(i -> i + 1)
+                    .map(i -> i * 3)
+                    .leftMap(s -> s + "!")
+                    .map(i -> i - 2)
+                    .flatMap(i -> i > 0 ? Either.right(i) : Either.left("negative"))
+                    .map(i -> i ^ 0x55)
+                    .leftMap(String::trim)
+                    .map(i -> i >> 1)
+                    .map(i -> i + 7)
+                    .leftMap(s -> s + "?")
+                    .build();
+
+    @Benchmark
+    public Either<String, Integer> composedRight() {
+        return composed.apply(right);
+    }
+
+    @Benchmark
+    public Either<String, Integer> composedLeft() {
+        return composed.apply(left);
+    }
+
+    @Benchmark
+    public Either<String, Integer> fusedRight() {
+        return fused.apply(right);
+    }
+
+    @Benchmark
+    public Either<String, Integer> fusedLeft() {
+        return fused.apply(left);
+    }
+}
@@ -0,0 +1,49 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Overhead of recording calls with {@link EitherOps#instrumented(String, Function)}. Run with the gc profiler to
+ * check that recording does not allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InstrumentedBenchmark {
+    private static final Either<Exception, Integer> RIGHT = Either.right(1);
+    private static final Either<Exception, Integer> LEFT = Either.left(new IllegalStateException());
+
+    private Function<Integer, Either<Exception, Integer>> plain = i -> (i & 1) == 0 ? RIGHT : LEFT;
+    private Function<Integer, Either<Exception, Integer>> instrumented = EitherOps.instrumented(EitherMetrics.create(), "bench", plain);
+    private Integer even = 2;
+    private Integer odd = 3;
+
+    @Benchmark
+    public Either<Exception, Integer> plainRight() {
+        return plain.apply(even);
+    }
+
+    @Benchmark
+    public Either<Exception, Integer> instrumentedRight() {
+        return instrumented.apply(even);
+    }
+
+    @Benchmark
+    public Either<Exception, Integer> instrumentedLeft() {
+        return instrumented.apply(odd);
+    }
+}
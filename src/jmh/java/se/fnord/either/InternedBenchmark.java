@@ -0,0 +1,51 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating Either values for the common results that {@link Either#right(Object)} and {@link Either#left(Object)}
+ * return shared instances for, compared with a value that is not interned. Run with <code>-prof gc</code> to see the
+ * allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InternedBenchmark {
+    private Boolean flag = Boolean.TRUE;
+    private Integer code = 42;
+    private Integer largeCode = 100000;
+    private Void none = null;
+
+    @Benchmark
+    public Either<String, Boolean> rightBoolean() {
+        return Either.right(flag);
+    }
+
+    @Benchmark
+    public Either<String, Void> rightNull() {
+        return Either.right(none);
+    }
+
+    @Benchmark
+    public Either<Integer, String> leftSmallInt() {
+        return Either.left(code);
+    }
+
+    @Benchmark
+    public Either<Integer, String> leftLargeInt() {
+        return Either.left(largeCode);
+    }
+}
@@ -0,0 +1,62 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed {@link Either} arithmetic compared with {@link IntEither}, {@link LongEither} and {@link DoubleEither}.
+ * The values are kept outside of the {@link Integer} cache so that boxing allocates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveEitherBenchmark {
+    private Either<String, Integer> boxedInt = Either.right(100000);
+    private Either<String, Long> boxedLong = Either.right(100000L);
+    private Either<String, Double> boxedDouble = Either.right(100000.5);
+    private IntEither<String> intEither = IntEither.right(100000);
+    private LongEither<String> longEither = LongEither.right(100000L);
+    private DoubleEither<String> doubleEither = DoubleEither.right(100000.5);
+
+    @Benchmark
+    public int boxedIntMapFold() {
+        return boxedInt.map(i -> i * 3).map(i -> i + 1).orElse(-1);
+    }
+
+    @Benchmark
+    public int intMapFold() {
+        return intEither.mapToInt(i -> i * 3).mapToInt(i -> i + 1).orElseInt(-1);
+    }
+
+    @Benchmark
+    public long boxedLongMapFold() {
+        return boxedLong.map(i -> i * 3).map(i -> i + 1).orElse(-1L);
+    }
+
+    @Benchmark
+    public long longMapFold() {
+        return longEither.mapToLong(i -> i * 3).mapToLong(i -> i + 1).orElseLong(-1);
+    }
+
+    @Benchmark
+    public double boxedDoubleMapFold() {
+        return boxedDouble.map(d -> d * 3).map(d -> d + 1).orElse(-1.0);
+    }
+
+    @Benchmark
+    public double doubleMapFold() {
+        return doubleEither.mapToDouble(d -> d * 3).mapToDouble(d -> d + 1).orElseDouble(-1);
+    }
+}
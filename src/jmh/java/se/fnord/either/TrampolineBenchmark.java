@@ -0,0 +1,56 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a recursive chain of flatMap calls evaluated eagerly on the call stack, compared with the same chain run
+ * through {@link DeferredEither} and as a {@link Either#tailRecM} loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrampolineBenchmark {
+    @Param({ "100", "1000" })
+    private int depth;
+
+    private static Either<String, Integer> eager(int n) {
+        if (n == 0)
+            return Either.right(0);
+        return Either.<String, Integer>right(n - 1).rightFlatMap(TrampolineBenchmark::eager).map(i -> i + 1);
+    }
+
+    private static DeferredEither<String, Integer> deferred(int n) {
+        if (n == 0)
+            return DeferredEither.right(0);
+        return DeferredEither.<String, Integer>right(n - 1).flatMap(TrampolineBenchmark::deferred).map(i -> i + 1);
+    }
+
+    @Benchmark
+    public Either<String, Integer> eager() {
+        return eager(depth);
+    }
+
+    @Benchmark
+    public Either<String, Integer> deferred() {
+        return deferred(depth).evaluate();
+    }
+
+    @Benchmark
+    public Either<String, Integer> tailRecM() {
+        return Either.tailRecM(depth, n -> n == 0 ? Either.right(Either.right(depth)) : Either.right(Either.left(n - 1)));
+    }
+}
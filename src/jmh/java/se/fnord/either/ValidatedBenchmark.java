@@ -0,0 +1,55 @@
+package se.fnord.either;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thirty independent checks accumulated with a {@link Validator}, on an all-valid input and on an input failing a few
+ * of the checks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidatedBenchmark {
+    private static final int CHECKS = 30;
+
+    private int[] valid = new int[CHECKS];
+    private int[] invalid = new int[CHECKS];
+    private String value = "request";
+
+    {
+        for (int i = 0; i < CHECKS; i++) {
+            valid[i] = i + 1;
+            invalid[i] = i % 10 == 0 ? -i : i + 1;
+        }
+    }
+
+    private Validated<String, String> validate(int[] fields) {
+        Validator<String> v = Validator.create();
+        for (int i = 0; i < fields.length; i++)
+            v.require(fields[i] > 0, "field must be positive");
+        return v.result(value);
+    }
+
+    @Benchmark
+    public Validated<String, String> allValid() {
+        return validate(valid);
+    }
+
+    @Benchmark
+    public Validated<String, String> someInvalid() {
+        return validate(invalid);
+    }
+}
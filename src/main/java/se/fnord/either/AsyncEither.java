@@ -0,0 +1,256 @@
+package se.fnord.either;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * An Either value that will be available at some point in the future.
+ * <p>
+ * Stages added to an AsyncEither run on its executor once the value is available, or in the completing thread if it
+ * has no executor. If the value is already available when a stage is added, the stage runs immediately in the calling
+ * thread instead, avoiding a thread hop.
+ * <p>
+ * Failures become left values wherever a {@link se.fnord.either.CapturePolicy} says how:
+ * {@link #of(CompletionStage, Executor, CapturePolicy)} captures the exception a stage completes with, and
+ * {@link #tryMap(ThrowingFunction, CapturePolicy)} and {@link #tryFlatMap(ThrowingFunction, CapturePolicy)} capture
+ * the exceptions thrown by their functions. {@link se.fnord.either.CapturePolicy#exceptions()} keeps the exception
+ * itself as the left value. {@link #fromStage(CompletionStage, Executor)} and
+ * {@link #supplyAsync(ThrowingSupplier, Executor)} always capture. Without a policy the left type is not known to hold
+ * an exception, so a stage passed to {@link #of(CompletionStage, Executor)} that completes exceptionally, or a
+ * function passed to {@link #map(Function)} and friends that throws, completes the resulting AsyncEither
+ * exceptionally instead.
+ *
+ * @param <L> The type of the Either left value
+ * @param <R> The type of the Either right value
+ */
+public final class AsyncEither<L, R> {
+    private final CompletableFuture<Either<L, R>> future;
+    private final Executor executor;
+
+    private AsyncEither(CompletableFuture<Either<L, R>> future, Executor executor) {
+        this.future = future;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates an AsyncEither from a stage completing with an Either value. If the stage completes exceptionally, so
+     * does the AsyncEither; use {@link #of(CompletionStage, Executor, CapturePolicy)} to capture the exception as a
+     * left value. Completing the stage by other means once it has completed does not affect the AsyncEither.
+     * @param stage the stage
+     * @param executor the {@link java.util.concurrent.Executor} to run later stages on, or <code>null</code> to run them in the completing thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return an AsyncEither completing with the Either value of the stage
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> AsyncEither<L, R> of(CompletionStage<? extends Either<? extends L, ? extends R>> stage, Executor executor) {
+        return new AsyncEither<>(stage.toCompletableFuture().thenApply(e -> (Either<L, R>) e), executor);
+    }
+
+    /**
+     * Creates an AsyncEither from a stage completing with an Either value, capturing an exception the stage completes
+     * with as a left value. An {@link java.lang.Error} still completes the AsyncEither exceptionally.
+     * @param stage the stage
+     * @param executor the {@link java.util.concurrent.Executor} to run later stages on, or <code>null</code> to run them in the completing thread
+     * @param policy a {@link se.fnord.either.CapturePolicy} mapping the exception to a left value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return an AsyncEither completing with the Either value of the stage, or the captured exception
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> AsyncEither<L, R> of(CompletionStage<? extends Either<? extends L, ? extends R>> stage, Executor executor, CapturePolicy<L> policy) {
+        return new AsyncEither<>(stage.toCompletableFuture().handle((e, t) -> t == null ? (Either<L, R>) e : capture(unwrap(t), policy)), executor);
+    }
+
+    /**
+     * Creates an AsyncEither from a stage, containing either the value the stage completes with as the right value,
+     * or the exception it completes exceptionally with as the left value.
+     * @param stage the stage
+     * @param executor the {@link java.util.concurrent.Executor} to run later stages on, or <code>null</code> to run them in the completing thread
+     * @param <V> The type of the stage value
+     * @return an AsyncEither containing either the value of the stage, or the exception it completed with
+     */
+    public static <V> AsyncEither<Throwable, V> fromStage(CompletionStage<? extends V> stage, Executor executor) {
+        CompletableFuture<? extends V> f = stage.toCompletableFuture();
+        return new AsyncEither<>(f.handle((v, t) -> t == null ? Either.right(v) : Either.left(unwrap(t))), executor);
+    }
+
+    /**
+     * Creates an AsyncEither containing either the value returned by the supplier as the right value, or the exception thrown as the left value
+     * @param supplier a {@link se.fnord.either.ThrowingSupplier} that, when invoked, returns a value of type V or throws an exception
+     * @param executor the {@link java.util.concurrent.Executor} to run the supplier and later stages on
+     * @param <V> The return type of the supplier
+     * @return an AsyncEither containing either the value returned by the supplier, or the exception thrown
+     */
+    public static <V> AsyncEither<Exception, V> supplyAsync(ThrowingSupplier<? extends V> supplier, Executor executor) {
+        return new AsyncEither<>(CompletableFuture.supplyAsync(() -> Either.fromSupplier(supplier), executor), executor);
+    }
+
+    /**
+     * Creates an already completed AsyncEither
+     * @param value the Either value
+     * @param executor the {@link java.util.concurrent.Executor} to run later stages on, or <code>null</code> to run them in the completing thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a completed AsyncEither
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> AsyncEither<L, R> completed(Either<? extends L, ? extends R> value, Executor executor) {
+        return new AsyncEither<>(CompletableFuture.completedFuture((Either<L, R>) value), executor);
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+
+    private static <L, R> Either<L, R> capture(Throwable t, CapturePolicy<L> policy) {
+        if (!(t instanceof Exception))
+            throw new CompletionException(t);
+        return policy.capture((Exception) t);
+    }
+
+    private static <V> CompletableFuture<V> failed(Throwable t) {
+        CompletableFuture<V> f = new CompletableFuture<>();
+        f.completeExceptionally(t);
+        return f;
+    }
+
+    private <V> CompletableFuture<V> then(Function<? super Either<L, R>, ? extends V> f) {
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            try {
+                return CompletableFuture.completedFuture(f.apply(future.join()));
+            }
+            catch (Throwable t) {
+                return failed(t);
+            }
+        }
+        return executor != null ? future.thenApplyAsync(f, executor) : future.thenApply(f);
+    }
+
+    private <V> CompletableFuture<V> thenCompose(Function<? super Either<L, R>, ? extends CompletionStage<V>> f) {
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            try {
+                return f.apply(future.join()).toCompletableFuture();
+            }
+            catch (Throwable t) {
+                return failed(t);
+            }
+        }
+        return executor != null ? future.thenComposeAsync(f, executor) : future.thenCompose(f);
+    }
+
+    public <RR> AsyncEither<L, RR> map(Function<? super R, ? extends RR> f) {
+        return rightMap(f);
+    }
+
+    public <RR> AsyncEither<L, RR> rightMap(Function<? super R, ? extends RR> f) {
+        return new AsyncEither<>(then(e -> e.rightMap(f)), executor);
+    }
+
+    public <LL> AsyncEither<LL, R> leftMap(Function<? super L, ? extends LL> f) {
+        return new AsyncEither<>(then(e -> e.leftMap(f)), executor);
+    }
+
+    public <LL, RR> AsyncEither<LL, RR> bimap(Function<? super L, ? extends LL> fl, Function<? super R, ? extends RR> fr) {
+        return new AsyncEither<>(then(e -> e.bimap(fl, fr)), executor);
+    }
+
+    public <RR> AsyncEither<L, RR> flatMap(Function<? super R, Either<? extends L, ? extends RR>> f) {
+        return new AsyncEither<>(then(e -> e.flatMap(f)), executor);
+    }
+
+    public <LL> AsyncEither<LL, R> leftFlatMap(Function<? super L, Either<? extends LL, ? extends R>> f) {
+        return new AsyncEither<>(then(e -> e.leftFlatMap(f)), executor);
+    }
+
+    /**
+     * Maps the right value with a function that may throw, capturing an exception thrown as a left value
+     * @param f a {@link se.fnord.either.ThrowingFunction} mapping the right value
+     * @param policy a {@link se.fnord.either.CapturePolicy} mapping the exception thrown to a left value
+     * @param <RR> The type of the new right value
+     * @return an AsyncEither completing with the left value of this, the mapped right value, or the captured exception
+     */
+    public <RR> AsyncEither<L, RR> tryMap(ThrowingFunction<? super R, ? extends RR> f, CapturePolicy<L> policy) {
+        return new AsyncEither<>(then(e -> e.flatMap(r -> policy.fromFunction(f, r))), executor);
+    }
+
+    /**
+     * Flat maps the right value with a function that may throw, capturing an exception thrown as a left value
+     * @param f a {@link se.fnord.either.ThrowingFunction} mapping the right value to an Either value
+     * @param policy a {@link se.fnord.either.CapturePolicy} mapping the exception thrown to a left value
+     * @param <RR> The type of the new right value
+     * @return an AsyncEither completing with the left value of this, the Either value returned by <code>f</code>, or the captured exception
+     */
+    public <RR> AsyncEither<L, RR> tryFlatMap(ThrowingFunction<? super R, ? extends Either<? extends L, ? extends RR>> f, CapturePolicy<L> policy) {
+        return new AsyncEither<>(then(e -> e.flatMap(r -> {
+            try {
+                return f.apply(r);
+            }
+            catch (Exception x) {
+                return policy.capture(x);
+            }
+        })), executor);
+    }
+
+    /**
+     * Applies an asynchronous function to the right value, without nesting futures
+     * @param f a {@link java.util.function.Function} that, when invoked with the right value, returns an AsyncEither
+     * @param <RR> The type of the new right value
+     * @return an AsyncEither completing with the left value of this, or with the value of the AsyncEither returned by <code>f</code>
+     */
+    @SuppressWarnings("unchecked")
+    public <RR> AsyncEither<L, RR> flatMapAsync(Function<? super R, ? extends AsyncEither<? extends L, ? extends RR>> f) {
+        return new AsyncEither<>(thenCompose(e -> e.fold(
+                l -> CompletableFuture.completedFuture((Either<L, RR>) e),
+                r -> ((AsyncEither<L, RR>) f.apply(r)).future)), executor);
+    }
+
+    /**
+     * Folds the Either value once it is available
+     * @param fl the function to apply to a left value
+     * @param fr the function to apply to a right value
+     * @param <V> The type of the folded value
+     * @return a {@link java.util.concurrent.CompletionStage} completing with the folded value
+     */
+    public <V> CompletionStage<V> fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+        return then(e -> e.fold(fl, fr));
+    }
+
+    /**
+     * Returns a copy of this AsyncEither running later stages on another executor
+     * @param executor the {@link java.util.concurrent.Executor} to run later stages on, or <code>null</code> to run them in the completing thread
+     * @return an AsyncEither completing with the same value
+     */
+    public AsyncEither<L, R> withExecutor(Executor executor) {
+        return new AsyncEither<>(future, executor);
+    }
+
+    Executor executor() {
+        return executor;
+    }
+
+    CompletableFuture<Either<L, R>> future() {
+        return future;
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Returns a {@link java.util.concurrent.CompletableFuture} completing with the Either value. Completing the returned
+     * future does not affect this AsyncEither.
+     * @return a future completing with the Either value
+     */
+    public CompletableFuture<Either<L, R>> toCompletableFuture() {
+        return future.thenApply(Function.identity());
+    }
+
+    @Override
+    public String toString() {
+        return "async<" + (future.isDone() && !future.isCompletedExceptionally() ? future.join() : future) + ">";
+    }
+}
@@ -0,0 +1,101 @@
+package se.fnord.either;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * The loops behind {@link EitherBatch}. Each loop works on a range of indices, so that the same code runs
+ * sequentially over a whole array or in parallel over chunks of it. Left and right values are told apart by the
+ * tag, and the value is read directly, without going through a function.
+ */
+final class BatchLoops {
+    static final int CHUNK = 4096;
+
+    private BatchLoops() {
+    }
+
+    @FunctionalInterface
+    interface RangeLoop {
+        void run(int from, int to);
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeLoop loop;
+        private final int from;
+        private final int to;
+
+        RangeTask(RangeLoop loop, int from, int to) {
+            this.loop = loop;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK) {
+                loop.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(loop, from, middle), new RangeTask(loop, middle, to));
+        }
+    }
+
+    static void run(int length, RangeLoop loop, ForkJoinPool pool) {
+        if (pool == null || length <= CHUNK)
+            loop.run(0, length);
+        else
+            pool.invoke(new RangeTask(loop, 0, length));
+    }
+
+    static void checkLength(Object[] in, Object[] out) {
+        if (out.length < in.length)
+            throw new IllegalArgumentException("output array shorter than input array");
+    }
+
+    @SuppressWarnings("unchecked")
+    static <L, R> Either<L, R>[] newArray(int length) {
+        return (Either<L, R>[]) new Either<?, ?>[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> V[] newValueArray(int length) {
+        // Only ever exposed through Arrays.asList, so the component type does not matter
+        return (V[]) new Object[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    static <L, R, RR> void mapRights(Either<L, R>[] in, Function<? super R, ? extends RR> f, Either<L, RR>[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Either<L, R> e = in[i];
+            out[i] = e.isLeft() ? (Either<L, RR>) e : Right.of(f.apply((R) e.value()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <L, R, LL> void mapLefts(Either<L, R>[] in, Function<? super L, ? extends LL> f, Either<LL, R>[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Either<L, R> e = in[i];
+            out[i] = e.isLeft() ? Left.of(f.apply((L) e.value())) : (Either<LL, R>) e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <L, R, RR> void flatMapAll(Either<L, R>[] in, Function<? super R, Either<? extends L, ? extends RR>> f, Either<L, RR>[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Either<L, R> e = in[i];
+            out[i] = e.isLeft() ? (Either<L, RR>) e : (Either<L, RR>) f.apply((R) e.value());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <L, R, V> void foldAll(Either<L, R>[] in, Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr, V[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Either<L, R> e = in[i];
+            out[i] = e.isLeft() ? fl.apply((L) e.value()) : fr.apply((R) e.value());
+        }
+    }
+}
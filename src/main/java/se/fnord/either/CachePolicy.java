@@ -0,0 +1,119 @@
+package se.fnord.either;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Describes the size bound and expiry of a cache created by
+ * {@link se.fnord.either.EitherOps#cached(ThrowingFunction, CachePolicy)}.
+ * <p>
+ * Right and left results have separate time-to-live, so that failures can be retried sooner than successful lookups
+ * are refreshed. A time-to-live of zero means that results of that kind are never reused, although concurrent calls
+ * for the same key still share a single call.
+ */
+public final class CachePolicy {
+    private final long maximumSize;
+    private final long rightTtl;
+    private final long leftTtl;
+    private final LongSupplier ticker;
+
+    private CachePolicy(long maximumSize, long rightTtl, long leftTtl, LongSupplier ticker) {
+        this.maximumSize = maximumSize;
+        this.rightTtl = rightTtl;
+        this.leftTtl = leftTtl;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Creates a builder for a cache policy. Unless configured otherwise, the cache is unbounded and entries never
+     * expire.
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    long maximumSize() {
+        return maximumSize;
+    }
+
+    long rightTtl() {
+        return rightTtl;
+    }
+
+    long leftTtl() {
+        return leftTtl;
+    }
+
+    LongSupplier ticker() {
+        return ticker;
+    }
+
+    public static final class Builder {
+        private long maximumSize = Long.MAX_VALUE;
+        private long rightTtl = Long.MAX_VALUE;
+        private long leftTtl = Long.MAX_VALUE;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * Bounds the number of cached results. When the bound is exceeded, results that have not been used recently
+         * are evicted first.
+         * @param maximumSize the maximum number of cached results
+         * @return this builder
+         */
+        public Builder maximumSize(long maximumSize) {
+            if (maximumSize < 0)
+                throw new IllegalArgumentException("maximumSize must not be negative");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a right result is kept
+         * @param ttl the time-to-live
+         * @return this builder
+         */
+        public Builder rightTtl(Duration ttl) {
+            this.rightTtl = toNanos(ttl);
+            return this;
+        }
+
+        /**
+         * Sets how long a left result is kept
+         * @param ttl the time-to-live
+         * @return this builder
+         */
+        public Builder leftTtl(Duration ttl) {
+            this.leftTtl = toNanos(ttl);
+            return this;
+        }
+
+        /**
+         * Sets the time source used for expiry
+         * @param ticker a {@link java.util.function.LongSupplier} returning the current time in nanoseconds, as {@link System#nanoTime()}
+         * @return this builder
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public CachePolicy build() {
+            return new CachePolicy(maximumSize, rightTtl, leftTtl, ticker);
+        }
+
+        private static long toNanos(Duration ttl) {
+            if (ttl.isNegative())
+                throw new IllegalArgumentException("ttl must not be negative");
+            try {
+                return ttl.toNanos();
+            }
+            catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+    }
+}
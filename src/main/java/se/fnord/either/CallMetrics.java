@@ -0,0 +1,184 @@
+package se.fnord.either;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Counters for the calls made through one instrumented function; see
+ * {@link se.fnord.either.EitherOps#instrumented(String, java.util.function.Function)}.
+ * <p>
+ * Recording only increments {@link java.util.concurrent.atomic.LongAdder} cells and does not allocate, except the
+ * first time a left value of a new class is seen. Latencies are counted in power-of-two buckets: bucket
+ * <code>i</code> holds latencies of at least <code>2^(i-1)</code> and less than <code>2^i</code> nanoseconds. A
+ * {@link Snapshot} sums the counters without blocking threads that are recording. A call that throws instead of
+ * returning an Either value is counted as thrown, and its latency is recorded like that of any other call.
+ */
+public final class CallMetrics {
+    static final int BUCKETS = 64;
+
+    private static final Function<Class<?>, LongAdder> NEW_ADDER = c -> new LongAdder();
+
+    private final String name;
+    private final LongAdder rights = new LongAdder();
+    private final LongAdder thrown = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final ConcurrentHashMap<Class<?>, LongAdder> lefts = new ConcurrentHashMap<>();
+    private final LongAdder[] latencies = new LongAdder[BUCKETS];
+
+    CallMetrics(String name) {
+        this.name = name;
+        for (int i = 0; i < BUCKETS; i++)
+            latencies[i] = new LongAdder();
+    }
+
+    static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    void record(Either<?, ?> result, long nanos) {
+        if (result.isRight()) {
+            rights.increment();
+        }
+        else {
+            Object left = result.value();
+            Class<?> type = left == null ? Void.class : left.getClass();
+            LongAdder count = lefts.get(type);
+            if (count == null)
+                count = lefts.computeIfAbsent(type, NEW_ADDER);
+            count.increment();
+        }
+        latency(nanos);
+    }
+
+    void recordThrown(long nanos) {
+        thrown.increment();
+        latency(nanos);
+    }
+
+    private void latency(long nanos) {
+        totalNanos.add(nanos);
+        latencies[bucket(nanos)].increment();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the current counts
+     */
+    public Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+            buckets[i] = latencies[i].sum();
+        Map<Class<?>, Long> leftCounts = new HashMap<>();
+        lefts.forEach((type, count) -> leftCounts.put(type, count.sum()));
+        return new Snapshot(name, rights.sum(), leftCounts, thrown.sum(), buckets, totalNanos.sum());
+    }
+
+    /**
+     * The counts of an instrumented function at some point in time. The counters are read one by one while
+     * recording continues, so the totals of a snapshot taken during calls may differ by the calls in flight.
+     */
+    public static final class Snapshot {
+        private final String name;
+        private final long rights;
+        private final long lefts;
+        private final Map<Class<?>, Long> leftsByType;
+        private final long thrown;
+        private final long[] latencyBuckets;
+        private final long totalNanos;
+
+        Snapshot(String name, long rights, Map<Class<?>, Long> leftsByType, long thrown, long[] latencyBuckets, long totalNanos) {
+            this.name = name;
+            this.rights = rights;
+            this.lefts = leftsByType.values().stream().mapToLong(Long::longValue).sum();
+            this.leftsByType = Collections.unmodifiableMap(leftsByType);
+            this.thrown = thrown;
+            this.latencyBuckets = latencyBuckets;
+            this.totalNanos = totalNanos;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long calls() {
+            return rights + lefts + thrown;
+        }
+
+        public long rights() {
+            return rights;
+        }
+
+        public long lefts() {
+            return lefts;
+        }
+
+        /**
+         * @return the number of calls that threw instead of returning an Either value
+         */
+        public long thrown() {
+            return thrown;
+        }
+
+        /**
+         * @return the number of calls that returned a left value or threw
+         */
+        public long failures() {
+            return lefts + thrown;
+        }
+
+        /**
+         * @return the number of left values, by the class of the left value
+         */
+        public Map<Class<?>, Long> leftsByType() {
+            return leftsByType;
+        }
+
+        /**
+         * @return the number of calls in each latency bucket
+         */
+        public long[] latencyBuckets() {
+            return latencyBuckets.clone();
+        }
+
+        public long totalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Estimates a latency quantile
+         * @param quantile the quantile, between 0 and 1
+         * @return the upper bound, in nanoseconds, of the bucket containing the quantile, or 0 if no calls have been recorded
+         */
+        public long latencyQuantile(double quantile) {
+            if (quantile < 0 || quantile > 1)
+                throw new IllegalArgumentException("quantile must be between 0 and 1");
+            long total = Arrays.stream(latencyBuckets).sum();
+            if (total == 0)
+                return 0;
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            int i = 0;
+            while (i < BUCKETS - 1) {
+                seen += latencyBuckets[i];
+                if (seen >= rank)
+                    break;
+                i++;
+            }
+            // For the last bucket, this overflows to Long.MAX_VALUE
+            return (1L << i) - 1;
+        }
+
+        @Override
+        public String toString() {
+            return "metrics<" + name + ", rights=" + rights + ", lefts=" + leftsByType + ", thrown=" + thrown + ">";
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package se.fnord.either;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Describes how exceptions thrown by a callee are turned into left values.
+ * <p>
+ * Exception types are matched in the order they were registered. A type registered with a constant left value is
+ * captured as a single, preallocated left Either, so failures of that type cost nothing beyond the exception itself.
+ * The policy can not keep the callee from filling in the stack trace of the exceptions it throws; for the full effect
+ * combine it with callees that throw {@link se.fnord.either.StacklessException} (or some other exception that does
+ * not record a stack trace).
+ *
+ * @param <L> The type of the Either left value
+ */
+public final class CapturePolicy<L> {
+    private static final CapturePolicy<Exception> EXCEPTIONS = CapturePolicy.<Exception>builder().otherwise(e -> e);
+
+    // Each capture is either a preallocated left Either or a Function producing the left value. The last type is
+    // always Exception, so every exception is matched.
+    private final Class<?>[] types;
+    private final Object[] captures;
+
+    private CapturePolicy(Class<?>[] types, Object[] captures) {
+        this.types = types;
+        this.captures = captures;
+    }
+
+    /**
+     * Creates a builder for a capture policy
+     * @param <L> The type of the Either left value
+     * @return a new builder
+     */
+    public static <L> Builder<L> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns a policy capturing every exception as it is
+     * @return a capture policy with the exception itself as the left value
+     */
+    public static CapturePolicy<Exception> exceptions() {
+        return EXCEPTIONS;
+    }
+
+    /**
+     * Creates an Either value containing either the value returned by the supplier as the right value, or the exception thrown captured according to this policy as the left value
+     * @param supplier a {@link se.fnord.either.ThrowingSupplier} that, when invoked, returns a value of type V or throws an exception
+     * @param <V> The return type of the supplier
+     * @return an Either value containing either the value returned by the supplier, or the captured exception
+     */
+    public <V> Either<L, V> fromSupplier(ThrowingSupplier<? extends V> supplier) {
+        try {
+            return Either.right(supplier.get());
+        }
+        catch (Exception e) {
+            return capture(e);
+        }
+    }
+
+    /**
+     * Creates an Either value containing either the value returned by the function as the right value, or the exception thrown captured according to this policy as the left value
+     * @param function a {@link se.fnord.either.ThrowingFunction} that, when invoked with a value of type T, returns a value of type R or throws an exception
+     * @param <T> The parameter type of the function
+     * @param <R> The return type of the function
+     * @return an Either value containing either the value returned by the function, or the captured exception
+     */
+    public <T, R> Either<L, R> fromFunction(ThrowingFunction<? super T, ? extends R> function, T t) {
+        try {
+            return Either.right(function.apply(t));
+        }
+        catch (Exception e) {
+            return capture(e);
+        }
+    }
+
+    /**
+     * Creates an Either value containing either the value returned by the function as the right value, or the exception thrown captured according to this policy as the left value
+     * @param function a {@link se.fnord.either.ThrowingBiFunction} that, when invoked with a value of type T and U, returns a value of type R or throws an exception
+     * @param <T> The first parameter type of the function
+     * @param <U> The second parameter type of the function
+     * @param <R> The return type of the function
+     * @return an Either value containing either the value returned by the function, or the captured exception
+     */
+    public <T, U, R> Either<L, R> fromBiFunction(ThrowingBiFunction<? super T, ? super U, ? extends R> function, T t, U u) {
+        try {
+            return Either.right(function.apply(t, u));
+        }
+        catch (Exception e) {
+            return capture(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> Either<L, R> capture(Exception e) {
+        int i = 0;
+        while (!types[i].isInstance(e))
+            i++;
+        Object capture = captures[i];
+        if (capture instanceof Either)
+            return (Either<L, R>) capture;
+        return Either.left(((Function<Exception, ? extends L>) capture).apply(e));
+    }
+
+    public static final class Builder<L> {
+        private final List<Class<?>> types = new ArrayList<>();
+        private final List<Object> captures = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Captures exceptions of the given type as a shared left Either containing <code>value</code>
+         * @param type the exception type
+         * @param value the left value
+         * @return this builder
+         */
+        public Builder<L> on(Class<? extends Exception> type, L value) {
+            types.add(type);
+            captures.add(Either.left(value));
+            return this;
+        }
+
+        /**
+         * Captures exceptions of the given type as the left value returned by <code>f</code>
+         * @param type the exception type
+         * @param f a {@link java.util.function.Function} that, when invoked with the exception, returns the left value
+         * @param <E> The exception type
+         * @return this builder
+         */
+        public <E extends Exception> Builder<L> on(Class<E> type, Function<? super E, ? extends L> f) {
+            types.add(type);
+            captures.add(f);
+            return this;
+        }
+
+        /**
+         * Creates the policy, capturing exceptions of all types not registered in this builder as the left value returned by <code>otherwise</code>
+         * @param otherwise a {@link java.util.function.Function} that, when invoked with the exception, returns the left value
+         * @return a capture policy
+         */
+        public CapturePolicy<L> otherwise(Function<? super Exception, ? extends L> otherwise) {
+            return build(otherwise);
+        }
+
+        /**
+         * Creates the policy, capturing exceptions of all types not registered in this builder as the left value <code>value</code>
+         * @param value the left value
+         * @return a capture policy
+         */
+        public CapturePolicy<L> otherwise(L value) {
+            return build(Either.left(value));
+        }
+
+        private CapturePolicy<L> build(Object otherwise) {
+            Class<?>[] t = types.toArray(new Class<?>[types.size() + 1]);
+            Object[] c = captures.toArray(new Object[captures.size() + 1]);
+            t[types.size()] = Exception.class;
+            c[captures.size()] = otherwise;
+            return new CapturePolicy<>(t, c);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package se.fnord.either;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling a failing dependency for a while; see
+ * {@link se.fnord.either.EitherOps#circuitBroken(java.util.function.Function, CircuitBreaker)}.
+ * <p>
+ * The breaker keeps the outcomes of the most recent calls in a lock-free, count based sliding window. Any left
+ * value, or exception thrown, counts as a failure. When the failure rate of the window reaches the threshold, the
+ * breaker opens and rejects every call with a preallocated left value. After the open duration, a single trial call
+ * is let through: if it succeeds the breaker closes with an empty window, otherwise it opens again. A trial that has
+ * not completed within the trial timeout, such as an asynchronous call whose result never arrives, counts as failed;
+ * its outcome is ignored if it completes later.
+ * <p>
+ * A breaker can be shared by several decorated functions, which then fail and recover together.
+ */
+public final class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    static final int REJECTED = 0;
+    static final int PERMITTED = 1;
+    // Trial permits are numbered from TRIAL, so that the outcome of a trial that timed out can be told apart
+    static final int TRIAL = 2;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDuration;
+    private final long trialTimeout;
+    private final LongSupplier ticker;
+    private final Either<Exception, ?> rejected;
+
+    private final AtomicInteger state = new AtomicInteger(State.CLOSED.ordinal());
+    private volatile long openedAt;
+    private volatile Window window;
+    // The permit of the trial in flight, or REJECTED when there is none; trialStartedAt is written before it
+    private final AtomicInteger trial = new AtomicInteger(REJECTED);
+    private final AtomicInteger trials = new AtomicInteger();
+    private volatile long trialStartedAt;
+
+    private CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDuration, long trialTimeout, LongSupplier ticker) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.trialTimeout = trialTimeout;
+        this.ticker = ticker;
+        this.rejected = Either.left(new CircuitBreakerOpenException("circuit breaker is open"));
+        this.window = new Window(windowSize);
+    }
+
+    /**
+     * Creates a builder for a circuit breaker. Unless configured otherwise, the breaker opens for 30 seconds when at
+     * least half of the last 100 calls have failed, once at least 10 calls have been made, and a trial call that takes
+     * longer than 30 seconds counts as failed.
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The outcomes of the most recent calls, written in ring order. Replaced rather than cleared when the breaker
+     * closes, so that concurrent recording never needs to be coordinated with a reset.
+     */
+    private static final class Window {
+        private static final int SUCCESS = 1;
+        private static final int FAILURE = 2;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        void record(boolean failure) {
+            int slot = (int) (cursor.getAndIncrement() % outcomes.length());
+            int previous = outcomes.getAndSet(slot, failure ? FAILURE : SUCCESS);
+            if (previous == 0)
+                recorded.incrementAndGet();
+            int delta = (failure ? 1 : 0) - (previous == FAILURE ? 1 : 0);
+            if (delta != 0)
+                failures.addAndGet(delta);
+        }
+    }
+
+    public State state() {
+        return State.values()[state.get()];
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> Either<Exception, R> rejected() {
+        return (Either<Exception, R>) rejected;
+    }
+
+    int acquire() {
+        int s = state.get();
+        if (s == State.CLOSED.ordinal())
+            return PERMITTED;
+        long now = ticker.getAsLong();
+        if (s == State.HALF_OPEN.ordinal()) {
+            int t = trial.get();
+            if (t != REJECTED && now - trialStartedAt >= trialTimeout) {
+                release(t, true);
+                s = state.get();
+            }
+        }
+        if (s == State.OPEN.ordinal() && now - openedAt >= openDuration && state.compareAndSet(s, State.HALF_OPEN.ordinal())) {
+            int permit = TRIAL + (trials.getAndIncrement() & 0x3fffffff);
+            trialStartedAt = now;
+            trial.set(permit);
+            return permit;
+        }
+        return REJECTED;
+    }
+
+    void release(int permit, boolean failure) {
+        if (permit >= TRIAL) {
+            // Only the trial in flight decides; one that timed out has already been counted as failed
+            if (!trial.compareAndSet(permit, REJECTED))
+                return;
+            if (failure) {
+                open();
+            }
+            else {
+                window = new Window(windowSize);
+                state.set(State.CLOSED.ordinal());
+            }
+        }
+        else if (state.get() == State.CLOSED.ordinal()) {
+            Window w = window;
+            w.record(failure);
+            int calls = w.recorded.get();
+            if (failure && calls >= minimumCalls && w.failures.get() >= failureRateThreshold * calls) {
+                open();
+            }
+        }
+    }
+
+    private void open() {
+        openedAt = ticker.getAsLong();
+        state.set(State.OPEN.ordinal());
+    }
+
+    <T, L, R> Function<T, Either<L, R>> decorate(Function<? super T, ? extends Either<L, R>> function, Either<L, R> whenOpen) {
+        return t -> {
+            int permit = acquire();
+            if (permit == REJECTED)
+                return whenOpen;
+            boolean failure = true;
+            try {
+                Either<L, R> result = function.apply(t);
+                failure = result.isLeft();
+                return result;
+            }
+            finally {
+                release(permit, failure);
+            }
+        };
+    }
+
+    <T, L, R> Function<T, AsyncEither<L, R>> decorateAsync(Function<? super T, ? extends AsyncEither<L, R>> function, Either<L, R> whenOpen) {
+        return t -> {
+            int permit = acquire();
+            if (permit == REJECTED)
+                return AsyncEither.completed(whenOpen, null);
+            AsyncEither<L, R> result;
+            try {
+                result = function.apply(t);
+            }
+            catch (RuntimeException | Error e) {
+                release(permit, true);
+                throw e;
+            }
+            CompletableFuture<Either<L, R>> future = result.future();
+            future.whenComplete((value, e) -> release(permit, e != null || value == null || value.isLeft()));
+            return result;
+        };
+    }
+
+    public static final class Builder {
+        private int windowSize = 100;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private long openDuration = Duration.ofSeconds(30).toNanos();
+        private long trialTimeout = Duration.ofSeconds(30).toNanos();
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * @param windowSize the number of most recent calls the failure rate is computed over
+         * @return this builder
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize < 1)
+                throw new IllegalArgumentException("windowSize must be positive");
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * @param minimumCalls the number of calls that must have been recorded before the breaker can open
+         * @return this builder
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1)
+                throw new IllegalArgumentException("minimumCalls must be positive");
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * @param failureRateThreshold the failure rate, between 0 and 1, at which the breaker opens
+         * @return this builder
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1)
+                throw new IllegalArgumentException("failureRateThreshold must be greater than 0 and at most 1");
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * @param openDuration how long the breaker rejects calls before letting a trial call through
+         * @return this builder
+         */
+        public Builder openDuration(Duration openDuration) {
+            if (openDuration.isNegative())
+                throw new IllegalArgumentException("openDuration must not be negative");
+            this.openDuration = openDuration.toNanos();
+            return this;
+        }
+
+        /**
+         * @param trialTimeout how long a trial call may take before it counts as failed and the breaker opens again
+         * @return this builder
+         */
+        public Builder trialTimeout(Duration trialTimeout) {
+            if (trialTimeout.isNegative() || trialTimeout.isZero())
+                throw new IllegalArgumentException("trialTimeout must be positive");
+            this.trialTimeout = trialTimeout.toNanos();
+            return this;
+        }
+
+        /**
+         * @param ticker a {@link java.util.function.LongSupplier} returning the current time in nanoseconds, as {@link System#nanoTime()}
+         * @return this builder
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public CircuitBreaker build() {
+            return new CircuitBreaker(windowSize, Math.min(minimumCalls, windowSize), failureRateThreshold, openDuration, trialTimeout, ticker);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package se.fnord.either;
+
+/**
+ * The left value of calls rejected by an open {@link se.fnord.either.CircuitBreaker}. A single, preallocated instance
+ * is shared by all rejected calls of a breaker, so it carries no stack trace.
+ */
+public class CircuitBreakerOpenException extends StacklessException {
+    private static final long serialVersionUID = 1L;
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
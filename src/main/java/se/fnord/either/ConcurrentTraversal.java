@@ -0,0 +1,91 @@
+package se.fnord.either;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Applies a function to every element of a collection on an executor, with at most a fixed number of calls in
+ * flight. The submitting thread blocks on a semaphore while the limit is reached, which is cheap on a virtual thread.
+ * Once everything has been submitted, acquiring every permit waits for the calls still in flight.
+ * <p>
+ * The inputs are copied to an array first, so the results line up with the inputs even if the collection changes
+ * size during the traversal. Inputs skipped after a failure share one {@link CancellationException}, created for the
+ * traversal that skipped them.
+ */
+final class ConcurrentTraversal<T, R> {
+    private final ThrowingFunction<? super T, ? extends R> function;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final boolean failFast;
+    private final Semaphore permits;
+    private final Either<?, ?>[] results;
+    private volatile boolean failed;
+
+    private ConcurrentTraversal(int size, ThrowingFunction<? super T, ? extends R> function, int maxConcurrency, Executor executor, boolean failFast) {
+        this.function = function;
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+        this.failFast = failFast;
+        this.permits = new Semaphore(maxConcurrency);
+        this.results = new Either<?, ?>[size];
+    }
+
+    static <T, R> List<Either<Exception, R>> traverse(Collection<? extends T> inputs, ThrowingFunction<? super T, ? extends R> function, int maxConcurrency, Executor executor, boolean failFast) throws InterruptedException {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        Object[] values = inputs.toArray();
+        return new ConcurrentTraversal<T, R>(values.length, function, maxConcurrency, executor, failFast).run(values);
+    }
+
+    private boolean cancelled() {
+        return failFast && failed;
+    }
+
+    private void complete(int index, Either<Exception, ?> result) {
+        results[index] = result;
+        if (result.isLeft())
+            failed = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Either<Exception, R>> run(Object[] values) throws InterruptedException {
+        for (int i = 0; i < values.length && !cancelled(); i++) {
+            permits.acquire();
+            submit(i, (T) values[i]);
+        }
+        permits.acquire(maxConcurrency);
+
+        Either<Exception, ?> cancelled = null;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                if (cancelled == null)
+                    cancelled = Either.left(new CancellationException("cancelled after an earlier failure"));
+                results[i] = cancelled;
+            }
+        }
+        return (List<Either<Exception, R>>) (List<?>) Arrays.asList(results);
+    }
+
+    private void submit(int index, T input) {
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!cancelled())
+                        complete(index, Either.fromFunction(function, input));
+                }
+                finally {
+                    permits.release();
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            complete(index, Either.left(e));
+            permits.release();
+        }
+    }
+}
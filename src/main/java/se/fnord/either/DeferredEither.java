@@ -0,0 +1,162 @@
+package se.fnord.either;
+
+import java.util.ArrayDeque;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A description of a computation producing an Either value, evaluated in constant stack space.
+ * <p>
+ * Building a deep chain of {@link se.fnord.either.Either#rightFlatMap(java.util.function.Function)} calls recursively
+ * uses one or more stack frames per level. A DeferredEither instead records the steps, and {@link #evaluate()} runs
+ * them in a loop, keeping the pending continuations in a heap allocated stack. Recursive definitions should wrap the
+ * recursive call in {@link #defer(java.util.function.Supplier)}.
+ * <p>
+ * A DeferredEither is evaluated again every time {@link #evaluate()} is called.
+ *
+ * @param <L> The type of the Either left value
+ * @param <R> The type of the Either right value
+ */
+public abstract class DeferredEither<L, R> {
+    private DeferredEither() {
+    }
+
+    /**
+     * Creates a DeferredEither with an already computed Either value
+     * @param value the Either value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a DeferredEither evaluating to <code>value</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> DeferredEither<L, R> now(Either<? extends L, ? extends R> value) {
+        return new Now<>((Either<L, R>) value);
+    }
+
+    public static <L, R> DeferredEither<L, R> left(L value) {
+        return now(Either.left(value));
+    }
+
+    public static <L, R> DeferredEither<L, R> right(R value) {
+        return now(Either.right(value));
+    }
+
+    /**
+     * Creates a DeferredEither evaluating the DeferredEither returned by <code>supplier</code>
+     * @param supplier a {@link java.util.function.Supplier} that, when invoked, returns a DeferredEither
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a DeferredEither
+     */
+    public static <L, R> DeferredEither<L, R> defer(Supplier<? extends DeferredEither<L, R>> supplier) {
+        return new Defer<>(supplier);
+    }
+
+    public <RR> DeferredEither<L, RR> map(Function<? super R, ? extends RR> f) {
+        return new Mapped<>(this, false, f);
+    }
+
+    public <LL> DeferredEither<LL, R> leftMap(Function<? super L, ? extends LL> f) {
+        return new Mapped<>(this, true, f);
+    }
+
+    public <RR> DeferredEither<L, RR> flatMap(Function<? super R, ? extends DeferredEither<L, RR>> f) {
+        return new Continue<>(this, null, f);
+    }
+
+    public <LL> DeferredEither<LL, R> leftFlatMap(Function<? super L, ? extends DeferredEither<LL, R>> f) {
+        return new Continue<>(this, f, null);
+    }
+
+    /**
+     * Runs the computation
+     * @return the resulting Either value
+     */
+    @SuppressWarnings("unchecked")
+    public Either<L, R> evaluate() {
+        ArrayDeque<DeferredEither<?, ?>> continuations = new ArrayDeque<>();
+        DeferredEither<?, ?> current = this;
+        while (true) {
+            if (current instanceof Continue) {
+                continuations.push(current);
+                current = ((Continue<?, ?, ?, ?>) current).source;
+            }
+            else if (current instanceof Mapped) {
+                continuations.push(current);
+                current = ((Mapped<?, ?, ?, ?>) current).source;
+            }
+            else if (current instanceof Defer) {
+                current = ((Defer<?, ?>) current).supplier.get();
+            }
+            else {
+                Either<?, ?> value = ((Now<?, ?>) current).value;
+                current = null;
+                while (current == null) {
+                    DeferredEither<?, ?> next = continuations.poll();
+                    if (next == null)
+                        return (Either<L, R>) value;
+                    if (next instanceof Mapped) {
+                        Mapped<?, ?, ?, ?> m = (Mapped<?, ?, ?, ?>) next;
+                        if (value.isLeft() == m.left) {
+                            Object mapped = ((Function<Object, ?>) m.f).apply(value.value());
+                            value = m.left ? Either.left(mapped) : Either.right(mapped);
+                        }
+                    }
+                    else {
+                        Continue<?, ?, ?, ?> c = (Continue<?, ?, ?, ?>) next;
+                        Function<Object, ? extends DeferredEither<?, ?>> f = (Function<Object, ? extends DeferredEither<?, ?>>) (value.isLeft() ? c.fl : c.fr);
+                        if (f != null)
+                            current = f.apply(value.value());
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Now<L, R> extends DeferredEither<L, R> {
+        final Either<L, R> value;
+
+        Now(Either<L, R> value) {
+            this.value = value;
+        }
+    }
+
+    private static final class Defer<L, R> extends DeferredEither<L, R> {
+        final Supplier<? extends DeferredEither<L, R>> supplier;
+
+        Defer(Supplier<? extends DeferredEither<L, R>> supplier) {
+            this.supplier = supplier;
+        }
+    }
+
+    /**
+     * Maps the left value, if <code>left</code> is set, or otherwise the right value, of the source value.
+     */
+    private static final class Mapped<L, R, LL, RR> extends DeferredEither<LL, RR> {
+        final DeferredEither<L, R> source;
+        final boolean left;
+        final Function<?, ?> f;
+
+        Mapped(DeferredEither<L, R> source, boolean left, Function<?, ?> f) {
+            this.source = source;
+            this.left = left;
+            this.f = f;
+        }
+    }
+
+    /**
+     * Continues with <code>fl</code> or <code>fr</code>, depending on the side of the source value. A
+     * <code>null</code> function passes the value on unchanged.
+     */
+    private static final class Continue<L, R, LL, RR> extends DeferredEither<LL, RR> {
+        final DeferredEither<L, R> source;
+        final Function<? super L, ? extends DeferredEither<LL, RR>> fl;
+        final Function<? super R, ? extends DeferredEither<LL, RR>> fr;
+
+        Continue(DeferredEither<L, R> source, Function<? super L, ? extends DeferredEither<LL, RR>> fl, Function<? super R, ? extends DeferredEither<LL, RR>> fr) {
+            this.source = source;
+            this.fl = fl;
+            this.fr = fr;
+        }
+    }
+}
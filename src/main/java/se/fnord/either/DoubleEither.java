@@ -0,0 +1,120 @@
+package se.fnord.either;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.Function;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+/**
+ * An {@link se.fnord.either.Either} specialised for <code>double</code> right values, avoiding boxing them.
+ *
+ * @param <L> The type of the left value
+ */
+public interface DoubleEither<L> {
+    /**
+     * Creates a DoubleEither value containing either the value returned by the supplier as the right value, or the exception thrown as the left value
+     * @param supplier a {@link java.util.function.DoubleSupplier} that, when invoked, returns a double or throws an exception
+     * @return a DoubleEither value containing either the value returned by the supplier, or the exception thrown
+     */
+    static DoubleEither<RuntimeException> fromSupplier(DoubleSupplier supplier) {
+        try {
+            return right(supplier.getAsDouble());
+        }
+        catch (RuntimeException e) {
+            return left(e);
+        }
+    }
+
+    /**
+     * Creates a DoubleEither value containing either the value returned by the supplier as the right value, or the exception thrown as the left value
+     * @param supplier a {@link se.fnord.either.ThrowingDoubleSupplier} that, when invoked, returns a double or throws an exception
+     * @return a DoubleEither value containing either the value returned by the supplier, or the exception thrown
+     */
+    static DoubleEither<Exception> fromSupplier(ThrowingDoubleSupplier supplier) {
+        try {
+            return right(supplier.getAsDouble());
+        }
+        catch (Exception e) {
+            return left(e);
+        }
+    }
+
+    /**
+     * Creates a DoubleEither value containing either the value returned by the function as the right value, or the exception thrown as the left value
+     * @param function a {@link java.util.function.ToDoubleFunction} that, when invoked with a value of type T, returns a double or throws an exception
+     * @param <T> The parameter type of the function
+     * @return a DoubleEither value containing either the value returned by the function, or the exception thrown
+     */
+    static <T> DoubleEither<RuntimeException> fromFunction(ToDoubleFunction<? super T> function, T t) {
+        try {
+            return right(function.applyAsDouble(t));
+        }
+        catch (RuntimeException e) {
+            return left(e);
+        }
+    }
+
+    /**
+     * Creates a DoubleEither value from an Either value with a boxed right value
+     * @param either the Either value
+     * @param <LL> The type of the left value
+     * @return a DoubleEither value containing the same left value, or the unboxed right value
+     * @throws NullPointerException if <code>either</code> is a right value holding null, which has no <code>double</code> value
+     */
+    static <LL> DoubleEither<LL> fromEither(Either<? extends LL, Double> either) {
+        return either.fold(DoubleEither::left, r -> right(Objects.requireNonNull(r, "Right value is null and cannot be unboxed to double")));
+    }
+
+    /**
+     * Creates a left DoubleEither value
+     * @param value the value.
+     * @param <LL> The type of the left value
+     * @return a left DoubleEither value
+     */
+    static <LL> DoubleEither<LL> left(LL value) {
+        return new DoubleLeft<>(value);
+    }
+
+    /**
+     * Creates a right DoubleEither value
+     * @param value the value.
+     * @param <LL> The type of the left value
+     * @return a right DoubleEither value
+     */
+    static <LL> DoubleEither<LL> right(double value) {
+        return new DoubleRight<>(value);
+    }
+
+    /**
+     * Converts this value to an Either, boxing the right value
+     * @return an Either value containing the same left value, or the boxed right value
+     */
+    Either<L, Double> toEither();
+
+    DoubleEither<L> mapToDouble(DoubleUnaryOperator f);
+    <RR> Either<L, RR> mapToObj(DoubleFunction<? extends RR> f);
+    <LL> DoubleEither<LL> leftMap(Function<? super L, ? extends LL> f);
+
+    DoubleEither<L> flatMapToDouble(DoubleFunction<DoubleEither<? extends L>> f);
+
+    double foldDouble(ToDoubleFunction<? super L> fl, DoubleUnaryOperator fr);
+    <V> V fold(Function<? super L, ? extends V> fl, DoubleFunction<? extends V> fr);
+
+    DoubleStream stream();
+    Stream<L> leftStream();
+
+    OptionalDouble option();
+    Optional<L> leftOption();
+
+    double orElseDouble(ToDoubleFunction<? super L> f);
+    double orElseDouble(double v);
+
+    boolean isLeft();
+    boolean isRight();
+}
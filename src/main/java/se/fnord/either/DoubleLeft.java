@@ -0,0 +1,114 @@
+package se.fnord.either;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.Function;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+final class DoubleLeft<L> implements DoubleEither<L> {
+    private final L l;
+
+    DoubleLeft(L l) {
+        this.l = l;
+    }
+
+    @Override
+    public Either<L, Double> toEither() {
+        return Either.left(l);
+    }
+
+    @Override
+    public DoubleEither<L> mapToDouble(DoubleUnaryOperator f) {
+        return this;
+    }
+
+    @Override
+    public <RR> Either<L, RR> mapToObj(DoubleFunction<? extends RR> f) {
+        return Either.left(l);
+    }
+
+    @Override
+    public <LL> DoubleEither<LL> leftMap(Function<? super L, ? extends LL> f) {
+        return DoubleEither.left(f.apply(l));
+    }
+
+    @Override
+    public DoubleEither<L> flatMapToDouble(DoubleFunction<DoubleEither<? extends L>> f) {
+        return this;
+    }
+
+    @Override
+    public double foldDouble(ToDoubleFunction<? super L> fl, DoubleUnaryOperator fr) {
+        return fl.applyAsDouble(l);
+    }
+
+    @Override
+    public <V> V fold(Function<? super L, ? extends V> fl, DoubleFunction<? extends V> fr) {
+        return fl.apply(l);
+    }
+
+    @Override
+    public DoubleStream stream() {
+        return DoubleStream.empty();
+    }
+
+    @Override
+    public Stream<L> leftStream() {
+        return Stream.of(l);
+    }
+
+    @Override
+    public OptionalDouble option() {
+        return OptionalDouble.empty();
+    }
+
+    @Override
+    public Optional<L> leftOption() {
+        return Optional.of(l);
+    }
+
+    @Override
+    public double orElseDouble(ToDoubleFunction<? super L> f) {
+        return f.applyAsDouble(l);
+    }
+
+    @Override
+    public double orElseDouble(double v) {
+        return v;
+    }
+
+    @Override
+    public boolean isLeft() {
+        return true;
+    }
+
+    @Override
+    public boolean isRight() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "left<" + l + ">";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DoubleLeft<?> left = (DoubleLeft<?>) o;
+
+        return Objects.equals(l, left.l);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(l);
+    }
+}
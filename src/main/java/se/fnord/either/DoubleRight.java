@@ -0,0 +1,115 @@
+package se.fnord.either;
+
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.Function;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+final class DoubleRight<L> implements DoubleEither<L> {
+    private final double r;
+
+    DoubleRight(double r) {
+        this.r = r;
+    }
+
+    @Override
+    public Either<L, Double> toEither() {
+        return Either.right(r);
+    }
+
+    @Override
+    public DoubleEither<L> mapToDouble(DoubleUnaryOperator f) {
+        return DoubleEither.right(f.applyAsDouble(r));
+    }
+
+    @Override
+    public <RR> Either<L, RR> mapToObj(DoubleFunction<? extends RR> f) {
+        return Either.right(f.apply(r));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <LL> DoubleEither<LL> leftMap(Function<? super L, ? extends LL> f) {
+        return (DoubleEither<LL>) this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public DoubleEither<L> flatMapToDouble(DoubleFunction<DoubleEither<? extends L>> f) {
+        return (DoubleEither<L>) f.apply(r);
+    }
+
+    @Override
+    public double foldDouble(ToDoubleFunction<? super L> fl, DoubleUnaryOperator fr) {
+        return fr.applyAsDouble(r);
+    }
+
+    @Override
+    public <V> V fold(Function<? super L, ? extends V> fl, DoubleFunction<? extends V> fr) {
+        return fr.apply(r);
+    }
+
+    @Override
+    public DoubleStream stream() {
+        return DoubleStream.of(r);
+    }
+
+    @Override
+    public Stream<L> leftStream() {
+        return Stream.empty();
+    }
+
+    @Override
+    public OptionalDouble option() {
+        return OptionalDouble.of(r);
+    }
+
+    @Override
+    public Optional<L> leftOption() {
+        return Optional.empty();
+    }
+
+    @Override
+    public double orElseDouble(ToDoubleFunction<? super L> f) {
+        return r;
+    }
+
+    @Override
+    public double orElseDouble(double v) {
+        return r;
+    }
+
+    @Override
+    public boolean isLeft() {
+        return false;
+    }
+
+    @Override
+    public boolean isRight() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "right<" + r + ">";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DoubleRight<?> right = (DoubleRight<?>) o;
+
+        return Double.compare(r, right.r) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Double.hashCode(r);
+    }
+}
@@ -1,5 +1,6 @@
 package se.fnord.either;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -8,14 +9,31 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 
-public interface Either<L, R> {
+/**
+ * A value that is either a left value or a right value. The hierarchy is closed: the only subclasses are the
+ * package-private {@link Left} and {@link Right}, and every operation is a final method that branches on a tag
+ * field rather than dispatching on the runtime class. Call sites therefore stay monomorphic, and inlinable, no
+ * matter how many kinds of left and right values pass through them.
+ *
+ * @param <L> The type of the left value
+ * @param <R> The type of the right value
+ */
+public abstract class Either<L, R> {
+    private final boolean left;
+    private final Object value;
+
+    Either(boolean left, Object value) {
+        this.left = left;
+        this.value = value;
+    }
+
     /**
      * Creates an Either value containing either the value returned by the supplier as the right value, or the exception thrown as the left value
      * @param supplier a {@link java.util.function.Supplier} that, when invoked, returns a value of type R or throws an exception
      * @param <V> The return type of the supplier
      * @return an Either value containing either the value returned by the supplier, or the exception thrown
      */
-    static <V> Either<RuntimeException, V> fromSupplier(Supplier<? extends V> supplier) {
+    public static <V> Either<RuntimeException, V> fromSupplier(Supplier<? extends V> supplier) {
         try {
             return right(supplier.get());
         }
@@ -30,7 +48,7 @@ public interface Either<L, R> {
      * @param <V> The return type of the supplier
      * @return an Either value containing either the value returned by the supplier, or the exception thrown
      */
-    static <V> Either<Exception, V> fromSupplier(ThrowingSupplier<? extends V> supplier) {
+    public static <V> Either<Exception, V> fromSupplier(ThrowingSupplier<? extends V> supplier) {
         try {
             return right(supplier.get());
         }
@@ -46,7 +64,7 @@ public interface Either<L, R> {
      * @param <R> The return type of the function
      * @return an Either value containing either the value returned by the supplier, or the exception thrown
      */
-    static <T, R> Either<Exception, R> fromFunction(ThrowingFunction<? super T, ? extends R> function, T t) {
+    public static <T, R> Either<Exception, R> fromFunction(ThrowingFunction<? super T, ? extends R> function, T t) {
         try {
             return right(function.apply(t));
         }
@@ -62,7 +80,7 @@ public interface Either<L, R> {
      * @param <R> The return type of the function
      * @return an Either value containing either the value returned by the supplier, or the exception thrown
      */
-    static <T, R> Either<RuntimeException, R> fromFunction(Function<? super T, ? extends R> function, T t) {
+    public static <T, R> Either<RuntimeException, R> fromFunction(Function<? super T, ? extends R> function, T t) {
         try {
             return right(function.apply(t));
         }
@@ -79,7 +97,7 @@ public interface Either<L, R> {
      * @param <R> The return type of the function
      * @return an Either value containing either the value returned by the supplier, or the exception thrown
      */
-    static <T, U, R> Either<Exception, R> fromBiFunction(ThrowingBiFunction<? super T, ? super U, ? extends R> function, T t, U u) {
+    public static <T, U, R> Either<Exception, R> fromBiFunction(ThrowingBiFunction<? super T, ? super U, ? extends R> function, T t, U u) {
         try {
             return right(function.apply(t, u));
         }
@@ -96,7 +114,7 @@ public interface Either<L, R> {
      * @param <R> The return type of the function
      * @return an Either value containing either the value returned by the supplier, or the exception thrown
      */
-    static <T, U, R> Either<RuntimeException, R> fromBiFunction(BiFunction<? super T, ? super U, ? extends R> function, T t, U u) {
+    public static <T, U, R> Either<RuntimeException, R> fromBiFunction(BiFunction<? super T, ? super U, ? extends R> function, T t, U u) {
         try {
             return right(function.apply(t, u));
         }
@@ -105,6 +123,45 @@ public interface Either<L, R> {
         }
     }
 
+    /**
+     * Creates an Either value containing either the value returned by the supplier as the right value, or the exception thrown captured according to <code>policy</code> as the left value
+     * @param supplier a {@link se.fnord.either.ThrowingSupplier} that, when invoked, returns a value of type V or throws an exception
+     * @param policy a {@link se.fnord.either.CapturePolicy} mapping the exception thrown to a left value
+     * @param <L> The type of the Either left value
+     * @param <V> The return type of the supplier
+     * @return an Either value containing either the value returned by the supplier, or the captured exception
+     */
+    public static <L, V> Either<L, V> fromSupplier(ThrowingSupplier<? extends V> supplier, CapturePolicy<L> policy) {
+        return policy.fromSupplier(supplier);
+    }
+
+    /**
+     * Creates an Either value containing either the value returned by the function as the right value, or the exception thrown captured according to <code>policy</code> as the left value
+     * @param function a {@link se.fnord.either.ThrowingFunction} that, when invoked with a value of type T, returns a value of type R or throws an exception
+     * @param policy a {@link se.fnord.either.CapturePolicy} mapping the exception thrown to a left value
+     * @param <L> The type of the Either left value
+     * @param <T> The parameter type of the function
+     * @param <R> The return type of the function
+     * @return an Either value containing either the value returned by the function, or the captured exception
+     */
+    public static <L, T, R> Either<L, R> fromFunction(ThrowingFunction<? super T, ? extends R> function, T t, CapturePolicy<L> policy) {
+        return policy.fromFunction(function, t);
+    }
+
+    /**
+     * Creates an Either value containing either the value returned by the function as the right value, or the exception thrown captured according to <code>policy</code> as the left value
+     * @param function a {@link se.fnord.either.ThrowingBiFunction} that, when invoked with a value of type T and U, returns a value of type R or throws an exception
+     * @param policy a {@link se.fnord.either.CapturePolicy} mapping the exception thrown to a left value
+     * @param <L> The type of the Either left value
+     * @param <T> The first parameter type of the function
+     * @param <U> The second parameter type of the function
+     * @param <R> The return type of the function
+     * @return an Either value containing either the value returned by the function, or the captured exception
+     */
+    public static <L, T, U, R> Either<L, R> fromBiFunction(ThrowingBiFunction<? super T, ? super U, ? extends R> function, T t, U u, CapturePolicy<L> policy) {
+        return policy.fromBiFunction(function, t, u);
+    }
+
     /**
      * Creates an Either value containing either the value contained in the optional as the right value, or the value returned by the <code>orElse</code> {@link java.util.function.Supplier} as the left value.
      * @apiNote the orElse supplier must not throw an exception.
@@ -114,7 +171,7 @@ public interface Either<L, R> {
      * @param <RR> The type of the Either right value
      * @return an Either value containing either the value contained in the Optional, or the value returned by the <code>orElse</code> supplier
      */
-    static <LL, RR> Either<LL, RR> fromOption(Optional<? extends RR> value, Supplier<? extends LL> orElse) {
+    public static <LL, RR> Either<LL, RR> fromOption(Optional<? extends RR> value, Supplier<? extends LL> orElse) {
         return value.isPresent() ? right(value.get()) : left(orElse.get());
     }
 
@@ -127,83 +184,219 @@ public interface Either<L, R> {
      * @param <RR> The type of the Either right value
      * @return an Either value containing either the value contained in the Optional, or the <code>orElse</code> value
      */
-    static <LL, RR> Either<LL, RR> fromOption(Optional<? extends RR> value, LL orElse) {
+    public static <LL, RR> Either<LL, RR> fromOption(Optional<? extends RR> value, LL orElse) {
         return value.isPresent() ? right(value.get()) : left(orElse);
     }
 
     /**
-     * Creates a left Either value
+     * Creates a left Either value. For null, the two booleans and integers from -128 to 127 boxed by
+     * {@link Integer#valueOf(int)}, a shared instance is returned rather than a new one.
      * @param value the value.
      * @param <LL> The type of the Either left value
      * @param <RR> The type of the Either right value
      * @return a left Either value
      */
-    static <LL, RR> Either<LL, RR> left(LL value) {
-        return new Left<>(value);
+    public static <LL, RR> Either<LL, RR> left(LL value) {
+        return Left.of(value);
     }
 
     /**
-     * Creates a right Either value
+     * Creates a right Either value. For null, the two booleans and integers from -128 to 127 boxed by
+     * {@link Integer#valueOf(int)}, a shared instance is returned rather than a new one.
      * @param value the value.
      * @param <LL> The type of the Either left value
      * @param <RR> The type of the Either right value
      * @return a right Either value
      */
-    static <LL, RR> Either<LL, RR> right(RR value) {
-        return new Right<>(value);
+    public static <LL, RR> Either<LL, RR> right(RR value) {
+        return Right.of(value);
+    }
+
+    /**
+     * Returns the shared right Either value holding null, for operations that succeed without a result
+     * @param <LL> The type of the Either left value
+     * @return a right Either value holding null
+     */
+    public static <LL> Either<LL, Void> unit() {
+        return Right.of(null);
+    }
+
+    /**
+     * Returns the shared right Either value holding {@link Boolean#TRUE}
+     * @param <LL> The type of the Either left value
+     * @return a right Either value holding true
+     */
+    public static <LL> Either<LL, Boolean> rightTrue() {
+        return Right.of(Boolean.TRUE);
+    }
+
+    /**
+     * Returns the shared right Either value holding {@link Boolean#FALSE}
+     * @param <LL> The type of the Either left value
+     * @return a right Either value holding false
+     */
+    public static <LL> Either<LL, Boolean> rightFalse() {
+        return Right.of(Boolean.FALSE);
+    }
+
+    /**
+     * Repeatedly applies <code>f</code>, starting with <code>seed</code>, in constant stack space. The loop continues
+     * with the next value as long as <code>f</code> returns a right value containing a left value, and ends when it
+     * returns either a left value or a right value containing a right value.
+     * @param seed the initial value
+     * @param f a {@link java.util.function.Function} that, when invoked with the current value, returns a left value to stop with, a right value containing a left value to continue with, or a right value containing a right value to stop with
+     * @param <LL> The type of the Either left value
+     * @param <A> The type of the values looped over
+     * @param <B> The type of the Either right value
+     * @return the first left value or final right value returned by <code>f</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <LL, A, B> Either<LL, B> tailRecM(A seed, Function<? super A, Either<? extends LL, Either<? extends A, ? extends B>>> f) {
+        A a = seed;
+        while (true) {
+            Either<? extends LL, Either<? extends A, ? extends B>> result = f.apply(a);
+            if (result.isLeft())
+                return (Either<LL, B>) result;
+            Either<? extends A, ? extends B> step = (Either<? extends A, ? extends B>) result.value;
+            if (step.isRight())
+                return (Either<LL, B>) step;
+            a = (A) step.value;
+        }
     }
 
-    default <RR> Either<L, RR> map(Function<? super R, ? extends RR> f) {
+    /**
+     * Returns the contained value, whichever side it is on
+     *
+     * @return the left or right value
+     */
+    final Object value() {
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private L l() {
+        return (L) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R r() {
+        return (R) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <LL, RR> Either<LL, RR> self() {
+        return (Either<LL, RR>) this;
+    }
+
+    public final <RR> Either<L, RR> map(Function<? super R, ? extends RR> f) {
         return rightMap(f);
     }
 
-    default <RR> Either<L, RR> rightMap(Function<? super R, ? extends RR> f) {
-        return bimap(Function.identity(), f);
+    public final <RR> Either<L, RR> rightMap(Function<? super R, ? extends RR> f) {
+        return left ? self() : Either.right(f.apply(r()));
     }
-    default <LL> Either<LL, R> leftMap(Function<? super L, ? extends LL> f) {
-        return bimap(f, Function.identity());
+
+    public final <LL> Either<LL, R> leftMap(Function<? super L, ? extends LL> f) {
+        return left ? Either.left(f.apply(l())) : self();
     }
 
-    <LL, RR> Either<LL, RR> bimap(Function<? super L, ? extends LL> fl, Function<? super R, ? extends RR> fr);
+    public final <LL, RR> Either<LL, RR> bimap(Function<? super L, ? extends LL> fl, Function<? super R, ? extends RR> fr) {
+        if (left)
+            return fl == Function.identity() ? self() : Either.left(fl.apply(l()));
+        return fr == Function.identity() ? self() : Either.right(fr.apply(r()));
+    }
 
-    default <RR> Either<L, RR> flatMap(Function<? super R, Either<? extends L, ? extends RR>> f) {
+    public final <RR> Either<L, RR> flatMap(Function<? super R, Either<? extends L, ? extends RR>> f) {
         return rightFlatMap(f);
     }
 
-    <RR> Either<L, RR> rightFlatMap(Function<? super R, Either<? extends L, ? extends RR>> f);
-    <LL> Either<LL, R> leftFlatMap(Function<? super L, Either<? extends LL, ? extends R>> f);
+    @SuppressWarnings("unchecked")
+    public final <RR> Either<L, RR> rightFlatMap(Function<? super R, Either<? extends L, ? extends RR>> f) {
+        return left ? self() : (Either<L, RR>) f.apply(r());
+    }
 
-    <LL, RR> Either<LL, RR> biFlatMap(Function<? super L, Either<? extends LL, ? extends RR>> fl, Function<? super R, Either<? extends LL, ? extends RR>> fr);
+    @SuppressWarnings("unchecked")
+    public final <LL> Either<LL, R> leftFlatMap(Function<? super L, Either<? extends LL, ? extends R>> f) {
+        return left ? (Either<LL, R>) f.apply(l()) : self();
+    }
+
+    @SuppressWarnings("unchecked")
+    public final <LL, RR> Either<LL, RR> biFlatMap(Function<? super L, Either<? extends LL, ? extends RR>> fl, Function<? super R, Either<? extends LL, ? extends RR>> fr) {
+        return (Either<LL, RR>) (left ? fl.apply(l()) : fr.apply(r()));
+    }
 
     /**
      * Swaps the left and right values
      *
      * @return an Either with the left and right values swapped
      */
-    Either<R, L> swap();
+    public final Either<R, L> swap() {
+        return left ? Either.right(l()) : Either.left(r());
+    }
 
-    <V> V fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr);
+    public final <V> V fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+        return left ? fl.apply(l()) : fr.apply(r());
+    }
 
 
-    default Stream<R> stream() {
+    public final Stream<R> stream() {
         return rightStream();
     }
 
-    Stream<R> rightStream();
-    Stream<L> leftStream();
+    public final Stream<R> rightStream() {
+        return left ? Stream.empty() : Stream.of(r());
+    }
 
+    public final Stream<L> leftStream() {
+        return left ? Stream.of(l()) : Stream.empty();
+    }
 
-    default Optional<R> option() {
+
+    public final Optional<R> option() {
         return rightOption();
     }
 
-    Optional<R> rightOption();
-    Optional<L> leftOption();
+    public final Optional<R> rightOption() {
+        return left ? Optional.empty() : Optional.of(r());
+    }
+
+    public final Optional<L> leftOption() {
+        return left ? Optional.of(l()) : Optional.empty();
+    }
+
+    public final R orElse(Function<? super L, ? extends R> f) {
+        return left ? f.apply(l()) : r();
+    }
+
+    public final R orElse(R v) {
+        return left ? v : r();
+    }
+
+    public final boolean isLeft() {
+        return left;
+    }
+
+    public final boolean isRight() {
+        return !left;
+    }
 
-    R orElse(Function<? super L, ? extends R> f);
-    R orElse(R f);
+    @Override
+    public final String toString() {
+        return (left ? "left<" : "right<") + value + ">";
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Either)) return false;
 
-    boolean isLeft();
-    boolean isRight();
+        Either<?, ?> other = (Either<?, ?>) o;
 
+        return left == other.left && Objects.equals(value, other.value);
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hashCode(value);
+    }
 }
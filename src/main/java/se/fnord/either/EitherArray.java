@@ -0,0 +1,271 @@
+package se.fnord.either;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * A fixed size, mutable array of Either values stored in columns: one bit per element tells whether the element is a
+ * left value, and the values themselves are kept in a single array. This avoids a {@link se.fnord.either.Left} or
+ * {@link se.fnord.either.Right} object per element, and lets the bulk operations scan the tags 64 elements at a time.
+ * <p>
+ * Like other arrays, an EitherArray is not thread safe.
+ *
+ * @param <L> The type of the Either left values
+ * @param <R> The type of the Either right values
+ */
+public final class EitherArray<L, R> {
+    private final int size;
+    // A set bit marks a left value
+    private final long[] tags;
+    private final Object[] values;
+
+    private EitherArray(int size, long[] tags, Object[] values) {
+        this.size = size;
+        this.tags = tags;
+        this.values = values;
+    }
+
+    /**
+     * Creates an EitherArray where every element is a right <code>null</code>
+     * @param size the number of elements
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return a new EitherArray
+     */
+    public static <L, R> EitherArray<L, R> ofSize(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("negative size");
+        return new EitherArray<>(size, new long[(size + 63) >>> 6], new Object[size]);
+    }
+
+    /**
+     * Creates an EitherArray containing the given Either values
+     * @param values the Either values
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return a new EitherArray
+     */
+    @SafeVarargs
+    public static <L, R> EitherArray<L, R> of(Either<? extends L, ? extends R>... values) {
+        EitherArray<L, R> array = ofSize(values.length);
+        for (int i = 0; i < values.length; i++)
+            array.set(i, values[i]);
+        return array;
+    }
+
+    /**
+     * Creates an EitherArray containing the Either values of a collection, in iteration order
+     * @param values the Either values
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return a new EitherArray
+     */
+    public static <L, R> EitherArray<L, R> from(Collection<? extends Either<? extends L, ? extends R>> values) {
+        EitherArray<L, R> array = ofSize(values.size());
+        int i = 0;
+        for (Either<? extends L, ? extends R> value : values)
+            array.set(i++, value);
+        return array;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= size)
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        return i;
+    }
+
+    // The tag bits of word w, restricted to the elements of the array
+    private long lefts(int w) {
+        long word = tags[w];
+        return w == tags.length - 1 && (size & 63) != 0 ? word & ((1L << size) - 1) : word;
+    }
+
+    private long rights(int w) {
+        long word = ~tags[w];
+        return w == tags.length - 1 && (size & 63) != 0 ? word & ((1L << size) - 1) : word;
+    }
+
+    public boolean isLeft(int i) {
+        return (tags[checkIndex(i) >>> 6] & (1L << i)) != 0;
+    }
+
+    public boolean isRight(int i) {
+        return !isLeft(i);
+    }
+
+    /**
+     * Returns the element at the given index as an Either value
+     * @param i the index
+     * @return the element
+     */
+    @SuppressWarnings("unchecked")
+    public Either<L, R> get(int i) {
+        return isLeft(i) ? Either.left((L) values[i]) : Either.right((R) values[i]);
+    }
+
+    /**
+     * Returns the left value at the given index
+     * @param i the index
+     * @return the left value
+     * @throws java.util.NoSuchElementException if the element is a right value
+     */
+    @SuppressWarnings("unchecked")
+    public L getLeft(int i) {
+        if (!isLeft(i))
+            throw new NoSuchElementException("not a left value");
+        return (L) values[i];
+    }
+
+    /**
+     * Returns the right value at the given index
+     * @param i the index
+     * @return the right value
+     * @throws java.util.NoSuchElementException if the element is a left value
+     */
+    @SuppressWarnings("unchecked")
+    public R getRight(int i) {
+        if (isLeft(i))
+            throw new NoSuchElementException("not a right value");
+        return (R) values[i];
+    }
+
+    public void set(int i, Either<? extends L, ? extends R> value) {
+        if (value.isLeft())
+            tags[checkIndex(i) >>> 6] |= 1L << i;
+        else
+            tags[checkIndex(i) >>> 6] &= ~(1L << i);
+        values[i] = value.value();
+    }
+
+    public void setLeft(int i, L value) {
+        tags[checkIndex(i) >>> 6] |= 1L << i;
+        values[i] = value;
+    }
+
+    public void setRight(int i, R value) {
+        tags[checkIndex(i) >>> 6] &= ~(1L << i);
+        values[i] = value;
+    }
+
+    public int countLefts() {
+        int count = 0;
+        for (int w = 0; w < tags.length; w++)
+            count += Long.bitCount(lefts(w));
+        return count;
+    }
+
+    public int countRights() {
+        return size - countLefts();
+    }
+
+    /**
+     * Creates a new EitherArray with <code>f</code> applied to all right values. Left values are copied as they are.
+     * @param f the function to apply to the right values
+     * @param <RR> The type of the new right values
+     * @return a new EitherArray
+     */
+    @SuppressWarnings("unchecked")
+    public <RR> EitherArray<L, RR> mapRight(Function<? super R, ? extends RR> f) {
+        Object[] mapped = values.clone();
+        for (int w = 0; w < tags.length; w++) {
+            for (long bits = rights(w); bits != 0; bits &= bits - 1) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                mapped[i] = f.apply((R) values[i]);
+            }
+        }
+        return new EitherArray<>(size, tags.clone(), mapped);
+    }
+
+    /**
+     * Creates a new EitherArray with <code>f</code> applied to all left values. Right values are copied as they are.
+     * @param f the function to apply to the left values
+     * @param <LL> The type of the new left values
+     * @return a new EitherArray
+     */
+    @SuppressWarnings("unchecked")
+    public <LL> EitherArray<LL, R> mapLeft(Function<? super L, ? extends LL> f) {
+        Object[] mapped = values.clone();
+        for (int w = 0; w < tags.length; w++) {
+            for (long bits = lefts(w); bits != 0; bits &= bits - 1) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                mapped[i] = f.apply((L) values[i]);
+            }
+        }
+        return new EitherArray<>(size, tags.clone(), mapped);
+    }
+
+    /**
+     * Folds every element
+     * @param fl the function to apply to left values
+     * @param fr the function to apply to right values
+     * @param <V> The type of the folded values
+     * @return a list containing the folded values, in element order
+     */
+    @SuppressWarnings("unchecked")
+    public <V> List<V> foldAll(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+        Object[] folded = new Object[size];
+        for (int w = 0; w < tags.length; w++) {
+            long word = tags[w];
+            int end = Math.min(size, (w + 1) << 6);
+            for (int i = w << 6; i < end; i++)
+                folded[i] = (word & (1L << i)) != 0 ? fl.apply((L) values[i]) : fr.apply((R) values[i]);
+        }
+        return (List<V>) Arrays.asList(folded);
+    }
+
+    /**
+     * Partitions the elements into their left and right values
+     * @return a partition with the left and right values, each in element order
+     */
+    @SuppressWarnings("unchecked")
+    public Partition<List<L>, List<R>> partition() {
+        int lefts = countLefts();
+        List<L> l = new ArrayList<>(lefts);
+        List<R> r = new ArrayList<>(size - lefts);
+        for (int w = 0; w < tags.length; w++) {
+            long word = tags[w];
+            int end = Math.min(size, (w + 1) << 6);
+            for (int i = w << 6; i < end; i++) {
+                if ((word & (1L << i)) != 0)
+                    l.add((L) values[i]);
+                else
+                    r.add((R) values[i]);
+            }
+        }
+        return Partition.of(l, r);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(get(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        EitherArray<?, ?> that = (EitherArray<?, ?>) o;
+
+        return size == that.size && Arrays.equals(tags, that.tags) && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(tags) + Arrays.hashCode(values);
+    }
+}
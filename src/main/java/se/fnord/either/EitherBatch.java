@@ -0,0 +1,254 @@
+package se.fnord.either;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Bulk operations over arrays and lists of Either values.
+ * <p>
+ * These do the same as mapping every element with {@link se.fnord.either.EitherOps#map(java.util.function.Function)}
+ * and friends, in a single tight loop per call: the values are unwrapped without an interface call per element, and
+ * left values (right values for the left side operations) are copied to the output as they are, without creating a
+ * new instance. The array operations may write to the input array, while the list operations leave their input
+ * alone. Given a {@link java.util.concurrent.ForkJoinPool}, large inputs are processed in parallel chunks, in which
+ * case the functions must be safe to call concurrently.
+ */
+public interface EitherBatch {
+    /**
+     * Maps the right values of <code>in</code> into <code>out</code>
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a right value
+     * @param out the array to write the results to, at the same indices as the input values; may be <code>in</code>
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <RR> The type of the mapped right value
+     */
+    static <L, R, RR> void mapRights(Either<L, R>[] in, Function<? super R, ? extends RR> f, Either<L, RR>[] out) {
+        mapRights(in, f, out, null);
+    }
+
+    /**
+     * Maps the right values of <code>in</code> into <code>out</code>, in parallel if <code>pool</code> is given
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a right value
+     * @param out the array to write the results to, at the same indices as the input values; may be <code>in</code>
+     * @param pool the {@link java.util.concurrent.ForkJoinPool} to run on, or <code>null</code> to run on the calling thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <RR> The type of the mapped right value
+     */
+    static <L, R, RR> void mapRights(Either<L, R>[] in, Function<? super R, ? extends RR> f, Either<L, RR>[] out, ForkJoinPool pool) {
+        BatchLoops.checkLength(in, out);
+        BatchLoops.run(in.length, (from, to) -> BatchLoops.mapRights(in, f, out, from, to), pool);
+    }
+
+    /**
+     * Maps the right values of <code>in</code> to a new list
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a right value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <RR> The type of the mapped right value
+     * @return a fixed-size list of the results, in the order of the input values
+     */
+    static <L, R, RR> List<Either<L, RR>> mapRights(List<? extends Either<L, R>> in, Function<? super R, ? extends RR> f) {
+        return mapRights(in, f, null);
+    }
+
+    /**
+     * Maps the right values of <code>in</code> to a new list, in parallel if <code>pool</code> is given
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a right value
+     * @param pool the {@link java.util.concurrent.ForkJoinPool} to run on, or <code>null</code> to run on the calling thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <RR> The type of the mapped right value
+     * @return a fixed-size list of the results, in the order of the input values
+     */
+    static <L, R, RR> List<Either<L, RR>> mapRights(List<? extends Either<L, R>> in, Function<? super R, ? extends RR> f, ForkJoinPool pool) {
+        Either<L, R>[] values = in.toArray(BatchLoops.newArray(in.size()));
+        Either<L, RR>[] out = BatchLoops.newArray(values.length);
+        mapRights(values, f, out, pool);
+        return Arrays.asList(out);
+    }
+
+    /**
+     * Maps the left values of <code>in</code> into <code>out</code>
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a left value
+     * @param out the array to write the results to, at the same indices as the input values; may be <code>in</code>
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <LL> The type of the mapped left value
+     */
+    static <L, R, LL> void mapLefts(Either<L, R>[] in, Function<? super L, ? extends LL> f, Either<LL, R>[] out) {
+        mapLefts(in, f, out, null);
+    }
+
+    /**
+     * Maps the left values of <code>in</code> into <code>out</code>, in parallel if <code>pool</code> is given
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a left value
+     * @param out the array to write the results to, at the same indices as the input values; may be <code>in</code>
+     * @param pool the {@link java.util.concurrent.ForkJoinPool} to run on, or <code>null</code> to run on the calling thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <LL> The type of the mapped left value
+     */
+    static <L, R, LL> void mapLefts(Either<L, R>[] in, Function<? super L, ? extends LL> f, Either<LL, R>[] out, ForkJoinPool pool) {
+        BatchLoops.checkLength(in, out);
+        BatchLoops.run(in.length, (from, to) -> BatchLoops.mapLefts(in, f, out, from, to), pool);
+    }
+
+    /**
+     * Maps the left values of <code>in</code> to a new list
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a left value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <LL> The type of the mapped left value
+     * @return a fixed-size list of the results, in the order of the input values
+     */
+    static <L, R, LL> List<Either<LL, R>> mapLefts(List<? extends Either<L, R>> in, Function<? super L, ? extends LL> f) {
+        return mapLefts(in, f, null);
+    }
+
+    /**
+     * Maps the left values of <code>in</code> to a new list, in parallel if <code>pool</code> is given
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a left value
+     * @param pool the {@link java.util.concurrent.ForkJoinPool} to run on, or <code>null</code> to run on the calling thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <LL> The type of the mapped left value
+     * @return a fixed-size list of the results, in the order of the input values
+     */
+    static <L, R, LL> List<Either<LL, R>> mapLefts(List<? extends Either<L, R>> in, Function<? super L, ? extends LL> f, ForkJoinPool pool) {
+        Either<L, R>[] values = in.toArray(BatchLoops.newArray(in.size()));
+        Either<LL, R>[] out = BatchLoops.newArray(values.length);
+        mapLefts(values, f, out, pool);
+        return Arrays.asList(out);
+    }
+
+    /**
+     * Flat maps the right values of <code>in</code> into <code>out</code>
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a right value to an Either value
+     * @param out the array to write the results to, at the same indices as the input values; may be <code>in</code>
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <RR> The type of the mapped right value
+     */
+    static <L, R, RR> void flatMapAll(Either<L, R>[] in, Function<? super R, Either<? extends L, ? extends RR>> f, Either<L, RR>[] out) {
+        flatMapAll(in, f, out, null);
+    }
+
+    /**
+     * Flat maps the right values of <code>in</code> into <code>out</code>, in parallel if <code>pool</code> is given
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a right value to an Either value
+     * @param out the array to write the results to, at the same indices as the input values; may be <code>in</code>
+     * @param pool the {@link java.util.concurrent.ForkJoinPool} to run on, or <code>null</code> to run on the calling thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <RR> The type of the mapped right value
+     */
+    static <L, R, RR> void flatMapAll(Either<L, R>[] in, Function<? super R, Either<? extends L, ? extends RR>> f, Either<L, RR>[] out, ForkJoinPool pool) {
+        BatchLoops.checkLength(in, out);
+        BatchLoops.run(in.length, (from, to) -> BatchLoops.flatMapAll(in, f, out, from, to), pool);
+    }
+
+    /**
+     * Flat maps the right values of <code>in</code> to a new list
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a right value to an Either value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <RR> The type of the mapped right value
+     * @return a fixed-size list of the results, in the order of the input values
+     */
+    static <L, R, RR> List<Either<L, RR>> flatMapAll(List<? extends Either<L, R>> in, Function<? super R, Either<? extends L, ? extends RR>> f) {
+        return flatMapAll(in, f, null);
+    }
+
+    /**
+     * Flat maps the right values of <code>in</code> to a new list, in parallel if <code>pool</code> is given
+     * @param in the input values
+     * @param f a {@link java.util.function.Function} mapping a right value to an Either value
+     * @param pool the {@link java.util.concurrent.ForkJoinPool} to run on, or <code>null</code> to run on the calling thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <RR> The type of the mapped right value
+     * @return a fixed-size list of the results, in the order of the input values
+     */
+    static <L, R, RR> List<Either<L, RR>> flatMapAll(List<? extends Either<L, R>> in, Function<? super R, Either<? extends L, ? extends RR>> f, ForkJoinPool pool) {
+        Either<L, R>[] values = in.toArray(BatchLoops.newArray(in.size()));
+        Either<L, RR>[] out = BatchLoops.newArray(values.length);
+        flatMapAll(values, f, out, pool);
+        return Arrays.asList(out);
+    }
+
+    /**
+     * Folds every value of <code>in</code> into <code>out</code>
+     * @param in the input values
+     * @param fl a {@link java.util.function.Function} mapping a left value
+     * @param fr a {@link java.util.function.Function} mapping a right value
+     * @param out the array to write the results to, at the same indices as the input values
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <V> The type of the folded values
+     */
+    static <L, R, V> void foldAll(Either<L, R>[] in, Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr, V[] out) {
+        foldAll(in, fl, fr, out, null);
+    }
+
+    /**
+     * Folds every value of <code>in</code> into <code>out</code>, in parallel if <code>pool</code> is given
+     * @param in the input values
+     * @param fl a {@link java.util.function.Function} mapping a left value
+     * @param fr a {@link java.util.function.Function} mapping a right value
+     * @param out the array to write the results to, at the same indices as the input values
+     * @param pool the {@link java.util.concurrent.ForkJoinPool} to run on, or <code>null</code> to run on the calling thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <V> The type of the folded values
+     */
+    static <L, R, V> void foldAll(Either<L, R>[] in, Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr, V[] out, ForkJoinPool pool) {
+        BatchLoops.checkLength(in, out);
+        BatchLoops.run(in.length, (from, to) -> BatchLoops.foldAll(in, fl, fr, out, from, to), pool);
+    }
+
+    /**
+     * Folds every value of <code>in</code> into a new list
+     * @param in the input values
+     * @param fl a {@link java.util.function.Function} mapping a left value
+     * @param fr a {@link java.util.function.Function} mapping a right value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <V> The type of the folded values
+     * @return a fixed-size list of the results, in the order of the input values
+     */
+    static <L, R, V> List<V> foldAll(List<? extends Either<L, R>> in, Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+        return foldAll(in, fl, fr, null);
+    }
+
+    /**
+     * Folds every value of <code>in</code> into a new list, in parallel if <code>pool</code> is given
+     * @param in the input values
+     * @param fl a {@link java.util.function.Function} mapping a left value
+     * @param fr a {@link java.util.function.Function} mapping a right value
+     * @param pool the {@link java.util.concurrent.ForkJoinPool} to run on, or <code>null</code> to run on the calling thread
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @param <V> The type of the folded values
+     * @return a fixed-size list of the results, in the order of the input values
+     */
+    static <L, R, V> List<V> foldAll(List<? extends Either<L, R>> in, Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr, ForkJoinPool pool) {
+        Either<L, R>[] values = in.toArray(BatchLoops.newArray(in.size()));
+        V[] out = BatchLoops.newValueArray(values.length);
+        foldAll(values, fl, fr, out, pool);
+        return Arrays.asList(out);
+    }
+}
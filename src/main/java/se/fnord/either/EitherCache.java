@@ -0,0 +1,187 @@
+package se.fnord.either;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrent cache of the results of a throwing function.
+ * <p>
+ * A miss installs an in-flight entry and calls the function on the calling thread; concurrent calls for the same key
+ * wait for that entry instead of calling the function again. Completed entries are kept in a queue that is swept
+ * CLOCK style when the cache grows past its bound: an entry that has been read since the last sweep gets a second
+ * chance, while an expired or unused entry is evicted. This approximates LRU without any locking on reads.
+ * <p>
+ * An entry that expires or is replaced leaves its node behind in the queue. Such dead nodes are dropped when the
+ * eviction sweep reaches them, and, whatever the bound, by a purge once the queue holds more than twice as many nodes
+ * as there are live entries. The queue therefore stays proportional to the number of entries.
+ * <p>
+ * The function may use the cache for other keys, but not for a key that its own thread is loading, directly or through
+ * other keys: that call would wait for its own result. Such a call throws an {@link IllegalStateException} instead,
+ * which is passed up through every load in the cycle without being cached. A cycle of loads spanning several threads
+ * is not detected and deadlocks, as with {@link ConcurrentHashMap#computeIfAbsent(Object, Function)}.
+ */
+final class EitherCache<K, V> implements Function<K, Either<Exception, V>> {
+    private static final int PURGE_SLACK = 16;
+
+    private final ThrowingFunction<? super K, ? extends V> function;
+    private final long maximumSize;
+    private final long rightTtl;
+    private final long leftTtl;
+    private final LongSupplier ticker;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+    // The length of clock, as ConcurrentLinkedQueue.size() walks the whole queue
+    private final AtomicInteger queued = new AtomicInteger();
+
+    EitherCache(ThrowingFunction<? super K, ? extends V> function, CachePolicy policy) {
+        this.function = function;
+        this.maximumSize = policy.maximumSize();
+        this.rightTtl = policy.rightTtl();
+        this.leftTtl = policy.leftTtl();
+        this.ticker = policy.ticker();
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final CompletableFuture<Either<Exception, V>> result = new CompletableFuture<>();
+        // Written before result is completed, and only read once it is
+        long loadedAt;
+        volatile boolean referenced;
+        // The thread calling the function, until the result is completed
+        volatile Thread loader = Thread.currentThread();
+
+        Entry(K key) {
+            this.key = key;
+        }
+    }
+
+    private static final class RecursiveLoadException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        RecursiveLoadException(Object key) {
+            super("Recursive load of key " + key);
+        }
+    }
+
+    @Override
+    public Either<Exception, V> apply(K key) {
+        while (true) {
+            Entry<K, V> entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.result.isDone()) {
+                    if (entry.loader == Thread.currentThread())
+                        throw new RecursiveLoadException(key);
+                    return entry.result.join();
+                }
+                Either<Exception, V> value = entry.result.getNow(null);
+                if (!expired(entry, value, ticker.getAsLong())) {
+                    entry.referenced = true;
+                    return value;
+                }
+                entries.remove(key, entry);
+            }
+
+            Entry<K, V> created = new Entry<>(key);
+            if (entries.putIfAbsent(key, created) == null)
+                return load(created);
+        }
+    }
+
+    private boolean expired(Entry<K, V> entry, Either<Exception, V> value, long now) {
+        return now - entry.loadedAt >= (value.isRight() ? rightTtl : leftTtl);
+    }
+
+    private Either<Exception, V> load(Entry<K, V> entry) {
+        Either<Exception, V> value;
+        try {
+            value = Either.right(function.apply(entry.key));
+        }
+        catch (RecursiveLoadException e) {
+            abandon(entry, e);
+            throw e;
+        }
+        catch (Exception e) {
+            value = Either.left(e);
+        }
+        catch (Throwable t) {
+            abandon(entry, t);
+            throw t;
+        }
+        entry.loadedAt = ticker.getAsLong();
+        entry.loader = null;
+        entry.result.complete(value);
+        enqueue(entry);
+        purge();
+        evict();
+        return value;
+    }
+
+    private void abandon(Entry<K, V> entry, Throwable t) {
+        entries.remove(entry.key, entry);
+        entry.loader = null;
+        entry.result.completeExceptionally(t);
+    }
+
+    private void enqueue(Entry<K, V> entry) {
+        clock.add(entry);
+        queued.incrementAndGet();
+    }
+
+    private Entry<K, V> dequeue() {
+        Entry<K, V> entry = clock.poll();
+        if (entry != null)
+            queued.decrementAndGet();
+        return entry;
+    }
+
+    private boolean live(Entry<K, V> entry) {
+        return entries.get(entry.key) == entry;
+    }
+
+    private void purge() {
+        // Runs once at least as many dead nodes as live ones have built up, so its cost is amortised over the misses
+        // that left them behind
+        int length = queued.get();
+        if (length <= 2 * entries.size() + PURGE_SLACK)
+            return;
+        for (int i = 0; i < length; i++) {
+            Entry<K, V> node = dequeue();
+            if (node == null)
+                return;
+            if (live(node))
+                enqueue(node);
+        }
+    }
+
+    private void evict() {
+        // Every entry gets at most one second chance per sweep, so a sweep visits each entry at most twice
+        int budget = 2 * queued.get();
+        long now = ticker.getAsLong();
+        while (entries.size() > maximumSize && budget-- > 0) {
+            Entry<K, V> victim = dequeue();
+            if (victim == null)
+                return;
+            if (!live(victim))
+                continue;
+            if (victim.referenced && !expired(victim, victim.result.getNow(null), now)) {
+                victim.referenced = false;
+                enqueue(victim);
+                continue;
+            }
+            entries.remove(victim.key, victim);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+}
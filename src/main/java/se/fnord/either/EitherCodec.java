@@ -0,0 +1,163 @@
+package se.fnord.either;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes Either values to, and reads them from, a {@link java.nio.ByteBuffer}.
+ * <p>
+ * An Either value is written as a tag byte, {@value #LEFT} for left and {@value #RIGHT} for right, followed by the
+ * value written by the left or right codec. Values are read and written in place, so the buffer can be a direct or
+ * memory mapped buffer handed to or from a channel without copying. An EitherCodec is itself a
+ * {@link se.fnord.either.ValueCodec}, so codecs for nested Either values compose.
+ *
+ * @param <L> The type of the Either left value
+ * @param <R> The type of the Either right value
+ */
+public final class EitherCodec<L, R> implements ValueCodec<Either<L, R>> {
+    public static final byte LEFT = 0;
+    public static final byte RIGHT = 1;
+
+    private final ValueCodec<L> leftCodec;
+    private final ValueCodec<R> rightCodec;
+
+    private EitherCodec(ValueCodec<L> leftCodec, ValueCodec<R> rightCodec) {
+        this.leftCodec = leftCodec;
+        this.rightCodec = rightCodec;
+    }
+
+    /**
+     * Creates a codec for Either values
+     * @param leftCodec the codec of the left values
+     * @param rightCodec the codec of the right values
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a codec
+     */
+    public static <L, R> EitherCodec<L, R> of(ValueCodec<L> leftCodec, ValueCodec<R> rightCodec) {
+        return new EitherCodec<>(leftCodec, rightCodec);
+    }
+
+    ValueCodec<L> leftCodec() {
+        return leftCodec;
+    }
+
+    ValueCodec<R> rightCodec() {
+        return rightCodec;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public int size(Either<L, R> value) {
+        Object v = value.value();
+        return 1 + (value.isLeft() ? leftCodec.size((L) v) : rightCodec.size((R) v));
+    }
+
+    /**
+     * Writes <code>value</code> at the position of <code>buffer</code>. If the value does not fit, the position of
+     * the buffer is left unchanged.
+     * @param value the value
+     * @param buffer the buffer
+     * @throws java.nio.BufferOverflowException if the buffer does not have room for the value
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void write(Either<L, R> value, ByteBuffer buffer) {
+        int start = buffer.position();
+        try {
+            Object v = value.value();
+            if (value.isLeft()) {
+                buffer.put(LEFT);
+                leftCodec.write((L) v, buffer);
+            }
+            else {
+                buffer.put(RIGHT);
+                rightCodec.write((R) v, buffer);
+            }
+        }
+        catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads an Either value at the position of <code>buffer</code>
+     * @param buffer the buffer
+     * @return the value
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the value
+     * @throws IllegalArgumentException if the tag byte is neither {@value #LEFT} nor {@value #RIGHT}, or a length
+     * prefix of the value is negative
+     */
+    @Override
+    public Either<L, R> read(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case LEFT:
+                return Either.left(leftCodec.read(buffer));
+            case RIGHT:
+                return Either.right(rightCodec.read(buffer));
+            default:
+                throw new IllegalArgumentException("invalid tag " + tag);
+        }
+    }
+
+    /**
+     * Writes a count followed by every value in <code>values</code>. If the values do not all fit, the position of the
+     * buffer is left unchanged.
+     * @param values the values
+     * @param buffer the buffer
+     * @throws java.nio.BufferOverflowException if the buffer does not have room for the values
+     */
+    public void writeAll(Collection<? extends Either<L, R>> values, ByteBuffer buffer) {
+        int start = buffer.position();
+        try {
+            buffer.putInt(values.size());
+            for (Either<L, R> value : values)
+                write(value, buffer);
+        }
+        catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    private static int count(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0)
+            throw new IllegalArgumentException("invalid count " + count);
+        return count;
+    }
+
+    /**
+     * Reads values written by {@link #writeAll(java.util.Collection, java.nio.ByteBuffer)}, passing each to
+     * <code>consumer</code> as it is read
+     * @param buffer the buffer
+     * @param consumer a {@link java.util.function.Consumer} accepting the values
+     * @return the number of values read
+     */
+    public int readAll(ByteBuffer buffer, Consumer<? super Either<L, R>> consumer) {
+        int count = count(buffer);
+        for (int i = 0; i < count; i++)
+            consumer.accept(read(buffer));
+        return count;
+    }
+
+    /**
+     * Reads values written by {@link #writeAll(java.util.Collection, java.nio.ByteBuffer)}
+     * @param buffer the buffer
+     * @return the values
+     */
+    public List<Either<L, R>> readAll(ByteBuffer buffer) {
+        int count = count(buffer);
+        // Every value takes at least its tag byte, which bounds the count of a corrupt buffer
+        List<Either<L, R>> values = new ArrayList<>(Math.min(count, buffer.remaining()));
+        for (int i = 0; i < count; i++)
+            values.add(read(buffer));
+        return values;
+    }
+}
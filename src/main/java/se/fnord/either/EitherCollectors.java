@@ -0,0 +1,95 @@
+package se.fnord.either;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+public interface EitherCollectors {
+    /**
+     * Returns a collector partitioning Either values into lists of their left and right values, in encounter order
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return a partitioning collector
+     */
+    static <L, R> Collector<Either<? extends L, ? extends R>, ?, Partition<List<L>, List<R>>> partition() {
+        return partitioning(Collectors.toList(), Collectors.toList());
+    }
+
+    /**
+     * Returns a concurrent, unordered collector partitioning Either values into queues of their left and right values.
+     * When used on a parallel stream all threads accumulate into the same pair of queues, without merging partial
+     * results.
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return a concurrent partitioning collector
+     */
+    static <L, R> Collector<Either<? extends L, ? extends R>, ?, Partition<Queue<L>, Queue<R>>> partitionConcurrent() {
+        Collector<L, Queue<L>, Queue<L>> lefts = Collector.of(ConcurrentLinkedQueue::new, Queue::add, (a, b) -> { a.addAll(b); return a; },
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+        Collector<R, Queue<R>, Queue<R>> rights = Collector.of(ConcurrentLinkedQueue::new, Queue::add, (a, b) -> { a.addAll(b); return a; },
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+        return partitioning(lefts, rights);
+    }
+
+    /**
+     * Returns a collector partitioning Either values into their left and right values, collecting each side with a downstream collector.
+     * The returned collector is {@link java.util.stream.Collector.Characteristics#CONCURRENT} or
+     * {@link java.util.stream.Collector.Characteristics#UNORDERED} only if both downstream collectors are.
+     * @param leftDownstream the collector for left values
+     * @param rightDownstream the collector for right values
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @param <A> The result type of the left downstream collector
+     * @param <B> The result type of the right downstream collector
+     * @return a partitioning collector
+     */
+    static <L, R, A, B> Collector<Either<? extends L, ? extends R>, ?, Partition<A, B>> partitioning(Collector<? super L, ?, A> leftDownstream, Collector<? super R, ?, B> rightDownstream) {
+        return PartitionAccumulator.collector(leftDownstream, rightDownstream);
+    }
+
+    /**
+     * Returns a collector turning Either values into a single Either. The result is the first left value in encounter
+     * order, or, if there are no left values, a list of all right values. Right values encountered after a left value
+     * are not collected.
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return a sequencing collector
+     */
+    static <L, R> Collector<Either<? extends L, ? extends R>, ?, Either<L, List<R>>> sequence() {
+        return Collector.of(
+                SequenceAccumulator<L, R>::new,
+                SequenceAccumulator::accept,
+                SequenceAccumulator::combine,
+                SequenceAccumulator::finish);
+    }
+
+    /**
+     * Returns a collector turning Either values into a single Validated value: a list of all right values if there
+     * were no left values, or all left values in encounter order as errors.
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return an accumulating collector
+     */
+    static <L, R> Collector<Either<? extends L, ? extends R>, ?, Validated<L, List<R>>> accumulating() {
+        return Collector.of(
+                ValidatedAccumulator<L, R>::new,
+                ValidatedAccumulator::accept,
+                ValidatedAccumulator::combine,
+                ValidatedAccumulator::finish);
+    }
+
+    /**
+     * Returns a collector applying <code>f</code> to the input elements and turning the results into a single Either, as {@link #sequence()}
+     * @param f the function to apply
+     * @param <T> The type of the input elements
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return a traversing collector
+     */
+    static <T, L, R> Collector<T, ?, Either<L, List<R>>> traverse(Function<? super T, ? extends Either<? extends L, ? extends R>> f) {
+        return Collectors.mapping(f, sequence());
+    }
+}
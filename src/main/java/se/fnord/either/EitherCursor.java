@@ -0,0 +1,177 @@
+package se.fnord.either;
+
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A mutable holder of a left or a right value, for inner loops that propagate errors Either-style without creating
+ * an Either value per step.
+ * <p>
+ * {@link #mapRight(Function)}, {@link #flatMapRight(BiConsumer)} and the other operations replace the held value in
+ * place and return the cursor itself, so a single cursor can be reused for any number of iterations. A cursor is
+ * meant to stay local to the loop that owns it: it is not thread safe, it has no value-based equality, and it
+ * should not be stored or passed on. Use {@link #freeze()} to get an immutable Either of the current value.
+ * <p>
+ * A new cursor holds a right null value.
+ *
+ * @param <L> The type of the left value
+ * @param <R> The type of the right value
+ */
+public final class EitherCursor<L, R> {
+    private boolean left;
+    private Object value;
+
+    private EitherCursor() {
+    }
+
+    /**
+     * Creates a cursor holding a right null value
+     * @param <L> The type of the left value
+     * @param <R> The type of the right value
+     * @return a new cursor
+     */
+    public static <L, R> EitherCursor<L, R> create() {
+        return new EitherCursor<>();
+    }
+
+    /**
+     * Replaces the held value with a left value
+     * @param value the left value
+     * @return this cursor
+     */
+    public EitherCursor<L, R> setLeft(L value) {
+        this.left = true;
+        this.value = value;
+        return this;
+    }
+
+    /**
+     * Replaces the held value with a right value
+     * @param value the right value
+     * @return this cursor
+     */
+    public EitherCursor<L, R> setRight(R value) {
+        this.left = false;
+        this.value = value;
+        return this;
+    }
+
+    /**
+     * Replaces the held value with the value of an Either
+     * @param value the Either value
+     * @return this cursor
+     */
+    public EitherCursor<L, R> set(Either<? extends L, ? extends R> value) {
+        this.left = value.isLeft();
+        this.value = value.value();
+        return this;
+    }
+
+    public boolean isLeft() {
+        return left;
+    }
+
+    public boolean isRight() {
+        return !left;
+    }
+
+    /**
+     * Returns the held left value
+     * @return the left value
+     * @throws NoSuchElementException if the cursor holds a right value
+     */
+    @SuppressWarnings("unchecked")
+    public L getLeft() {
+        if (!left)
+            throw new NoSuchElementException("Cursor holds a right value");
+        return (L) value;
+    }
+
+    /**
+     * Returns the held right value
+     * @return the right value
+     * @throws NoSuchElementException if the cursor holds a left value
+     */
+    @SuppressWarnings("unchecked")
+    public R getRight() {
+        if (left)
+            throw new NoSuchElementException("Cursor holds a left value");
+        return (R) value;
+    }
+
+    /**
+     * Replaces a held right value with the result of applying <code>f</code> to it. A left value is left as it is.
+     * @param f the function to apply to the right value
+     * @return this cursor
+     */
+    @SuppressWarnings("unchecked")
+    public EitherCursor<L, R> mapRight(Function<? super R, ? extends R> f) {
+        if (!left)
+            value = f.apply((R) value);
+        return this;
+    }
+
+    /**
+     * Replaces a held left value with the result of applying <code>f</code> to it. A right value is left as it is.
+     * @param f the function to apply to the left value
+     * @return this cursor
+     */
+    @SuppressWarnings("unchecked")
+    public EitherCursor<L, R> mapLeft(Function<? super L, ? extends L> f) {
+        if (left)
+            value = f.apply((L) value);
+        return this;
+    }
+
+    /**
+     * Replaces a held right value with the value of the Either returned by <code>f</code>. A left value is left as
+     * it is.
+     * @param f the function to apply to the right value
+     * @return this cursor
+     */
+    @SuppressWarnings("unchecked")
+    public EitherCursor<L, R> flatMapRight(Function<? super R, ? extends Either<? extends L, ? extends R>> f) {
+        if (!left)
+            set(f.apply((R) value));
+        return this;
+    }
+
+    /**
+     * Invokes <code>f</code> with a held right value and this cursor, letting <code>f</code> set the next value with
+     * {@link #setLeft(Object)} or {@link #setRight(Object)} without creating an Either. If <code>f</code> sets
+     * nothing, the cursor keeps the right value. A left value is left as it is.
+     * @param f the function to invoke with the right value and this cursor
+     * @return this cursor
+     */
+    @SuppressWarnings("unchecked")
+    public EitherCursor<L, R> flatMapRight(BiConsumer<? super R, ? super EitherCursor<L, R>> f) {
+        if (!left)
+            f.accept((R) value, this);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+        return left ? fl.apply((L) value) : fr.apply((R) value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public R orElse(R v) {
+        return left ? v : (R) value;
+    }
+
+    /**
+     * Creates an immutable Either holding the current value
+     * @return a left or right Either value
+     */
+    @SuppressWarnings("unchecked")
+    public Either<L, R> freeze() {
+        return left ? Either.left((L) value) : Either.right((R) value);
+    }
+
+    @Override
+    public String toString() {
+        return (left ? "cursor<left<" : "cursor<right<") + value + ">>";
+    }
+}
@@ -0,0 +1,18 @@
+package se.fnord.either;
+
+import java.util.Iterator;
+
+/**
+ * An iterator of Either values, holding either an element or the exception thrown while reading it. Closing the
+ * iterator ends the iteration and closes the underlying {@link ThrowingIterator}.
+ *
+ * @param <T> The type of the elements
+ */
+public interface EitherIterator<T> extends Iterator<Either<Exception, T>>, AutoCloseable {
+    /**
+     * Ends the iteration and closes the underlying {@link ThrowingIterator}. An {@link java.io.IOException} thrown when
+     * closing it is rethrown wrapped in an {@link java.io.UncheckedIOException}.
+     */
+    @Override
+    void close();
+}
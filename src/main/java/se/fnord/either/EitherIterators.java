@@ -0,0 +1,87 @@
+package se.fnord.either;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public interface EitherIterators {
+    /**
+     * What to do after an element could not be read
+     */
+    enum FailureMode {
+        /**
+         * End the iteration after the left value holding the exception
+         */
+        STOP,
+        /**
+         * Go on with the next element after the left value holding the exception
+         */
+        CONTINUE,
+    }
+
+    /**
+     * Returns an iterator of the elements of <code>source</code>, ending at the first exception. Equivalent to
+     * <code>of(source, FailureMode.STOP)</code>.
+     * @param source the iterator to read from
+     * @param <T> The type of the elements
+     * @return an iterator of Either values, each containing either an element or the exception thrown reading it
+     */
+    static <T> EitherIterator<T> of(ThrowingIterator<? extends T> source) {
+        return of(source, FailureMode.STOP);
+    }
+
+    /**
+     * Returns an iterator of the elements of <code>source</code>, read on the calling thread. An exception thrown by
+     * {@link ThrowingIterator#next()} becomes a left value, after which the iteration ends or goes on according to
+     * <code>mode</code>. An exception thrown by {@link ThrowingIterator#hasNext()} always ends the iteration after
+     * its left value, since whether there are more elements is then unknown. An {@link InterruptedException} also
+     * restores the interrupt status of the calling thread.
+     * @param source the iterator to read from
+     * @param mode whether to end the iteration at the first exception
+     * @param <T> The type of the elements
+     * @return an iterator of Either values, each containing either an element or the exception thrown reading it
+     */
+    static <T> EitherIterator<T> of(ThrowingIterator<? extends T> source, FailureMode mode) {
+        return new SourceIterator<>(source, mode);
+    }
+
+    /**
+     * Returns an iterator of the elements of <code>source</code>, read ahead of the consumer on <code>executor</code>
+     * so that waiting for the source overlaps with processing the elements already read. Elements are read
+     * <code>chunkSize</code> at a time into a buffer holding at most <code>capacity</code> elements, and reading
+     * pauses while the buffer has no room for another chunk. The source is only ever used by one thread at a time.
+     * Exceptions are handled as by {@link #of(ThrowingIterator, FailureMode)}, except that an
+     * {@link InterruptedException} thrown by the source on an executor thread does not leave that thread interrupted.
+     * <p>
+     * Reading starts right away. Closing the iterator discards any elements read ahead, waits for a chunk being read
+     * to complete and closes the source. A consumer interrupted while waiting for an element gets a left value
+     * holding the {@link InterruptedException}, after which the iteration ends.
+     * @param source the iterator to read from
+     * @param executor the {@link java.util.concurrent.Executor} to read from <code>source</code> on
+     * @param chunkSize the number of elements to read at a time
+     * @param capacity the maximum number of elements to read ahead
+     * @param mode whether to end the iteration at the first exception
+     * @param <T> The type of the elements
+     * @return an iterator of Either values, each containing either an element or the exception thrown reading it
+     */
+    static <T> EitherIterator<T> prefetching(ThrowingIterator<? extends T> source, Executor executor, int chunkSize, int capacity, FailureMode mode) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("chunkSize must be positive");
+        if (capacity < chunkSize)
+            throw new IllegalArgumentException("capacity must be at least chunkSize");
+        return new PrefetchingIterator<>(new SourceIterator<>(source, mode), executor, chunkSize, capacity);
+    }
+
+    /**
+     * Returns a sequential stream of the values of <code>iterator</code>. Closing the stream closes the iterator.
+     * @param iterator the iterator
+     * @param <T> The type of the elements
+     * @return a stream of Either values
+     */
+    static <T> Stream<Either<Exception, T>> stream(EitherIterator<T> iterator) {
+        Spliterator<Either<Exception, T>> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+}
@@ -0,0 +1,355 @@
+package se.fnord.either;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of Either values, stored in memory mapped segment files in a directory.
+ * <p>
+ * Every record is the length of the encoded value and a CRC-32 of it, followed by the value as written by an
+ * {@link se.fnord.either.EitherCodec}, so its tag byte comes right after the header. A length of zero marks the end of
+ * a segment. When a record does not fit in the current segment, a new segment file is created. For every segment the
+ * log keeps a bit per record telling whether it is a left value, which gives the counts without reading the segments,
+ * and lets {@link #lefts()} and {@link #rights()} skip segments (and segment tails) without any matching records.
+ * Iteration reads record headers straight from the mapped segments and only decodes the values it returns.
+ * <p>
+ * Within a process, the zero after a record is written before its length, and its length after its value, so readers
+ * never see a partial record. The pages of a mapped file may reach the storage device in any order, though, so after a
+ * crash a length may be on disk while the value it covers is not. Opening a log therefore checks every record against
+ * its checksum, and ends the segment at the first record that does not match. Records appended since the last
+ * {@link #force()} may be lost in a crash.
+ * <p>
+ * Appends are serialised; iterators see the records appended before they were created and may be used concurrently
+ * with appends. Segments are unmapped only when the log has been garbage collected, as Java 8 has no way to unmap a
+ * buffer explicitly.
+ *
+ * @param <L> The type of the Either left value
+ * @param <R> The type of the Either right value
+ */
+public final class EitherLog<L, R> implements Iterable<Either<L, R>>, Closeable {
+    private static final String SUFFIX = ".log";
+    // The length and the checksum of the value
+    static final int HEADER = 2 * Integer.BYTES;
+    private static final int ALL = 0;
+    private static final int LEFTS = 1;
+    private static final int RIGHTS = 2;
+
+    private final Path directory;
+    private final EitherCodec<L, R> codec;
+    private final int segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+    // Only used by the appending thread, while holding the log lock
+    private final CRC32 crc = new CRC32();
+    private boolean closed;
+
+    private EitherLog(Path directory, EitherCodec<L, R> codec, int segmentSize) {
+        this.directory = directory;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the log in <code>directory</code>, creating it if needed. The records of existing segment files are
+     * indexed by reading their headers.
+     * @param directory the directory of the segment files
+     * @param codec the codec of the records
+     * @param segmentSize the size in bytes of new segment files
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return the log
+     * @throws IOException if the segment files can not be read or created
+     */
+    public static <L, R> EitherLog<L, R> open(Path directory, EitherCodec<L, R> codec, int segmentSize) throws IOException {
+        if (segmentSize < HEADER + 1)
+            throw new IllegalArgumentException("segmentSize too small");
+        Files.createDirectories(directory);
+        EitherLog<L, R> log = new EitherLog<>(directory, codec, segmentSize);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : stream)
+                files.add(file);
+        }
+        files.sort(null);
+        for (Path file : files)
+            log.segments.add(Segment.recover(map(file, Files.size(file))));
+        return log;
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static final class Segment {
+        final MappedByteBuffer buffer;
+        // Only modified by the appending thread, while holding the log lock
+        int end;
+        int records;
+        int lefts;
+        long[] leftBits = new long[16];
+
+        Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        static Segment recover(MappedByteBuffer buffer) {
+            Segment segment = new Segment(buffer);
+            CRC32 crc = new CRC32();
+            int position = 0;
+            while (buffer.limit() - position >= HEADER + 1) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || length > buffer.limit() - position - HEADER)
+                    break;
+                if (checksum(crc, buffer, position + HEADER, length) != buffer.getInt(position + Integer.BYTES))
+                    break;
+                segment.add(buffer.get(position + HEADER) == EitherCodec.LEFT);
+                position += HEADER + length;
+            }
+            segment.end = position;
+            segment.terminate();
+            return segment;
+        }
+
+        /**
+         * Writes the zero length that ends the segment after its last record, when there is room for it
+         */
+        void terminate() {
+            if (buffer.limit() - end >= Integer.BYTES)
+                buffer.putInt(end, 0);
+        }
+
+        static int checksum(CRC32 crc, ByteBuffer buffer, int offset, int length) {
+            ByteBuffer value = buffer.duplicate();
+            value.limit(offset + length);
+            value.position(offset);
+            crc.reset();
+            crc.update(value);
+            return (int) crc.getValue();
+        }
+
+        void add(boolean left) {
+            int word = records >>> 6;
+            if (word == leftBits.length)
+                leftBits = Arrays.copyOf(leftBits, leftBits.length * 2);
+            if (left) {
+                leftBits[word] |= 1L << records;
+                lefts++;
+            }
+            records++;
+        }
+
+    }
+
+    /**
+     * Appends a record
+     * @param value the value
+     * @throws IOException if a new segment file can not be created
+     * @throws IllegalArgumentException if the encoded value is larger than a segment
+     */
+    public synchronized void append(Either<L, R> value) throws IOException {
+        if (closed)
+            throw new IllegalStateException("log is closed");
+        int length = codec.size(value);
+        if (HEADER + length > segmentSize)
+            throw new IllegalArgumentException("record of " + length + " bytes does not fit in a segment");
+
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.buffer.limit() - segment.end < HEADER + length) {
+            Path file = directory.resolve(String.format("%016d%s", segments.size(), SUFFIX));
+            segment = new Segment(map(file, segmentSize));
+            segments.add(segment);
+        }
+
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(segment.end + HEADER);
+        codec.write(value, buffer);
+        int start = segment.end;
+        segment.buffer.putInt(start + Integer.BYTES, Segment.checksum(crc, segment.buffer, start + HEADER, length));
+        segment.end += HEADER + length;
+        segment.terminate();
+        segment.buffer.putInt(start, length);
+        segment.add(value.isLeft());
+    }
+
+    /**
+     * Writes the records appended so far to the storage device
+     */
+    public synchronized void force() {
+        for (Segment segment : segments)
+            segment.buffer.force();
+    }
+
+    public synchronized long size() {
+        long size = 0;
+        for (Segment segment : segments)
+            size += segment.records;
+        return size;
+    }
+
+    public synchronized long leftCount() {
+        long count = 0;
+        for (Segment segment : segments)
+            count += segment.lefts;
+        return count;
+    }
+
+    public synchronized long rightCount() {
+        return size() - leftCount();
+    }
+
+    /**
+     * @return an iterator over every record, in the order they were appended
+     */
+    @Override
+    public Iterator<Either<L, R>> iterator() {
+        return new Cursor<Either<L, R>>(ALL) {
+            @Override
+            Either<L, R> decode(ByteBuffer buffer) {
+                return codec.read(buffer);
+            }
+        };
+    }
+
+    /**
+     * @return an iterator over the left values, in the order they were appended
+     */
+    public Iterator<L> lefts() {
+        return new Cursor<L>(LEFTS) {
+            @Override
+            L decode(ByteBuffer buffer) {
+                buffer.position(buffer.position() + 1);
+                return codec.leftCodec().read(buffer);
+            }
+        };
+    }
+
+    /**
+     * @return an iterator over the right values, in the order they were appended
+     */
+    public Iterator<R> rights() {
+        return new Cursor<R>(RIGHTS) {
+            @Override
+            R decode(ByteBuffer buffer) {
+                buffer.position(buffer.position() + 1);
+                return codec.rightCodec().read(buffer);
+            }
+        };
+    }
+
+    /**
+     * Walks the records of a snapshot of the segments, stopping at records of the wanted side. The record counts
+     * and tag bit arrays are taken under the log lock, as the appending thread keeps updating them.
+     */
+    private abstract class Cursor<T> implements Iterator<T> {
+        private final int side;
+        private final ByteBuffer[] buffers;
+        private final int[] records;
+        private final int[] lefts;
+        private final long[][] leftBits;
+        private int segment = -1;
+        private ByteBuffer buffer;
+        private int record;
+        private int position;
+
+        Cursor(int side) {
+            this.side = side;
+            synchronized (EitherLog.this) {
+                int n = segments.size();
+                buffers = new ByteBuffer[n];
+                records = new int[n];
+                lefts = new int[n];
+                leftBits = new long[n][];
+                for (int i = 0; i < n; i++) {
+                    Segment s = segments.get(i);
+                    buffers[i] = s.buffer;
+                    records[i] = s.records;
+                    lefts[i] = s.lefts;
+                    leftBits[i] = s.leftBits;
+                }
+            }
+            advance();
+        }
+
+        abstract T decode(ByteBuffer buffer);
+
+        private boolean wanted(int r) {
+            if (side == ALL)
+                return true;
+            boolean left = (leftBits[segment][r >>> 6] & (1L << r)) != 0;
+            return left == (side == LEFTS);
+        }
+
+        private int matching(int s) {
+            if (side == ALL)
+                return records[s];
+            return side == LEFTS ? lefts[s] : records[s] - lefts[s];
+        }
+
+        private void advance() {
+            while (true) {
+                if (buffer != null) {
+                    while (record < records[segment] && !wanted(record)) {
+                        position += HEADER + buffer.getInt(position);
+                        record++;
+                    }
+                    if (record < records[segment])
+                        return;
+                }
+                do {
+                    segment++;
+                } while (segment < buffers.length && matching(segment) == 0);
+                if (segment == buffers.length) {
+                    buffer = null;
+                    return;
+                }
+                buffer = buffers[segment].duplicate();
+                record = 0;
+                position = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return buffer != null;
+        }
+
+        @Override
+        public T next() {
+            if (buffer == null)
+                throw new NoSuchElementException();
+            int length = buffer.getInt(position);
+            buffer.limit(position + HEADER + length);
+            buffer.position(position + HEADER);
+            T value = decode(buffer);
+            buffer.limit(buffer.capacity());
+            position += HEADER + length;
+            record++;
+            advance();
+            return value;
+        }
+    }
+
+    /**
+     * Closes the log for appending. The mapped segments are released once the log and its iterators are no longer
+     * reachable.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        force();
+    }
+}
@@ -0,0 +1,55 @@
+package se.fnord.either;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of {@link se.fnord.either.CallMetrics}, one per instrumented name. Functions instrumented with the same
+ * name in the same registry share their counters.
+ */
+public final class EitherMetrics {
+    private static final EitherMetrics GLOBAL = new EitherMetrics();
+
+    private final ConcurrentHashMap<String, CallMetrics> metrics = new ConcurrentHashMap<>();
+
+    private EitherMetrics() {
+    }
+
+    /**
+     * @return the registry used by {@link se.fnord.either.EitherOps#instrumented(String, java.util.function.Function)}
+     */
+    public static EitherMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Creates a new, empty registry
+     * @return a registry
+     */
+    public static EitherMetrics create() {
+        return new EitherMetrics();
+    }
+
+    /**
+     * Returns the metrics registered with <code>name</code>, registering them if needed
+     * @param name the name
+     * @return the metrics
+     */
+    public CallMetrics metrics(String name) {
+        CallMetrics m = metrics.get(name);
+        if (m != null)
+            return m;
+        return metrics.computeIfAbsent(name, CallMetrics::new);
+    }
+
+    /**
+     * @return a snapshot of every registered name, ordered by name
+     */
+    public Map<String, CallMetrics.Snapshot> snapshot() {
+        Map<String, CallMetrics.Snapshot> snapshots = new TreeMap<>();
+        metrics.forEach((name, m) -> snapshots.put(name, m.snapshot()));
+        return Collections.unmodifiableMap(snapshots);
+    }
+}
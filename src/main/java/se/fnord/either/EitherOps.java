@@ -1,6 +1,10 @@
 package se.fnord.either;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -30,6 +34,233 @@ public interface EitherOps {
         return (T t, U u) -> Either.fromBiFunction(function, t, u);
     }
 
+    static <L> CapturePolicy.Builder<L> capturing() {
+        return CapturePolicy.builder();
+    }
+
+    static <L, V> Supplier<Either<L, V>> fromThrowingSupplier(ThrowingSupplier<? extends V> supplier, CapturePolicy<L> policy) {
+        return () -> policy.fromSupplier(supplier);
+    }
+
+    static <L, T, R> Function<T, Either<L, R>> fromThrowingFunction(ThrowingFunction<? super T, ? extends R> function, CapturePolicy<L> policy) {
+        return (T t) -> policy.fromFunction(function, t);
+    }
+
+    static <L, T, U, R> BiFunction<T, U, Either<L, R>> fromThrowingBiFunction(ThrowingBiFunction<? super T, ? super U, ? extends R> function, CapturePolicy<L> policy) {
+        return (T t, U u) -> policy.fromBiFunction(function, t, u);
+    }
+
+    /**
+     * Applies <code>function</code> to every input on <code>executor</code>, running at most <code>maxConcurrency</code>
+     * calls at a time. The calling thread blocks until all calls have completed, which makes this well suited for
+     * running on virtual threads.
+     * @param inputs the inputs
+     * @param function a {@link se.fnord.either.ThrowingFunction} to apply to every input
+     * @param maxConcurrency the maximum number of concurrent calls
+     * @param executor the {@link java.util.concurrent.Executor} to run the calls on
+     * @param <T> The parameter type of the function
+     * @param <R> The return type of the function
+     * @return a list containing, for every input in iteration order, either the value returned by the function, or the exception thrown
+     * @throws InterruptedException if interrupted while waiting. Calls already submitted are not cancelled.
+     */
+    static <T, R> List<Either<Exception, R>> traverseConcurrent(Collection<? extends T> inputs, ThrowingFunction<? super T, ? extends R> function, int maxConcurrency, Executor executor) throws InterruptedException {
+        return ConcurrentTraversal.traverse(inputs, function, maxConcurrency, executor, false);
+    }
+
+    /**
+     * Applies <code>function</code> to every input on <code>executor</code>, running at most <code>maxConcurrency</code>
+     * calls at a time, as {@link #traverseConcurrent(java.util.Collection, se.fnord.either.ThrowingFunction, int, java.util.concurrent.Executor)}.
+     * If <code>failFast</code> is set, no further calls are started once a call has failed; the inputs that were never
+     * called get a {@link java.util.concurrent.CancellationException} as their left value.
+     * @param inputs the inputs
+     * @param function a {@link se.fnord.either.ThrowingFunction} to apply to every input
+     * @param maxConcurrency the maximum number of concurrent calls
+     * @param executor the {@link java.util.concurrent.Executor} to run the calls on
+     * @param failFast whether to stop starting calls after the first failure
+     * @param <T> The parameter type of the function
+     * @param <R> The return type of the function
+     * @return a list containing, for every input in iteration order, either the value returned by the function, or the exception thrown
+     * @throws InterruptedException if interrupted while waiting. Calls already submitted are not cancelled.
+     */
+    static <T, R> List<Either<Exception, R>> traverseConcurrent(Collection<? extends T> inputs, ThrowingFunction<? super T, ? extends R> function, int maxConcurrency, Executor executor, boolean failFast) throws InterruptedException {
+        return ConcurrentTraversal.traverse(inputs, function, maxConcurrency, executor, failFast);
+    }
+
+    /**
+     * Creates a function caching the results of <code>function</code> according to <code>policy</code>. Both
+     * returned values and thrown exceptions are cached, each with their own time-to-live. Concurrent calls for a key
+     * that is not cached share a single call to <code>function</code>, made on the thread that first asked for it.
+     * <code>function</code> may call the cache, but a call for a key it is already loading on the same thread throws an
+     * {@link IllegalStateException} rather than waiting for itself.
+     * @param function a {@link se.fnord.either.ThrowingFunction} that, when invoked with a key, returns a value or throws an exception
+     * @param policy the size bound and expiry of the cache
+     * @param <K> The parameter type of the function
+     * @param <V> The return type of the function
+     * @return a function returning either the, possibly cached, value returned by <code>function</code>, or the exception thrown
+     */
+    static <K, V> Function<K, Either<Exception, V>> cached(ThrowingFunction<? super K, ? extends V> function, CachePolicy policy) {
+        return new EitherCache<>(function, policy);
+    }
+
+    /**
+     * Instruments <code>function</code>, recording the latency and result, or the throw, of every call in the metrics registered as
+     * <code>name</code> in the {@link se.fnord.either.EitherMetrics#global() global registry}
+     * @param name the name of the metrics
+     * @param function a {@link java.util.function.Function} returning an Either value
+     * @param <T> The parameter type of the function
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a function returning the values returned by <code>function</code>
+     */
+    static <T, L, R> Function<T, Either<L, R>> instrumented(String name, Function<? super T, ? extends Either<L, R>> function) {
+        return instrumented(EitherMetrics.global(), name, function);
+    }
+
+    /**
+     * Instruments <code>function</code>, recording the latency and result, or the throw, of every call in the metrics registered as
+     * <code>name</code> in <code>registry</code>
+     * @param registry the registry
+     * @param name the name of the metrics
+     * @param function a {@link java.util.function.Function} returning an Either value
+     * @param <T> The parameter type of the function
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a function returning the values returned by <code>function</code>
+     */
+    static <T, L, R> Function<T, Either<L, R>> instrumented(EitherMetrics registry, String name, Function<? super T, ? extends Either<L, R>> function) {
+        CallMetrics metrics = registry.metrics(name);
+        return t -> {
+            long start = System.nanoTime();
+            Either<L, R> result;
+            try {
+                result = function.apply(t);
+            }
+            catch (Throwable x) {
+                metrics.recordThrown(System.nanoTime() - start);
+                throw x;
+            }
+            metrics.record(result, System.nanoTime() - start);
+            return result;
+        };
+    }
+
+    /**
+     * Instruments <code>supplier</code>, recording the latency and result, or the throw, of every call in the metrics registered as
+     * <code>name</code> in the {@link se.fnord.either.EitherMetrics#global() global registry}
+     * @param name the name of the metrics
+     * @param supplier a {@link java.util.function.Supplier} returning an Either value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a supplier returning the values returned by <code>supplier</code>
+     */
+    static <L, R> Supplier<Either<L, R>> instrumentedSupplier(String name, Supplier<? extends Either<L, R>> supplier) {
+        return instrumentedSupplier(EitherMetrics.global(), name, supplier);
+    }
+
+    /**
+     * Instruments <code>supplier</code>, recording the latency and result, or the throw, of every call in the metrics registered as
+     * <code>name</code> in <code>registry</code>
+     * @param registry the registry
+     * @param name the name of the metrics
+     * @param supplier a {@link java.util.function.Supplier} returning an Either value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a supplier returning the values returned by <code>supplier</code>
+     */
+    static <L, R> Supplier<Either<L, R>> instrumentedSupplier(EitherMetrics registry, String name, Supplier<? extends Either<L, R>> supplier) {
+        CallMetrics metrics = registry.metrics(name);
+        return () -> {
+            long start = System.nanoTime();
+            Either<L, R> result;
+            try {
+                result = supplier.get();
+            }
+            catch (Throwable x) {
+                metrics.recordThrown(System.nanoTime() - start);
+                throw x;
+            }
+            metrics.record(result, System.nanoTime() - start);
+            return result;
+        };
+    }
+
+    /**
+     * Decorates <code>function</code> to retry calls returning a left value according to <code>policy</code>. The
+     * calling thread sleeps between attempts, which is cheap on a virtual thread; use
+     * {@link #retryingAsync(java.util.function.Function, se.fnord.either.RetryPolicy, java.util.concurrent.ScheduledExecutorService)}
+     * to avoid blocking. An interrupt ends the retries, returning the last result.
+     * @param function a {@link java.util.function.Function} returning an Either value
+     * @param policy the retry policy
+     * @param <T> The parameter type of the function
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a function returning the first right value, or the last left value, returned by <code>function</code>
+     */
+    static <T, L, R> Function<T, Either<L, R>> retrying(Function<? super T, ? extends Either<L, R>> function, RetryPolicy<? super L> policy) {
+        return t -> policy.call(function, t);
+    }
+
+    /**
+     * Decorates <code>function</code> to retry calls completing with a left value according to <code>policy</code>.
+     * Retries are scheduled on <code>scheduler</code>, so no thread is blocked between attempts. If the scheduler
+     * rejects a retry, the last left value is the result. An exception thrown by <code>function</code>, on the first
+     * attempt as on later ones, completes the returned AsyncEither exceptionally rather than being thrown.
+     * @param function a {@link java.util.function.Function} returning an AsyncEither value
+     * @param policy the retry policy
+     * @param scheduler the {@link java.util.concurrent.ScheduledExecutorService} to schedule retries on
+     * @param <T> The parameter type of the function
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a function returning an AsyncEither completing with the first right value, or the last left value, of <code>function</code>
+     */
+    static <T, L, R> Function<T, AsyncEither<L, R>> retryingAsync(Function<? super T, ? extends AsyncEither<L, R>> function, RetryPolicy<? super L> policy, ScheduledExecutorService scheduler) {
+        return t -> policy.callAsync(function, t, scheduler);
+    }
+
+    /**
+     * Decorates <code>function</code> with <code>breaker</code>. While the breaker is open, calls are not made and
+     * return a shared {@link se.fnord.either.CircuitBreakerOpenException} as the left value.
+     * @param function a {@link java.util.function.Function} returning an Either value
+     * @param breaker the circuit breaker
+     * @param <T> The parameter type of the function
+     * @param <R> The type of the Either right value
+     * @return a function returning the value returned by <code>function</code>, or a left value if the breaker is open
+     */
+    @SuppressWarnings("unchecked")
+    static <T, R> Function<T, Either<Exception, R>> circuitBroken(Function<? super T, ? extends Either<? extends Exception, ? extends R>> function, CircuitBreaker breaker) {
+        return breaker.decorate((Function<? super T, Either<Exception, R>>) function, breaker.rejected());
+    }
+
+    /**
+     * Decorates <code>function</code> with <code>breaker</code>. While the breaker is open, calls are not made and
+     * return <code>whenOpen</code> as the left value.
+     * @param function a {@link java.util.function.Function} returning an Either value
+     * @param breaker the circuit breaker
+     * @param whenOpen the left value of rejected calls
+     * @param <T> The parameter type of the function
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a function returning the value returned by <code>function</code>, or <code>whenOpen</code> if the breaker is open
+     */
+    static <T, L, R> Function<T, Either<L, R>> circuitBroken(Function<? super T, ? extends Either<L, R>> function, CircuitBreaker breaker, L whenOpen) {
+        return breaker.decorate(function, Either.left(whenOpen));
+    }
+
+    /**
+     * Decorates <code>function</code> with <code>breaker</code>, as
+     * {@link #circuitBroken(java.util.function.Function, se.fnord.either.CircuitBreaker)}. A call is recorded when
+     * its AsyncEither completes.
+     * @param function a {@link java.util.function.Function} returning an AsyncEither value
+     * @param breaker the circuit breaker
+     * @param <T> The parameter type of the function
+     * @param <R> The type of the Either right value
+     * @return a function returning the value returned by <code>function</code>, or a completed left value if the breaker is open
+     */
+    @SuppressWarnings("unchecked")
+    static <T, R> Function<T, AsyncEither<Exception, R>> circuitBrokenAsync(Function<? super T, ? extends AsyncEither<? extends Exception, ? extends R>> function, CircuitBreaker breaker) {
+        return breaker.decorateAsync((Function<? super T, AsyncEither<Exception, R>>) function, breaker.rejected());
+    }
+
     static <L, R> Function<Optional<? extends R>, Either<L, R>> fromOption(Supplier<? extends L> orElse) {
         return o -> Either.fromOption(o, orElse);
     }
@@ -0,0 +1,174 @@
+package se.fnord.either;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds a chain of map and flatMap stages into a single {@link se.fnord.either.EitherF}.
+ * <p>
+ * Composing {@link se.fnord.either.EitherOps} functions with <code>andThen</code> creates an intermediate Either for
+ * every stage. A built pipeline instead unwraps its input once, runs the value through the stages and only creates an
+ * Either at the end, and only if a map stage changed the value after the last flatMap. Consecutive map stages are
+ * fused: since left and right map stages never affect each other, every run of map stages between two flatMap stages
+ * is executed as one array of functions for the side that is present.
+ * <p>
+ * Builders are immutable; every stage method returns a new builder.
+ *
+ * @param <L> The type of the left value of the pipeline input
+ * @param <R> The type of the right value of the pipeline input
+ * @param <LL> The type of the left value of the pipeline output
+ * @param <RR> The type of the right value of the pipeline output
+ */
+public final class EitherPipeline<L, R, LL, RR> {
+    private static final int MAP_LEFT = 0;
+    private static final int MAP_RIGHT = 1;
+    private static final int FLAT_MAP_LEFT = 2;
+    private static final int FLAT_MAP_RIGHT = 3;
+
+    private static final EitherPipeline<?, ?, ?, ?> START = new EitherPipeline<>(null, -1, null);
+
+    private final EitherPipeline<L, R, ?, ?> previous;
+    private final int kind;
+    private final Function<Object, Object> f;
+
+    private EitherPipeline(EitherPipeline<L, R, ?, ?> previous, int kind, Function<Object, Object> f) {
+        this.previous = previous;
+        this.kind = kind;
+        this.f = f;
+    }
+
+    /**
+     * Creates an empty pipeline
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a pipeline without stages
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> EitherPipeline<L, R, L, R> start() {
+        return (EitherPipeline<L, R, L, R>) START;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <LLL, RRR> EitherPipeline<L, R, LLL, RRR> then(int kind, Function<?, ?> f) {
+        return new EitherPipeline<>(this, kind, (Function<Object, Object>) f);
+    }
+
+    public <RRR> EitherPipeline<L, R, LL, RRR> map(Function<? super RR, ? extends RRR> f) {
+        return rightMap(f);
+    }
+
+    public <RRR> EitherPipeline<L, R, LL, RRR> rightMap(Function<? super RR, ? extends RRR> f) {
+        return then(MAP_RIGHT, f);
+    }
+
+    public <LLL> EitherPipeline<L, R, LLL, RR> leftMap(Function<? super LL, ? extends LLL> f) {
+        return then(MAP_LEFT, f);
+    }
+
+    public <LLL, RRR> EitherPipeline<L, R, LLL, RRR> bimap(Function<? super LL, ? extends LLL> fl, Function<? super RR, ? extends RRR> fr) {
+        return this.<LLL>leftMap(fl).rightMap(fr);
+    }
+
+    public <RRR> EitherPipeline<L, R, LL, RRR> flatMap(Function<? super RR, Either<? extends LL, ? extends RRR>> f) {
+        return rightFlatMap(f);
+    }
+
+    public <RRR> EitherPipeline<L, R, LL, RRR> rightFlatMap(Function<? super RR, Either<? extends LL, ? extends RRR>> f) {
+        return then(FLAT_MAP_RIGHT, f);
+    }
+
+    public <LLL> EitherPipeline<L, R, LLL, RR> leftFlatMap(Function<? super LL, Either<? extends LLL, ? extends RR>> f) {
+        return then(FLAT_MAP_LEFT, f);
+    }
+
+    /**
+     * Builds the pipeline into a single function
+     * @return an {@link se.fnord.either.EitherF} that runs all the stages of this pipeline
+     */
+    public EitherF<L, R, LL, RR> build() {
+        Deque<EitherPipeline<L, R, ?, ?>> stages = new ArrayDeque<>();
+        for (EitherPipeline<L, R, ?, ?> p = this; p != START; p = p.previous)
+            stages.push(p);
+
+        List<Segment> segments = new ArrayList<>();
+        List<Function<Object, Object>> leftFns = new ArrayList<>();
+        List<Function<Object, Object>> rightFns = new ArrayList<>();
+        for (EitherPipeline<L, R, ?, ?> stage : stages) {
+            switch (stage.kind) {
+                case MAP_LEFT:
+                    leftFns.add(stage.f);
+                    break;
+                case MAP_RIGHT:
+                    rightFns.add(stage.f);
+                    break;
+                default:
+                    segments.add(new Segment(leftFns, rightFns, stage.kind == FLAT_MAP_LEFT, stage.f));
+                    leftFns.clear();
+                    rightFns.clear();
+                    break;
+            }
+        }
+        if (!leftFns.isEmpty() || !rightFns.isEmpty())
+            segments.add(new Segment(leftFns, rightFns, false, null));
+
+        return new Fused<>(segments.toArray(new Segment[0]));
+    }
+
+    /**
+     * A run of fused map stages, optionally followed by a single flatMap stage.
+     */
+    private static final class Segment {
+        private static final Function<?, ?>[] NONE = new Function<?, ?>[0];
+
+        final Function<Object, Object>[] leftFns;
+        final Function<Object, Object>[] rightFns;
+        final boolean flatMapLeft;
+        final Function<Object, Object> flatMap;
+
+        @SuppressWarnings("unchecked")
+        Segment(List<Function<Object, Object>> leftFns, List<Function<Object, Object>> rightFns, boolean flatMapLeft, Function<Object, Object> flatMap) {
+            this.leftFns = (Function<Object, Object>[]) leftFns.toArray(NONE);
+            this.rightFns = (Function<Object, Object>[]) rightFns.toArray(NONE);
+            this.flatMapLeft = flatMapLeft;
+            this.flatMap = flatMap;
+        }
+    }
+
+    private static final class Fused<L, R, LL, RR> implements EitherF<L, R, LL, RR> {
+        private final Segment[] segments;
+
+        Fused(Segment[] segments) {
+            this.segments = segments;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Either<LL, RR> apply(Either<L, R> e) {
+            boolean left = e.isLeft();
+            Object value = e.value();
+            // The last Either seen that still holds the current value, or null if the value has been mapped since
+            Either<?, ?> current = e;
+
+            for (Segment segment : segments) {
+                Function<Object, Object>[] fns = left ? segment.leftFns : segment.rightFns;
+                if (fns.length > 0) {
+                    for (Function<Object, Object> f : fns)
+                        value = f.apply(value);
+                    current = null;
+                }
+                if (segment.flatMap != null && segment.flatMapLeft == left) {
+                    current = (Either<?, ?>) segment.flatMap.apply(value);
+                    left = current.isLeft();
+                    value = current.value();
+                }
+            }
+
+            if (current != null)
+                return (Either<LL, RR>) current;
+            return left ? Either.left((LL) value) : Either.right((RR) value);
+        }
+    }
+}
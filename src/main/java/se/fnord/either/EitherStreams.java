@@ -0,0 +1,49 @@
+package se.fnord.either;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public interface EitherStreams {
+    /**
+     * Returns a stream of the right values of <code>stream</code>, ending at the first left value. Once a left value
+     * has been seen no further elements are pulled from <code>stream</code>, and the left value is passed to
+     * <code>onLeft</code>.
+     * <p>
+     * On a parallel stream a left value seen by any worker stops all of them, but it is not necessarily the first
+     * left value in encounter order, and right values following it in encounter order may already have been emitted.
+     * <code>onLeft</code> is invoked at most once.
+     * @param stream a stream of Either values
+     * @param onLeft a {@link java.util.function.Consumer} receiving the left value that stopped the stream
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return a stream of right values
+     */
+    static <L, R> Stream<R> takeRightsUntilLeft(Stream<? extends Either<? extends L, ? extends R>> stream, Consumer<? super L> onLeft) {
+        return UntilLeftSpliterator.stream(stream, new UntilLeftSpliterator.Stop<>(onLeft));
+    }
+
+    /**
+     * Turns a stream of Either values into a single Either, without draining the stream past the first left value.
+     * The result is the first left value seen, or a list of all right values if there were no left values. Unlike
+     * {@link se.fnord.either.EitherCollectors#sequence()}, no further elements are pulled from <code>stream</code>
+     * once a left value has been seen.
+     * <p>
+     * On a parallel stream the left value is whichever one was seen first by any of the workers.
+     * @param stream a stream of Either values
+     * @param <L> The type of the Either left values
+     * @param <R> The type of the Either right values
+     * @return an Either value containing either a left value, or the list of all right values
+     */
+    @SuppressWarnings("unchecked")
+    static <L, R> Either<L, List<R>> sequenceLazy(Stream<? extends Either<? extends L, ? extends R>> stream) {
+        UntilLeftSpliterator.Stop<L> stop = new UntilLeftSpliterator.Stop<>(l -> {});
+        List<R> rights;
+        try (Stream<R> s = UntilLeftSpliterator.stream(stream, stop)) {
+            rights = s.collect(Collectors.toList());
+        }
+        Either<? extends L, ?> left = stop.left();
+        return left != null ? (Either<L, List<R>>) left : Either.right(rights);
+    }
+}
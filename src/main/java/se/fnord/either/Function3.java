@@ -0,0 +1,6 @@
+package se.fnord.either;
+
+@FunctionalInterface
+public interface Function3<T, U, V, R> {
+    R apply(T t, U u, V v);
+}
@@ -0,0 +1,6 @@
+package se.fnord.either;
+
+@FunctionalInterface
+public interface Function4<T, U, V, W, R> {
+    R apply(T t, U u, V v, W w);
+}
@@ -0,0 +1,120 @@
+package se.fnord.either;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An {@link se.fnord.either.Either} specialised for <code>int</code> right values, avoiding boxing them.
+ *
+ * @param <L> The type of the left value
+ */
+public interface IntEither<L> {
+    /**
+     * Creates an IntEither value containing either the value returned by the supplier as the right value, or the exception thrown as the left value
+     * @param supplier a {@link java.util.function.IntSupplier} that, when invoked, returns an int or throws an exception
+     * @return an IntEither value containing either the value returned by the supplier, or the exception thrown
+     */
+    static IntEither<RuntimeException> fromSupplier(IntSupplier supplier) {
+        try {
+            return right(supplier.getAsInt());
+        }
+        catch (RuntimeException e) {
+            return left(e);
+        }
+    }
+
+    /**
+     * Creates an IntEither value containing either the value returned by the supplier as the right value, or the exception thrown as the left value
+     * @param supplier a {@link se.fnord.either.ThrowingIntSupplier} that, when invoked, returns an int or throws an exception
+     * @return an IntEither value containing either the value returned by the supplier, or the exception thrown
+     */
+    static IntEither<Exception> fromSupplier(ThrowingIntSupplier supplier) {
+        try {
+            return right(supplier.getAsInt());
+        }
+        catch (Exception e) {
+            return left(e);
+        }
+    }
+
+    /**
+     * Creates an IntEither value containing either the value returned by the function as the right value, or the exception thrown as the left value
+     * @param function a {@link java.util.function.ToIntFunction} that, when invoked with a value of type T, returns an int or throws an exception
+     * @param <T> The parameter type of the function
+     * @return an IntEither value containing either the value returned by the function, or the exception thrown
+     */
+    static <T> IntEither<RuntimeException> fromFunction(ToIntFunction<? super T> function, T t) {
+        try {
+            return right(function.applyAsInt(t));
+        }
+        catch (RuntimeException e) {
+            return left(e);
+        }
+    }
+
+    /**
+     * Creates an IntEither value from an Either value with a boxed right value
+     * @param either the Either value
+     * @param <LL> The type of the left value
+     * @return an IntEither value containing the same left value, or the unboxed right value
+     * @throws NullPointerException if <code>either</code> is a right value holding null, which has no <code>int</code> value
+     */
+    static <LL> IntEither<LL> fromEither(Either<? extends LL, Integer> either) {
+        return either.fold(IntEither::left, r -> right(Objects.requireNonNull(r, "Right value is null and cannot be unboxed to int")));
+    }
+
+    /**
+     * Creates a left IntEither value
+     * @param value the value.
+     * @param <LL> The type of the left value
+     * @return a left IntEither value
+     */
+    static <LL> IntEither<LL> left(LL value) {
+        return new IntLeft<>(value);
+    }
+
+    /**
+     * Creates a right IntEither value
+     * @param value the value.
+     * @param <LL> The type of the left value
+     * @return a right IntEither value
+     */
+    static <LL> IntEither<LL> right(int value) {
+        return new IntRight<>(value);
+    }
+
+    /**
+     * Converts this value to an Either, boxing the right value
+     * @return an Either value containing the same left value, or the boxed right value
+     */
+    Either<L, Integer> toEither();
+
+    IntEither<L> mapToInt(IntUnaryOperator f);
+    <RR> Either<L, RR> mapToObj(IntFunction<? extends RR> f);
+    <LL> IntEither<LL> leftMap(Function<? super L, ? extends LL> f);
+
+    IntEither<L> flatMapToInt(IntFunction<IntEither<? extends L>> f);
+
+    int foldInt(ToIntFunction<? super L> fl, IntUnaryOperator fr);
+    <V> V fold(Function<? super L, ? extends V> fl, IntFunction<? extends V> fr);
+
+    IntStream stream();
+    Stream<L> leftStream();
+
+    OptionalInt option();
+    Optional<L> leftOption();
+
+    int orElseInt(ToIntFunction<? super L> f);
+    int orElseInt(int v);
+
+    boolean isLeft();
+    boolean isRight();
+}
@@ -0,0 +1,114 @@
+package se.fnord.either;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+final class IntLeft<L> implements IntEither<L> {
+    private final L l;
+
+    IntLeft(L l) {
+        this.l = l;
+    }
+
+    @Override
+    public Either<L, Integer> toEither() {
+        return Either.left(l);
+    }
+
+    @Override
+    public IntEither<L> mapToInt(IntUnaryOperator f) {
+        return this;
+    }
+
+    @Override
+    public <RR> Either<L, RR> mapToObj(IntFunction<? extends RR> f) {
+        return Either.left(l);
+    }
+
+    @Override
+    public <LL> IntEither<LL> leftMap(Function<? super L, ? extends LL> f) {
+        return IntEither.left(f.apply(l));
+    }
+
+    @Override
+    public IntEither<L> flatMapToInt(IntFunction<IntEither<? extends L>> f) {
+        return this;
+    }
+
+    @Override
+    public int foldInt(ToIntFunction<? super L> fl, IntUnaryOperator fr) {
+        return fl.applyAsInt(l);
+    }
+
+    @Override
+    public <V> V fold(Function<? super L, ? extends V> fl, IntFunction<? extends V> fr) {
+        return fl.apply(l);
+    }
+
+    @Override
+    public IntStream stream() {
+        return IntStream.empty();
+    }
+
+    @Override
+    public Stream<L> leftStream() {
+        return Stream.of(l);
+    }
+
+    @Override
+    public OptionalInt option() {
+        return OptionalInt.empty();
+    }
+
+    @Override
+    public Optional<L> leftOption() {
+        return Optional.of(l);
+    }
+
+    @Override
+    public int orElseInt(ToIntFunction<? super L> f) {
+        return f.applyAsInt(l);
+    }
+
+    @Override
+    public int orElseInt(int v) {
+        return v;
+    }
+
+    @Override
+    public boolean isLeft() {
+        return true;
+    }
+
+    @Override
+    public boolean isRight() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "left<" + l + ">";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        IntLeft<?> left = (IntLeft<?>) o;
+
+        return Objects.equals(l, left.l);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(l);
+    }
+}
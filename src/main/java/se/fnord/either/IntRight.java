@@ -0,0 +1,115 @@
+package se.fnord.either;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+final class IntRight<L> implements IntEither<L> {
+    private final int r;
+
+    IntRight(int r) {
+        this.r = r;
+    }
+
+    @Override
+    public Either<L, Integer> toEither() {
+        return Either.right(r);
+    }
+
+    @Override
+    public IntEither<L> mapToInt(IntUnaryOperator f) {
+        return IntEither.right(f.applyAsInt(r));
+    }
+
+    @Override
+    public <RR> Either<L, RR> mapToObj(IntFunction<? extends RR> f) {
+        return Either.right(f.apply(r));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <LL> IntEither<LL> leftMap(Function<? super L, ? extends LL> f) {
+        return (IntEither<LL>) this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public IntEither<L> flatMapToInt(IntFunction<IntEither<? extends L>> f) {
+        return (IntEither<L>) f.apply(r);
+    }
+
+    @Override
+    public int foldInt(ToIntFunction<? super L> fl, IntUnaryOperator fr) {
+        return fr.applyAsInt(r);
+    }
+
+    @Override
+    public <V> V fold(Function<? super L, ? extends V> fl, IntFunction<? extends V> fr) {
+        return fr.apply(r);
+    }
+
+    @Override
+    public IntStream stream() {
+        return IntStream.of(r);
+    }
+
+    @Override
+    public Stream<L> leftStream() {
+        return Stream.empty();
+    }
+
+    @Override
+    public OptionalInt option() {
+        return OptionalInt.of(r);
+    }
+
+    @Override
+    public Optional<L> leftOption() {
+        return Optional.empty();
+    }
+
+    @Override
+    public int orElseInt(ToIntFunction<? super L> f) {
+        return r;
+    }
+
+    @Override
+    public int orElseInt(int v) {
+        return r;
+    }
+
+    @Override
+    public boolean isLeft() {
+        return false;
+    }
+
+    @Override
+    public boolean isRight() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "right<" + r + ">";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        IntRight<?> right = (IntRight<?>) o;
+
+        return r == right.r;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(r);
+    }
+}
@@ -0,0 +1,48 @@
+package se.fnord.either;
+
+/**
+ * The values for which {@link Left} and {@link Right} keep a shared instance: null, {@link Boolean#TRUE},
+ * {@link Boolean#FALSE} and the {@link Integer} values from -128 to 127. Each value has a fixed slot, so that both
+ * sides can keep their instances in a plain array.
+ */
+final class Interned {
+    private static final int LOW = -128;
+    private static final int HIGH = 127;
+    private static final int INTEGERS = 3;
+
+    static final int SIZE = INTEGERS + HIGH - LOW + 1;
+
+    private Interned() {
+    }
+
+    static Object value(int slot) {
+        switch (slot) {
+            case 0: return null;
+            case 1: return Boolean.TRUE;
+            case 2: return Boolean.FALSE;
+            default: return Integer.valueOf(slot - INTEGERS + LOW);
+        }
+    }
+
+    /**
+     * Finds the slot of a value. Integers only have a slot if they are the instance returned by
+     * {@link Integer#valueOf(int)}, so that the value held by a shared instance is always the very value passed in.
+     *
+     * @param value the value
+     * @return the slot of the value, or -1 if the value is not interned
+     */
+    static int slot(Object value) {
+        if (value == null)
+            return 0;
+        if (value == Boolean.TRUE)
+            return 1;
+        if (value == Boolean.FALSE)
+            return 2;
+        if (value instanceof Integer) {
+            int i = (Integer) value;
+            if (i >= LOW && i <= HIGH && value == Integer.valueOf(i))
+                return INTEGERS + i - LOW;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,117 @@
+package se.fnord.either;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+final class Invalid<E, A> implements Validated<E, A> {
+    private final Object[] errors;
+
+    Invalid(Object[] errors) {
+        this.errors = errors;
+    }
+
+    @SafeVarargs
+    static <E, R> Validated<E, R> concat(Validated<E, ?>... parts) {
+        int size = 0;
+        for (Validated<E, ?> part : parts) {
+            if (part.isInvalid())
+                size += ((Invalid<E, ?>) part).errors.length;
+        }
+        Object[] errors = new Object[size];
+        int i = 0;
+        for (Validated<E, ?> part : parts) {
+            if (part.isInvalid()) {
+                Object[] e = ((Invalid<E, ?>) part).errors;
+                System.arraycopy(e, 0, errors, i, e.length);
+                i += e.length;
+            }
+        }
+        return new Invalid<>(errors);
+    }
+
+    Object[] errorArray() {
+        return errors;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <B> Validated<E, B> map(Function<? super A, ? extends B> f) {
+        return (Validated<E, B>) this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <EE> Validated<EE, A> mapErrors(Function<? super E, ? extends EE> f) {
+        Object[] mapped = new Object[errors.length];
+        for (int i = 0; i < errors.length; i++)
+            mapped[i] = f.apply((E) errors[i]);
+        return new Invalid<>(mapped);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <B, R> Validated<E, R> zip(Validated<E, B> other, BiFunction<? super A, ? super B, ? extends R> f) {
+        if (other.isValid())
+            return (Validated<E, R>) this;
+        return concat(this, other);
+    }
+
+    @Override
+    public <V> V fold(Function<? super List<E>, ? extends V> fe, Function<? super A, ? extends V> fa) {
+        return fe.apply(errors());
+    }
+
+    @Override
+    public Either<List<E>, A> toEither() {
+        return Either.left(errors());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<E> errors() {
+        return (List<E>) Collections.unmodifiableList(Arrays.asList(errors));
+    }
+
+    @Override
+    public A orElse(Function<? super List<E>, ? extends A> f) {
+        return f.apply(errors());
+    }
+
+    @Override
+    public A orElse(A v) {
+        return v;
+    }
+
+    @Override
+    public boolean isValid() {
+        return false;
+    }
+
+    @Override
+    public boolean isInvalid() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "invalid<" + Arrays.toString(errors) + ">";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Invalid<?, ?> invalid = (Invalid<?, ?>) o;
+
+        return Arrays.equals(errors, invalid.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(errors);
+    }
+}
@@ -0,0 +1,201 @@
+package se.fnord.either;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An Either value that is computed the first time it is needed.
+ * <p>
+ * {@link #map(java.util.function.Function)}, {@link #flatMap(java.util.function.Function)} and the other
+ * transformations only record the step and return a new LazyEither; nothing is run until a terminal operation such
+ * as {@link #get()}, {@link #fold(java.util.function.Function, java.util.function.Function)},
+ * {@link #orElse(Object)} or {@link #isLeft()} is invoked. The supplier of each LazyEither is run at most once, even
+ * when the value is requested by several threads at the same time, and the computed value is kept for later
+ * requests. A supplier that throws an unchecked exception leaves the LazyEither unevaluated, and one that returns
+ * <code>null</code> is rejected with a {@link NullPointerException}.
+ * <p>
+ * Each step refers to the LazyEither it was created from. Evaluation walks up to the nearest evaluated LazyEither (or
+ * the supplier at the root) and then applies the steps on the way back down, one at a time, so that a long chain of
+ * steps does not need a stack frame per step.
+ *
+ * @param <L> The type of the Either left value
+ * @param <R> The type of the Either right value
+ */
+public final class LazyEither<L, R> {
+    private volatile Either<L, R> value;
+    // Until the value is computed, either the supplier is set, or the parent and the step applied to its value are.
+    // The parent is read without holding the lock while walking a chain, and is cleared only after value is set.
+    private Supplier<? extends Either<L, R>> supplier;
+    private volatile LazyEither<?, ?> parent;
+    private Function<Object, ? extends Either<L, R>> step;
+
+    private LazyEither(Either<L, R> value) {
+        this.value = value;
+    }
+
+    private LazyEither(Supplier<? extends Either<L, R>> supplier) {
+        this.supplier = supplier;
+    }
+
+    @SuppressWarnings("unchecked")
+    private LazyEither(LazyEither<?, ?> parent, Function<?, ? extends Either<L, R>> step) {
+        this.parent = parent;
+        this.step = (Function<Object, ? extends Either<L, R>>) step;
+    }
+
+    /**
+     * Creates a LazyEither evaluating to the value returned by <code>supplier</code>
+     * @param supplier a {@link java.util.function.Supplier} that, when invoked, returns an Either value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a LazyEither
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> LazyEither<L, R> of(Supplier<? extends Either<? extends L, ? extends R>> supplier) {
+        return new LazyEither<>(() -> (Either<L, R>) supplier.get());
+    }
+
+    /**
+     * Creates a LazyEither that, when evaluated, invokes <code>supplier</code> and captures any thrown exception.
+     * @param supplier a {@link ThrowingSupplier} that, when invoked, returns a value or throws an exception
+     * @param <V> The type of the Either right value
+     * @return a LazyEither containing either the returned value as a right value, or the thrown exception as a left value
+     * @see se.fnord.either.Either#fromSupplier(ThrowingSupplier)
+     */
+    public static <V> LazyEither<Exception, V> fromSupplier(ThrowingSupplier<? extends V> supplier) {
+        return new LazyEither<>(() -> Either.fromSupplier(supplier));
+    }
+
+    /**
+     * Creates an already evaluated LazyEither
+     * @param value the Either value
+     * @param <L> The type of the Either left value
+     * @param <R> The type of the Either right value
+     * @return a LazyEither containing <code>value</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> LazyEither<L, R> fromEither(Either<? extends L, ? extends R> value) {
+        return new LazyEither<>((Either<L, R>) value);
+    }
+
+    public static <L, R> LazyEither<L, R> left(L value) {
+        return new LazyEither<>(Either.left(value));
+    }
+
+    public static <L, R> LazyEither<L, R> right(R value) {
+        return new LazyEither<>(Either.right(value));
+    }
+
+    private <LL, RR> LazyEither<LL, RR> then(Function<? super Either<L, R>, ? extends Either<LL, RR>> f) {
+        return new LazyEither<>(this, f);
+    }
+
+    public <RR> LazyEither<L, RR> map(Function<? super R, ? extends RR> f) {
+        return rightMap(f);
+    }
+
+    public <RR> LazyEither<L, RR> rightMap(Function<? super R, ? extends RR> f) {
+        return then(e -> e.rightMap(f));
+    }
+
+    public <LL> LazyEither<LL, R> leftMap(Function<? super L, ? extends LL> f) {
+        return then(e -> e.leftMap(f));
+    }
+
+    public <LL, RR> LazyEither<LL, RR> bimap(Function<? super L, ? extends LL> fl, Function<? super R, ? extends RR> fr) {
+        return then(e -> e.bimap(fl, fr));
+    }
+
+    public <RR> LazyEither<L, RR> flatMap(Function<? super R, Either<? extends L, ? extends RR>> f) {
+        return rightFlatMap(f);
+    }
+
+    public <RR> LazyEither<L, RR> rightFlatMap(Function<? super R, Either<? extends L, ? extends RR>> f) {
+        return then(e -> e.rightFlatMap(f));
+    }
+
+    public <LL> LazyEither<LL, R> leftFlatMap(Function<? super L, Either<? extends LL, ? extends R>> f) {
+        return then(e -> e.leftFlatMap(f));
+    }
+
+    /**
+     * Evaluates this LazyEither, unless it has already been evaluated
+     * @return the Either value
+     */
+    @SuppressWarnings("unchecked")
+    public Either<L, R> get() {
+        Either<L, R> v = value;
+        if (v != null)
+            return v;
+        ArrayDeque<LazyEither<?, ?>> pending = new ArrayDeque<>();
+        LazyEither<?, ?> e = this;
+        LazyEither<?, ?> p;
+        while (e.value == null && (p = e.parent) != null) {
+            pending.push(e);
+            e = p;
+        }
+        Either<?, ?> in = e.evaluate(null);
+        while (!pending.isEmpty())
+            in = pending.pop().evaluate(in);
+        return (Either<L, R>) in;
+    }
+
+    private synchronized Either<L, R> evaluate(Either<?, ?> in) {
+        Either<L, R> v = value;
+        if (v == null) {
+            if (parent == null)
+                v = Objects.requireNonNull(supplier.get(), "supplier returned null");
+            else
+                v = Objects.requireNonNull(step.apply(in), "step returned null");
+            value = v;
+            supplier = null;
+            parent = null;
+            step = null;
+        }
+        return v;
+    }
+
+    /**
+     * @return true if the value has been computed
+     */
+    public boolean isEvaluated() {
+        return value != null;
+    }
+
+    public <V> V fold(Function<? super L, ? extends V> fl, Function<? super R, ? extends V> fr) {
+        return get().fold(fl, fr);
+    }
+
+    public Optional<R> rightOption() {
+        return get().rightOption();
+    }
+
+    public Optional<L> leftOption() {
+        return get().leftOption();
+    }
+
+    public R orElse(Function<? super L, ? extends R> f) {
+        return get().orElse(f);
+    }
+
+    public R orElse(R f) {
+        return get().orElse(f);
+    }
+
+    public boolean isLeft() {
+        return get().isLeft();
+    }
+
+    public boolean isRight() {
+        return get().isRight();
+    }
+
+    @Override
+    public String toString() {
+        Either<L, R> v = value;
+        return v != null ? "lazy<" + v + ">" : "lazy<?>";
+    }
+}
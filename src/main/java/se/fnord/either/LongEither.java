@@ -0,0 +1,120 @@
+package se.fnord.either;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * An {@link se.fnord.either.Either} specialised for <code>long</code> right values, avoiding boxing them.
+ *
+ * @param <L> The type of the left value
+ */
+public interface LongEither<L> {
+    /**
+     * Creates a LongEither value containing either the value returned by the supplier as the right value, or the exception thrown as the left value
+     * @param supplier a {@link java.util.function.LongSupplier} that, when invoked, returns a long or throws an exception
+     * @return a LongEither value containing either the value returned by the supplier, or the exception thrown
+     */
+    static LongEither<RuntimeException> fromSupplier(LongSupplier supplier) {
+        try {
+            return right(supplier.getAsLong());
+        }
+        catch (RuntimeException e) {
+            return left(e);
+        }
+    }
+
+    /**
+     * Creates a LongEither value containing either the value returned by the supplier as the right value, or the exception thrown as the left value
+     * @param supplier a {@link se.fnord.either.ThrowingLongSupplier} that, when invoked, returns a long or throws an exception
+     * @return a LongEither value containing either the value returned by the supplier, or the exception thrown
+     */
+    static LongEither<Exception> fromSupplier(ThrowingLongSupplier supplier) {
+        try {
+            return right(supplier.getAsLong());
+        }
+        catch (Exception e) {
+            return left(e);
+        }
+    }
+
+    /**
+     * Creates a LongEither value containing either the value returned by the function as the right value, or the exception thrown as the left value
+     * @param function a {@link java.util.function.ToLongFunction} that, when invoked with a value of type T, returns a long or throws an exception
+     * @param <T> The parameter type of the function
+     * @return a LongEither value containing either the value returned by the function, or the exception thrown
+     */
+    static <T> LongEither<RuntimeException> fromFunction(ToLongFunction<? super T> function, T t) {
+        try {
+            return right(function.applyAsLong(t));
+        }
+        catch (RuntimeException e) {
+            return left(e);
+        }
+    }
+
+    /**
+     * Creates a LongEither value from an Either value with a boxed right value
+     * @param either the Either value
+     * @param <LL> The type of the left value
+     * @return a LongEither value containing the same left value, or the unboxed right value
+     * @throws NullPointerException if <code>either</code> is a right value holding null, which has no <code>long</code> value
+     */
+    static <LL> LongEither<LL> fromEither(Either<? extends LL, Long> either) {
+        return either.fold(LongEither::left, r -> right(Objects.requireNonNull(r, "Right value is null and cannot be unboxed to long")));
+    }
+
+    /**
+     * Creates a left LongEither value
+     * @param value the value.
+     * @param <LL> The type of the left value
+     * @return a left LongEither value
+     */
+    static <LL> LongEither<LL> left(LL value) {
+        return new LongLeft<>(value);
+    }
+
+    /**
+     * Creates a right LongEither value
+     * @param value the value.
+     * @param <LL> The type of the left value
+     * @return a right LongEither value
+     */
+    static <LL> LongEither<LL> right(long value) {
+        return new LongRight<>(value);
+    }
+
+    /**
+     * Converts this value to an Either, boxing the right value
+     * @return an Either value containing the same left value, or the boxed right value
+     */
+    Either<L, Long> toEither();
+
+    LongEither<L> mapToLong(LongUnaryOperator f);
+    <RR> Either<L, RR> mapToObj(LongFunction<? extends RR> f);
+    <LL> LongEither<LL> leftMap(Function<? super L, ? extends LL> f);
+
+    LongEither<L> flatMapToLong(LongFunction<LongEither<? extends L>> f);
+
+    long foldLong(ToLongFunction<? super L> fl, LongUnaryOperator fr);
+    <V> V fold(Function<? super L, ? extends V> fl, LongFunction<? extends V> fr);
+
+    LongStream stream();
+    Stream<L> leftStream();
+
+    OptionalLong option();
+    Optional<L> leftOption();
+
+    long orElseLong(ToLongFunction<? super L> f);
+    long orElseLong(long v);
+
+    boolean isLeft();
+    boolean isRight();
+}
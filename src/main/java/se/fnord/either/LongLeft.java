@@ -0,0 +1,114 @@
+package se.fnord.either;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+final class LongLeft<L> implements LongEither<L> {
+    private final L l;
+
+    LongLeft(L l) {
+        this.l = l;
+    }
+
+    @Override
+    public Either<L, Long> toEither() {
+        return Either.left(l);
+    }
+
+    @Override
+    public LongEither<L> mapToLong(LongUnaryOperator f) {
+        return this;
+    }
+
+    @Override
+    public <RR> Either<L, RR> mapToObj(LongFunction<? extends RR> f) {
+        return Either.left(l);
+    }
+
+    @Override
+    public <LL> LongEither<LL> leftMap(Function<? super L, ? extends LL> f) {
+        return LongEither.left(f.apply(l));
+    }
+
+    @Override
+    public LongEither<L> flatMapToLong(LongFunction<LongEither<? extends L>> f) {
+        return this;
+    }
+
+    @Override
+    public long foldLong(ToLongFunction<? super L> fl, LongUnaryOperator fr) {
+        return fl.applyAsLong(l);
+    }
+
+    @Override
+    public <V> V fold(Function<? super L, ? extends V> fl, LongFunction<? extends V> fr) {
+        return fl.apply(l);
+    }
+
+    @Override
+    public LongStream stream() {
+        return LongStream.empty();
+    }
+
+    @Override
+    public Stream<L> leftStream() {
+        return Stream.of(l);
+    }
+
+    @Override
+    public OptionalLong option() {
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public Optional<L> leftOption() {
+        return Optional.of(l);
+    }
+
+    @Override
+    public long orElseLong(ToLongFunction<? super L> f) {
+        return f.applyAsLong(l);
+    }
+
+    @Override
+    public long orElseLong(long v) {
+        return v;
+    }
+
+    @Override
+    public boolean isLeft() {
+        return true;
+    }
+
+    @Override
+    public boolean isRight() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "left<" + l + ">";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LongLeft<?> left = (LongLeft<?>) o;
+
+        return Objects.equals(l, left.l);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(l);
+    }
+}
@@ -0,0 +1,115 @@
+package se.fnord.either;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+final class LongRight<L> implements LongEither<L> {
+    private final long r;
+
+    LongRight(long r) {
+        this.r = r;
+    }
+
+    @Override
+    public Either<L, Long> toEither() {
+        return Either.right(r);
+    }
+
+    @Override
+    public LongEither<L> mapToLong(LongUnaryOperator f) {
+        return LongEither.right(f.applyAsLong(r));
+    }
+
+    @Override
+    public <RR> Either<L, RR> mapToObj(LongFunction<? extends RR> f) {
+        return Either.right(f.apply(r));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <LL> LongEither<LL> leftMap(Function<? super L, ? extends LL> f) {
+        return (LongEither<LL>) this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LongEither<L> flatMapToLong(LongFunction<LongEither<? extends L>> f) {
+        return (LongEither<L>) f.apply(r);
+    }
+
+    @Override
+    public long foldLong(ToLongFunction<? super L> fl, LongUnaryOperator fr) {
+        return fr.applyAsLong(r);
+    }
+
+    @Override
+    public <V> V fold(Function<? super L, ? extends V> fl, LongFunction<? extends V> fr) {
+        return fr.apply(r);
+    }
+
+    @Override
+    public LongStream stream() {
+        return LongStream.of(r);
+    }
+
+    @Override
+    public Stream<L> leftStream() {
+        return Stream.empty();
+    }
+
+    @Override
+    public OptionalLong option() {
+        return OptionalLong.of(r);
+    }
+
+    @Override
+    public Optional<L> leftOption() {
+        return Optional.empty();
+    }
+
+    @Override
+    public long orElseLong(ToLongFunction<? super L> f) {
+        return r;
+    }
+
+    @Override
+    public long orElseLong(long v) {
+        return r;
+    }
+
+    @Override
+    public boolean isLeft() {
+        return false;
+    }
+
+    @Override
+    public boolean isRight() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "right<" + r + ">";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LongRight<?> right = (LongRight<?>) o;
+
+        return r == right.r;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(r);
+    }
+}
@@ -0,0 +1,59 @@
+package se.fnord.either;
+
+import java.util.Objects;
+
+/**
+ * The result of partitioning a number of Either values into their left and right values.
+ *
+ * @param <A> The type of the left values container
+ * @param <B> The type of the right values container
+ */
+public final class Partition<A, B> {
+    private final A lefts;
+    private final B rights;
+
+    private Partition(A lefts, B rights) {
+        this.lefts = lefts;
+        this.rights = rights;
+    }
+
+    /**
+     * Creates a partition
+     * @param lefts the left values
+     * @param rights the right values
+     * @param <A> The type of the left values container
+     * @param <B> The type of the right values container
+     * @return a partition
+     */
+    public static <A, B> Partition<A, B> of(A lefts, B rights) {
+        return new Partition<>(lefts, rights);
+    }
+
+    public A lefts() {
+        return lefts;
+    }
+
+    public B rights() {
+        return rights;
+    }
+
+    @Override
+    public String toString() {
+        return "partition<" + lefts + ", " + rights + ">";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Partition<?, ?> partition = (Partition<?, ?>) o;
+
+        return Objects.equals(lefts, partition.lefts) && Objects.equals(rights, partition.rights);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(lefts) + Objects.hashCode(rights);
+    }
+}
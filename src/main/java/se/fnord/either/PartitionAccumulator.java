@@ -0,0 +1,61 @@
+package se.fnord.either;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+final class PartitionAccumulator<L, R, A, B> {
+    private final BiConsumer<A, ? super L> leftAccumulator;
+    private final BiConsumer<B, ? super R> rightAccumulator;
+    final A lefts;
+    final B rights;
+
+    PartitionAccumulator(Collector<? super L, A, ?> leftDownstream, Collector<? super R, B, ?> rightDownstream) {
+        this.leftAccumulator = leftDownstream.accumulator();
+        this.rightAccumulator = rightDownstream.accumulator();
+        this.lefts = leftDownstream.supplier().get();
+        this.rights = rightDownstream.supplier().get();
+    }
+
+    private PartitionAccumulator(PartitionAccumulator<L, R, A, B> a, A lefts, B rights) {
+        this.leftAccumulator = a.leftAccumulator;
+        this.rightAccumulator = a.rightAccumulator;
+        this.lefts = lefts;
+        this.rights = rights;
+    }
+
+    @SuppressWarnings("unchecked")
+    void accept(Either<? extends L, ? extends R> e) {
+        if (e.isLeft())
+            leftAccumulator.accept(lefts, (L) e.value());
+        else
+            rightAccumulator.accept(rights, (R) e.value());
+    }
+
+    static <L, R, LA, RA, A, B> Collector<Either<? extends L, ? extends R>, PartitionAccumulator<L, R, LA, RA>, Partition<A, B>> collector(Collector<? super L, LA, A> leftDownstream, Collector<? super R, RA, B> rightDownstream) {
+        BinaryOperator<LA> leftCombiner = leftDownstream.combiner();
+        BinaryOperator<RA> rightCombiner = rightDownstream.combiner();
+        Function<LA, A> leftFinisher = leftDownstream.finisher();
+        Function<RA, B> rightFinisher = rightDownstream.finisher();
+
+        Set<Collector.Characteristics> characteristics = EnumSet.of(Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+        characteristics.retainAll(leftDownstream.characteristics());
+        characteristics.retainAll(rightDownstream.characteristics());
+
+        return Collector.of(
+                () -> new PartitionAccumulator<>(leftDownstream, rightDownstream),
+                PartitionAccumulator::accept,
+                (a, b) -> a.combine(b, leftCombiner, rightCombiner),
+                a -> Partition.of(leftFinisher.apply(a.lefts), rightFinisher.apply(a.rights)),
+                characteristics.toArray(new Collector.Characteristics[0]));
+    }
+
+    PartitionAccumulator<L, R, A, B> combine(PartitionAccumulator<L, R, A, B> other, BinaryOperator<A> leftCombiner, BinaryOperator<B> rightCombiner) {
+        A l = leftCombiner.apply(lefts, other.lefts);
+        B r = rightCombiner.apply(rights, other.rights);
+        return l == lefts && r == rights ? this : new PartitionAccumulator<>(this, l, r);
+    }
+}
@@ -0,0 +1,180 @@
+package se.fnord.either;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reads a {@link ThrowingIterator} ahead of the consumer on an executor, into a bounded ring buffer.
+ * <p>
+ * Elements are read in chunks of <code>chunkSize</code> by a single fetch task at a time, so the source is never
+ * used by two threads at once. A fetch task is only started when the buffer has room for a whole chunk, and keeps
+ * going for as long as it does; once the buffer is full the task ends rather than blocking an executor thread, and
+ * the consumer starts a new one as it frees up room. If the executor rejects a task, the chunk is read on the
+ * consumer thread instead. Only then does an {@link InterruptedException} from the source restore the interrupt
+ * status of the reading thread.
+ */
+final class PrefetchingIterator<T> implements EitherIterator<T> {
+    private final SourceIterator<T> reader;
+    private final Executor executor;
+    private final Either<Exception, T>[] chunk;
+    private final Either<Exception, T>[] ring;
+
+    // All of the following are guarded by this
+    private int head;
+    private int count;
+    // A fetch task has been started and not yet finished
+    private boolean running;
+    // A fetch task is reading from the source; close waits for it before closing the source
+    private boolean active;
+    private boolean exhausted;
+    private boolean closed;
+    private Either<Exception, T> interruption;
+    private boolean stopped;
+    private Throwable failure;
+
+    PrefetchingIterator(SourceIterator<T> reader, Executor executor, int chunkSize, int capacity) {
+        this.reader = reader;
+        this.executor = executor;
+        this.chunk = newArray(chunkSize);
+        this.ring = newArray(capacity);
+        this.running = true;
+        start();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Either<Exception, T>[] newArray(int length) {
+        return (Either<Exception, T>[]) new Either<?, ?>[length];
+    }
+
+    private void start() {
+        try {
+            executor.execute(() -> fetch(false));
+        }
+        catch (RejectedExecutionException e) {
+            fetch(true);
+        }
+    }
+
+    private boolean room() {
+        return !exhausted && !closed && ring.length - count >= chunk.length;
+    }
+
+    private void fetch(boolean onConsumer) {
+        synchronized (this) {
+            if (closed) {
+                running = false;
+                return;
+            }
+            active = true;
+        }
+        // An executor thread must not be left interrupted by the source; the consumer still gets the left value
+        reader.reinterrupt(onConsumer);
+        try {
+            while (true) {
+                int n = 0;
+                boolean end = false;
+                while (n < chunk.length) {
+                    if (!reader.hasNext()) {
+                        end = true;
+                        break;
+                    }
+                    chunk[n++] = reader.next();
+                }
+                synchronized (this) {
+                    for (int i = 0; i < n; i++) {
+                        if (!closed)
+                            ring[(head + count++) % ring.length] = chunk[i];
+                        chunk[i] = null;
+                    }
+                    exhausted |= end;
+                    notifyAll();
+                    if (!room()) {
+                        running = active = false;
+                        return;
+                    }
+                }
+            }
+        }
+        catch (Throwable t) {
+            synchronized (this) {
+                Arrays.fill(chunk, null);
+                failure = t;
+                exhausted = true;
+                running = active = false;
+                notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        while (count == 0 && interruption == null) {
+            if (stopped || closed)
+                return false;
+            if (failure instanceof Error)
+                throw (Error) failure;
+            if (failure != null)
+                throw new IllegalStateException("Prefetching failed", failure);
+            if (exhausted)
+                return false;
+            try {
+                wait();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interruption = Either.left(e);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Either<Exception, T> next() {
+        Either<Exception, T> next;
+        boolean schedule;
+        synchronized (this) {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            if (interruption != null) {
+                next = interruption;
+                interruption = null;
+                stopped = true;
+                return next;
+            }
+            next = ring[head];
+            ring[head] = null;
+            head = (head + 1) % ring.length;
+            count--;
+            schedule = !running && room();
+            running |= schedule;
+        }
+        if (schedule)
+            start();
+        return next;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+            Arrays.fill(ring, null);
+            count = 0;
+            boolean interrupted = false;
+            while (active) {
+                try {
+                    wait();
+                }
+                catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+        reader.close();
+    }
+}
@@ -0,0 +1,204 @@
+package se.fnord.either;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Describes when and how often a call returning a left value is retried; see
+ * {@link se.fnord.either.EitherOps#retrying(java.util.function.Function, RetryPolicy)} and
+ * {@link se.fnord.either.EitherOps#retryingAsync(java.util.function.Function, RetryPolicy, java.util.concurrent.ScheduledExecutorService)}.
+ * <p>
+ * The delay before retry <code>n</code> is <code>initialDelay * multiplier^(n-1)</code>, bounded by
+ * <code>maxDelay</code>, and then shortened by a random fraction of at most <code>jitter</code> so that clients
+ * failing together do not retry together.
+ *
+ * @param <L> The type of the Either left value
+ */
+public final class RetryPolicy<L> {
+    private final int maxAttempts;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double multiplier;
+    private final double jitter;
+    private final Predicate<? super L> retryIf;
+
+    private RetryPolicy(int maxAttempts, long initialDelay, long maxDelay, double multiplier, double jitter, Predicate<? super L> retryIf) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.retryIf = retryIf;
+    }
+
+    /**
+     * Creates a builder for a retry policy. Unless configured otherwise, every left value is retried up to three
+     * attempts in total, starting with a delay of 100 milliseconds that doubles for every retry.
+     * @param <L> The type of the Either left value
+     * @return a new builder
+     */
+    public static <L> Builder<L> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @param retry the retry, starting from 1
+     * @return the delay before the retry, in nanoseconds
+     */
+    long delayNanos(int retry) {
+        double delay = Math.min(initialDelay * Math.pow(multiplier, retry - 1), maxDelay);
+        if (jitter > 0)
+            delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+        return (long) delay;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean retry(int attempt, Either<? extends L, ?> result) {
+        return result.isLeft() && attempt < maxAttempts && retryIf.test((L) result.value());
+    }
+
+    <T, LL extends L, R> Either<LL, R> call(Function<? super T, ? extends Either<LL, R>> function, T t) {
+        int attempt = 1;
+        while (true) {
+            Either<LL, R> result = function.apply(t);
+            if (!retry(attempt, result))
+                return result;
+            long deadline = System.nanoTime() + delayNanos(attempt);
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                if (Thread.currentThread().isInterrupted())
+                    return result;
+                LockSupport.parkNanos(this, remaining);
+            }
+            attempt++;
+        }
+    }
+
+    <T, LL extends L, R> AsyncEither<LL, R> callAsync(Function<? super T, ? extends AsyncEither<LL, R>> function, T t, ScheduledExecutorService scheduler) {
+        CompletableFuture<Either<LL, R>> result = new CompletableFuture<>();
+        AsyncEither<LL, R> first;
+        try {
+            first = function.apply(t);
+        }
+        catch (Throwable e) {
+            result.completeExceptionally(e);
+            return AsyncEither.of(result, null);
+        }
+        completeAsync(first, function, t, scheduler, 1, result);
+        return AsyncEither.of(result, first.executor());
+    }
+
+    private <T, LL extends L, R> void attemptAsync(Function<? super T, ? extends AsyncEither<LL, R>> function, T t, ScheduledExecutorService scheduler, int attempt, CompletableFuture<Either<LL, R>> result) {
+        AsyncEither<LL, R> current;
+        try {
+            current = function.apply(t);
+        }
+        catch (Throwable e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        completeAsync(current, function, t, scheduler, attempt, result);
+    }
+
+    private <T, LL extends L, R> void completeAsync(AsyncEither<LL, R> current, Function<? super T, ? extends AsyncEither<LL, R>> function, T t, ScheduledExecutorService scheduler, int attempt, CompletableFuture<Either<LL, R>> result) {
+        current.future().whenComplete((value, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            }
+            else if (value == null) {
+                result.completeExceptionally(new NullPointerException("attempt completed with null"));
+            }
+            else if (!retry(attempt, value)) {
+                result.complete(value);
+            }
+            else {
+                try {
+                    scheduler.schedule(() -> attemptAsync(function, t, scheduler, attempt + 1, result), delayNanos(attempt), TimeUnit.NANOSECONDS);
+                }
+                catch (RejectedExecutionException r) {
+                    result.complete(value);
+                }
+            }
+        });
+    }
+
+    public static final class Builder<L> {
+        private int maxAttempts = 3;
+        private long initialDelay = TimeUnit.MILLISECONDS.toNanos(100);
+        private long maxDelay = TimeUnit.SECONDS.toNanos(10);
+        private double multiplier = 2;
+        private double jitter = 0;
+        private Predicate<? super L> retryIf = l -> true;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxAttempts the maximum number of calls, including the first one
+         * @return this builder
+         */
+        public Builder<L> maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1)
+                throw new IllegalArgumentException("maxAttempts must be positive");
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets an exponential backoff
+         * @param initialDelay the delay before the first retry
+         * @param maxDelay the longest delay between two attempts
+         * @param multiplier the factor by which the delay grows for every retry
+         * @return this builder
+         */
+        public Builder<L> backoff(Duration initialDelay, Duration maxDelay, double multiplier) {
+            if (initialDelay.isNegative() || maxDelay.compareTo(initialDelay) < 0 || multiplier < 1)
+                throw new IllegalArgumentException("invalid backoff");
+            this.initialDelay = initialDelay.toNanos();
+            this.maxDelay = maxDelay.toNanos();
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Sets a fixed delay between attempts
+         * @param delay the delay
+         * @return this builder
+         */
+        public Builder<L> delay(Duration delay) {
+            return backoff(delay, delay, 1);
+        }
+
+        /**
+         * @param jitter the largest fraction, between 0 and 1, by which a delay is randomly shortened
+         * @return this builder
+         */
+        public Builder<L> jitter(double jitter) {
+            if (jitter < 0 || jitter > 1)
+                throw new IllegalArgumentException("jitter must be between 0 and 1");
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Only retries left values matching <code>retryIf</code>
+         * @param retryIf a {@link java.util.function.Predicate} that, when invoked with a left value, returns whether to retry
+         * @return this builder
+         */
+        public Builder<L> retryIf(Predicate<? super L> retryIf) {
+            this.retryIf = retryIf;
+            return this;
+        }
+
+        public RetryPolicy<L> build() {
+            return new RetryPolicy<>(maxAttempts, initialDelay, maxDelay, multiplier, jitter, retryIf);
+        }
+    }
+}
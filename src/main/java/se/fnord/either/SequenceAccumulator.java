@@ -0,0 +1,36 @@
+package se.fnord.either;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class SequenceAccumulator<L, R> {
+    private Either<L, ?> left;
+    private List<R> rights = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    void accept(Either<? extends L, ? extends R> e) {
+        if (left != null)
+            return;
+        if (e.isLeft()) {
+            left = (Either<L, ?>) e;
+            rights = null;
+        }
+        else {
+            rights.add((R) e.value());
+        }
+    }
+
+    SequenceAccumulator<L, R> combine(SequenceAccumulator<L, R> other) {
+        if (left != null)
+            return this;
+        if (other.left != null)
+            return other;
+        rights.addAll(other.rights);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    Either<L, List<R>> finish() {
+        return left != null ? (Either<L, List<R>>) left : Either.right(rights);
+    }
+}
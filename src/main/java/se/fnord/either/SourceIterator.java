@@ -0,0 +1,89 @@
+package se.fnord.either;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a {@link ThrowingIterator} on the calling thread, one element at a time. The next element is read by
+ * {@link #hasNext()}, so that an exception thrown by either of the source methods becomes a left value. An
+ * {@link InterruptedException} also restores the interrupt status of the reading thread, unless turned off with
+ * {@link #reinterrupt(boolean)}.
+ */
+final class SourceIterator<T> implements EitherIterator<T> {
+    private final ThrowingIterator<? extends T> source;
+    private final EitherIterators.FailureMode mode;
+    private Either<Exception, T> pending;
+    private boolean done;
+    // Whether the reading thread is the consumer's own, and so should have its interrupt status restored
+    private boolean reinterrupt = true;
+
+    SourceIterator(ThrowingIterator<? extends T> source, EitherIterators.FailureMode mode) {
+        this.source = source;
+        this.mode = mode;
+    }
+
+    /**
+     * Sets whether an {@link InterruptedException} thrown by the source restores the interrupt status of the thread
+     * reading it. That is only right for the consumer's own thread; a thread reading on its behalf, such as an
+     * executor thread prefetching elements, would otherwise be left interrupted for whatever it runs next.
+     */
+    void reinterrupt(boolean reinterrupt) {
+        this.reinterrupt = reinterrupt;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending != null)
+            return true;
+        if (done)
+            return false;
+        try {
+            if (!source.hasNext()) {
+                done = true;
+                return false;
+            }
+        }
+        catch (Exception e) {
+            // Whether there are more elements is unknown, so the iteration ends here whatever the failure mode
+            done = true;
+            pending = failed(e);
+            return true;
+        }
+        try {
+            pending = Either.right(source.next());
+        }
+        catch (Exception e) {
+            done = mode == EitherIterators.FailureMode.STOP;
+            pending = failed(e);
+        }
+        return true;
+    }
+
+    private Either<Exception, T> failed(Exception e) {
+        if (reinterrupt && e instanceof InterruptedException)
+            Thread.currentThread().interrupt();
+        return Either.left(e);
+    }
+
+    @Override
+    public Either<Exception, T> next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Either<Exception, T> next = pending;
+        pending = null;
+        return next;
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        pending = null;
+        try {
+            source.close();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to close iterator", e);
+        }
+    }
+}
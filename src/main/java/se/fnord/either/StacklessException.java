@@ -0,0 +1,19 @@
+package se.fnord.either;
+
+/**
+ * A {@link RuntimeException} that neither records a stack trace nor supports suppression. Filling in the stack trace
+ * is by far the most expensive part of constructing an exception, so a callee on a failure-heavy path can throw a
+ * (possibly preallocated) instance of this class instead, and a {@link se.fnord.either.CapturePolicy} can map it to a
+ * reusable left value.
+ */
+public class StacklessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public StacklessException(String message) {
+        super(message, null, false, false);
+    }
+
+    public StacklessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,6 @@
+package se.fnord.either;
+
+@FunctionalInterface
+public interface ThrowingDoubleSupplier {
+    double getAsDouble() throws Exception;
+}
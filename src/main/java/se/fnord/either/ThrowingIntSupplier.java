@@ -0,0 +1,6 @@
+package se.fnord.either;
+
+@FunctionalInterface
+public interface ThrowingIntSupplier {
+    int getAsInt() throws Exception;
+}
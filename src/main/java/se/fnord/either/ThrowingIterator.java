@@ -0,0 +1,43 @@
+package se.fnord.either;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * An iterator whose methods may throw checked exceptions, such as a database cursor or a client for a paged API.
+ *
+ * @param <T> The type of the elements
+ */
+public interface ThrowingIterator<T> extends AutoCloseable {
+    boolean hasNext() throws Exception;
+
+    T next() throws Exception;
+
+    /**
+     * Releases any resources held by the iterator. The default implementation does nothing.
+     * @throws IOException if the resources could not be released
+     */
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * Adapts a plain {@link java.util.Iterator}, for iterators whose methods throw unchecked exceptions
+     * @param iterator the iterator
+     * @param <T> The type of the elements
+     * @return a ThrowingIterator reading from <code>iterator</code>
+     */
+    static <T> ThrowingIterator<T> from(Iterator<? extends T> iterator) {
+        return new ThrowingIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return iterator.next();
+            }
+        };
+    }
+}
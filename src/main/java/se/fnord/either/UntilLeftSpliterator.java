@@ -0,0 +1,90 @@
+package se.fnord.either;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A spliterator over the right values of a source spliterator of Either values, that stops pulling from the source
+ * once a left value has been seen. All spliterators split off from the same root share the stop state, so a left
+ * value seen by any of them stops the others as well.
+ */
+final class UntilLeftSpliterator<L, R> implements Spliterator<R> {
+    private static final int CHARACTERISTICS = ORDERED | IMMUTABLE | CONCURRENT;
+
+    static final class Stop<L> {
+        private final AtomicReference<Either<? extends L, ?>> left = new AtomicReference<>();
+        private final Consumer<? super L> onLeft;
+        private volatile boolean stopped;
+
+        Stop(Consumer<? super L> onLeft) {
+            this.onLeft = onLeft;
+        }
+
+        @SuppressWarnings("unchecked")
+        void stop(Either<? extends L, ?> e) {
+            stopped = true;
+            if (left.compareAndSet(null, e))
+                onLeft.accept((L) e.value());
+        }
+
+        boolean isStopped() {
+            return stopped;
+        }
+
+        Either<? extends L, ?> left() {
+            return left.get();
+        }
+    }
+
+    private final Spliterator<? extends Either<? extends L, ? extends R>> source;
+    private final Stop<L> stop;
+    private final Consumer<Either<? extends L, ? extends R>> sink = e -> current = e;
+    private Either<? extends L, ? extends R> current;
+
+    UntilLeftSpliterator(Spliterator<? extends Either<? extends L, ? extends R>> source, Stop<L> stop) {
+        this.source = source;
+        this.stop = stop;
+    }
+
+    static <L, R> Stream<R> stream(Stream<? extends Either<? extends L, ? extends R>> stream, Stop<L> stop) {
+        return StreamSupport.stream(new UntilLeftSpliterator<L, R>(stream.spliterator(), stop), stream.isParallel())
+                .onClose(stream::close);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        if (stop.isStopped() || !source.tryAdvance(sink))
+            return false;
+
+        Either<? extends L, ? extends R> e = current;
+        current = null;
+        if (e.isLeft()) {
+            stop.stop(e);
+            return false;
+        }
+        action.accept((R) e.value());
+        return true;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        if (stop.isStopped())
+            return null;
+        Spliterator<? extends Either<? extends L, ? extends R>> split = source.trySplit();
+        return split != null ? new UntilLeftSpliterator<>(split, stop) : null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return stop.isStopped() ? 0 : source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & CHARACTERISTICS;
+    }
+}
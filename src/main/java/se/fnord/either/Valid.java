@@ -0,0 +1,94 @@
+package se.fnord.either;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+final class Valid<E, A> implements Validated<E, A> {
+    private final A a;
+
+    Valid(A a) {
+        this.a = a;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A> A value(Validated<?, A> v) {
+        return ((Valid<?, A>) v).a;
+    }
+
+    @Override
+    public <B> Validated<E, B> map(Function<? super A, ? extends B> f) {
+        return Validated.valid(f.apply(a));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <EE> Validated<EE, A> mapErrors(Function<? super E, ? extends EE> f) {
+        return (Validated<EE, A>) this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <B, R> Validated<E, R> zip(Validated<E, B> other, BiFunction<? super A, ? super B, ? extends R> f) {
+        if (other.isInvalid())
+            return (Validated<E, R>) other;
+        return Validated.valid(f.apply(a, value(other)));
+    }
+
+    @Override
+    public <V> V fold(Function<? super List<E>, ? extends V> fe, Function<? super A, ? extends V> fa) {
+        return fa.apply(a);
+    }
+
+    @Override
+    public Either<List<E>, A> toEither() {
+        return Either.right(a);
+    }
+
+    @Override
+    public List<E> errors() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public A orElse(Function<? super List<E>, ? extends A> f) {
+        return a;
+    }
+
+    @Override
+    public A orElse(A v) {
+        return a;
+    }
+
+    @Override
+    public boolean isValid() {
+        return true;
+    }
+
+    @Override
+    public boolean isInvalid() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "valid<" + a + ">";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Valid<?, ?> valid = (Valid<?, ?>) o;
+
+        return Objects.equals(a, valid.a);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(a);
+    }
+}
@@ -0,0 +1,117 @@
+package se.fnord.either;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * The result of a validation: either a valid value, or one or more errors.
+ * <p>
+ * Unlike {@link se.fnord.either.Either#rightFlatMap(java.util.function.Function)}, which stops at the first left
+ * value, combining Validated values with {@link #zip(se.fnord.either.Validated, java.util.function.BiFunction)},
+ * <code>mapN</code> or {@link #collector()} accumulates the errors of all of them. Combining valid values allocates
+ * nothing but the combined result; error storage is only allocated once there is an error to store. To run many
+ * independent checks without creating a Validated for each, see {@link se.fnord.either.Validator}.
+ *
+ * @param <E> The type of the errors
+ * @param <A> The type of the valid value
+ */
+public interface Validated<E, A> {
+    /**
+     * Creates a valid value
+     * @param value the value.
+     * @param <E> The type of the errors
+     * @param <A> The type of the valid value
+     * @return a valid value
+     */
+    static <E, A> Validated<E, A> valid(A value) {
+        return new Valid<>(value);
+    }
+
+    /**
+     * Creates an invalid value with a single error
+     * @param error the error.
+     * @param <E> The type of the errors
+     * @param <A> The type of the valid value
+     * @return an invalid value
+     */
+    static <E, A> Validated<E, A> invalid(E error) {
+        return new Invalid<>(new Object[] { error });
+    }
+
+    /**
+     * Creates a Validated value from an Either value, treating a left value as an error
+     * @param either the Either value
+     * @param <E> The type of the errors
+     * @param <A> The type of the valid value
+     * @return a valid value containing the right value, or an invalid value containing the left value
+     */
+    static <E, A> Validated<E, A> fromEither(Either<? extends E, ? extends A> either) {
+        return either.fold(Validated::invalid, Validated::valid);
+    }
+
+    static <E, A, B, R> Validated<E, R> map2(Validated<E, A> a, Validated<E, B> b, BiFunction<? super A, ? super B, ? extends R> f) {
+        return a.zip(b, f);
+    }
+
+    static <E, A, B, C, R> Validated<E, R> map3(Validated<E, A> a, Validated<E, B> b, Validated<E, C> c, Function3<? super A, ? super B, ? super C, ? extends R> f) {
+        if (a.isValid() && b.isValid() && c.isValid())
+            return valid(f.apply(Valid.value(a), Valid.value(b), Valid.value(c)));
+        return Invalid.concat(a, b, c);
+    }
+
+    static <E, A, B, C, D, R> Validated<E, R> map4(Validated<E, A> a, Validated<E, B> b, Validated<E, C> c, Validated<E, D> d, Function4<? super A, ? super B, ? super C, ? super D, ? extends R> f) {
+        if (a.isValid() && b.isValid() && c.isValid() && d.isValid())
+            return valid(f.apply(Valid.value(a), Valid.value(b), Valid.value(c), Valid.value(d)));
+        return Invalid.concat(a, b, c, d);
+    }
+
+    /**
+     * Returns a collector turning Validated values into a single Validated value: a list of all valid values if
+     * there were no errors, or all errors in encounter order.
+     * @param <E> The type of the errors
+     * @param <A> The type of the valid values
+     * @return an accumulating collector
+     */
+    static <E, A> Collector<Validated<? extends E, ? extends A>, ?, Validated<E, List<A>>> collector() {
+        return Collector.of(
+                ValidatedAccumulator<E, A>::new,
+                ValidatedAccumulator::accept,
+                ValidatedAccumulator::combine,
+                ValidatedAccumulator::finish);
+    }
+
+    <B> Validated<E, B> map(Function<? super A, ? extends B> f);
+    <EE> Validated<EE, A> mapErrors(Function<? super E, ? extends EE> f);
+
+    /**
+     * Combines this value with another
+     * @param other the other value
+     * @param f the function combining the valid values
+     * @param <B> The type of the other valid value
+     * @param <R> The type of the combined value
+     * @return the combined valid values, or the errors of both values
+     */
+    <B, R> Validated<E, R> zip(Validated<E, B> other, BiFunction<? super A, ? super B, ? extends R> f);
+
+    <V> V fold(Function<? super List<E>, ? extends V> fe, Function<? super A, ? extends V> fa);
+
+    /**
+     * Converts this value to an Either
+     * @return a right Either containing the valid value, or a left Either containing the errors
+     */
+    Either<List<E>, A> toEither();
+
+    /**
+     * Returns the errors of this value
+     * @return an unmodifiable list of errors; empty if this value is valid
+     */
+    List<E> errors();
+
+    A orElse(Function<? super List<E>, ? extends A> f);
+    A orElse(A v);
+
+    boolean isValid();
+    boolean isInvalid();
+}
@@ -0,0 +1,43 @@
+package se.fnord.either;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class ValidatedAccumulator<E, A> {
+    private final Validator<E> validator = Validator.create();
+    private List<A> values = new ArrayList<>();
+
+    void accept(Validated<? extends E, ? extends A> v) {
+        if (v.isInvalid()) {
+            validator.check(v);
+            values = null;
+        }
+        else if (values != null) {
+            values.add(Valid.value(v));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void accept(Either<? extends E, ? extends A> e) {
+        if (e.isLeft()) {
+            validator.check(e);
+            values = null;
+        }
+        else if (values != null) {
+            values.add((A) e.value());
+        }
+    }
+
+    ValidatedAccumulator<E, A> combine(ValidatedAccumulator<E, A> other) {
+        validator.addAll(other.validator);
+        if (values != null && other.values != null)
+            values.addAll(other.values);
+        else
+            values = null;
+        return this;
+    }
+
+    Validated<E, List<A>> finish() {
+        return validator.result(values);
+    }
+}
@@ -0,0 +1,114 @@
+package se.fnord.either;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Accumulates the errors of a number of independent checks. No storage for errors is allocated until the first error
+ * is added, so running checks that all pass allocates nothing but the final {@link se.fnord.either.Validated} value.
+ * <p>
+ * A Validator is not thread safe.
+ *
+ * @param <E> The type of the errors
+ */
+public final class Validator<E> {
+    private Object[] errors;
+    private int size;
+
+    private Validator() {
+    }
+
+    /**
+     * Creates a validator without errors
+     * @param <E> The type of the errors
+     * @return a new validator
+     */
+    public static <E> Validator<E> create() {
+        return new Validator<>();
+    }
+
+    /**
+     * Adds an error
+     * @param error the error
+     * @return this validator
+     */
+    public Validator<E> error(E error) {
+        if (errors == null)
+            errors = new Object[4];
+        else if (size == errors.length)
+            errors = Arrays.copyOf(errors, size * 2);
+        errors[size++] = error;
+        return this;
+    }
+
+    /**
+     * Adds <code>error</code> unless <code>condition</code> holds
+     * @param condition the condition to check
+     * @param error the error to add if the condition does not hold
+     * @return this validator
+     */
+    public Validator<E> require(boolean condition, E error) {
+        return condition ? this : error(error);
+    }
+
+    /**
+     * Adds the left value of an Either value as an error
+     * @param either the Either value to check
+     * @return this validator
+     */
+    @SuppressWarnings("unchecked")
+    public Validator<E> check(Either<? extends E, ?> either) {
+        if (either.isLeft())
+            error((E) either.value());
+        return this;
+    }
+
+    /**
+     * Adds the errors of a Validated value
+     * @param validated the Validated value to check
+     * @return this validator
+     */
+    @SuppressWarnings("unchecked")
+    public Validator<E> check(Validated<? extends E, ?> validated) {
+        if (validated.isInvalid()) {
+            for (Object error : ((Invalid<?, ?>) validated).errorArray())
+                error((E) error);
+        }
+        return this;
+    }
+
+    Validator<E> addAll(Validator<? extends E> other) {
+        for (int i = 0; i < other.size; i++)
+            error(other.error(i));
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E error(int i) {
+        return (E) errors[i];
+    }
+
+    public boolean hasErrors() {
+        return size > 0;
+    }
+
+    /**
+     * Returns the result of the validation
+     * @param value the valid value
+     * @param <A> The type of the valid value
+     * @return a valid value containing <code>value</code> if no errors have been added, otherwise an invalid value containing the errors
+     */
+    public <A> Validated<E, A> result(A value) {
+        return size == 0 ? Validated.valid(value) : new Invalid<>(Arrays.copyOf(errors, size));
+    }
+
+    /**
+     * Returns the result of the validation, computing the valid value only if there are no errors
+     * @param f a {@link java.util.function.Function} that, when invoked with this validator, returns the valid value
+     * @param <A> The type of the valid value
+     * @return a valid value containing the value returned by <code>f</code> if no errors have been added, otherwise an invalid value containing the errors
+     */
+    public <A> Validated<E, A> result(Function<? super Validator<E>, ? extends A> f) {
+        return size == 0 ? Validated.valid(f.apply(this)) : new Invalid<>(Arrays.copyOf(errors, size));
+    }
+}
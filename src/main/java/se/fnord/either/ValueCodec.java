@@ -0,0 +1,75 @@
+package se.fnord.either;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes values of a type to, and reads them from, a {@link java.nio.ByteBuffer}.
+ * <p>
+ * Codecs read and write at the current position of the buffer, advancing it past the value, and must consume
+ * exactly {@link #size(Object)} bytes. They work the same on heap and direct buffers.
+ *
+ * @param <T> The type of the values
+ */
+public interface ValueCodec<T> {
+    /**
+     * @param value a value
+     * @return the number of bytes {@link #write(Object, java.nio.ByteBuffer)} writes for <code>value</code>
+     */
+    int size(T value);
+
+    /**
+     * Writes <code>value</code> at the position of <code>buffer</code>
+     * @param value the value
+     * @param buffer the buffer
+     * @throws java.nio.BufferOverflowException if the buffer does not have room for the value
+     */
+    void write(T value, ByteBuffer buffer);
+
+    /**
+     * Reads a value at the position of <code>buffer</code>
+     * @param buffer the buffer
+     * @return the value
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the value
+     * @throws IllegalArgumentException if the buffer does not hold a valid encoding of a value
+     */
+    T read(ByteBuffer buffer);
+
+    /**
+     * @return a codec writing integers as four bytes, in the byte order of the buffer
+     */
+    static ValueCodec<Integer> int32() {
+        return ValueCodecs.INT32;
+    }
+
+    /**
+     * @return a codec writing longs as eight bytes, in the byte order of the buffer
+     */
+    static ValueCodec<Long> int64() {
+        return ValueCodecs.INT64;
+    }
+
+    /**
+     * @return a codec writing doubles as eight bytes, in the byte order of the buffer
+     */
+    static ValueCodec<Double> float64() {
+        return ValueCodecs.FLOAT64;
+    }
+
+    /**
+     * @return a codec writing strings as their length in bytes followed by their UTF-8 encoding. Strings are encoded
+     * straight into the buffer, without an intermediate byte array or encoder; unpaired surrogates are written as
+     * <code>'?'</code>, as by {@link String#getBytes(java.nio.charset.Charset)}.
+     */
+    static ValueCodec<String> utf8() {
+        return ValueCodecs.UTF8;
+    }
+
+    /**
+     * @return a codec writing the remaining bytes of a buffer, prefixed by their count. Reading returns a read-only
+     * slice of the source buffer rather than a copy, so it is only valid as long as the contents of the source buffer
+     * are.
+     */
+    static ValueCodec<ByteBuffer> bytes() {
+        return ValueCodecs.BYTES;
+    }
+}
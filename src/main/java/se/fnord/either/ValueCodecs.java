@@ -0,0 +1,181 @@
+package se.fnord.either;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The stock {@link ValueCodec} implementations. Each checks that the whole value fits before writing anything, so a
+ * write that overflows leaves the buffer as it was.
+ */
+final class ValueCodecs {
+    private ValueCodecs() {
+    }
+
+    private static int length(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0)
+            throw new IllegalArgumentException("invalid length " + length);
+        if (buffer.remaining() < length)
+            throw new BufferUnderflowException();
+        return length;
+    }
+
+    static final ValueCodec<Integer> INT32 = new ValueCodec<Integer>() {
+        @Override
+        public int size(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer value, ByteBuffer buffer) {
+            buffer.putInt(value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    static final ValueCodec<Long> INT64 = new ValueCodec<Long>() {
+        @Override
+        public int size(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long value, ByteBuffer buffer) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    static final ValueCodec<Double> FLOAT64 = new ValueCodec<Double>() {
+        @Override
+        public int size(Double value) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(Double value, ByteBuffer buffer) {
+            buffer.putDouble(value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    static final ValueCodec<String> UTF8 = new ValueCodec<String>() {
+        private int encodedLength(String value) {
+            int length = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    length += 1;
+                }
+                else if (c < 0x800) {
+                    length += 2;
+                }
+                else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                }
+                else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogates are replaced with '?'
+                    length += 1;
+                }
+                else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+
+        @Override
+        public int size(String value) {
+            return Integer.BYTES + encodedLength(value);
+        }
+
+        @Override
+        public void write(String value, ByteBuffer buffer) {
+            int length = encodedLength(value);
+            if (buffer.remaining() < Integer.BYTES + length)
+                throw new BufferOverflowException();
+            buffer.putInt(length);
+            // Encodes as encodedLength counts, which is what the UTF-8 charset does with unpaired surrogates replaced
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer.put((byte) c);
+                }
+                else if (c < 0x800) {
+                    buffer.put((byte) (0xc0 | c >> 6));
+                    buffer.put((byte) (0x80 | c & 0x3f));
+                }
+                else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    buffer.put((byte) (0xf0 | cp >> 18));
+                    buffer.put((byte) (0x80 | cp >> 12 & 0x3f));
+                    buffer.put((byte) (0x80 | cp >> 6 & 0x3f));
+                    buffer.put((byte) (0x80 | cp & 0x3f));
+                }
+                else if (Character.isSurrogate(c)) {
+                    buffer.put((byte) '?');
+                }
+                else {
+                    buffer.put((byte) (0xe0 | c >> 12));
+                    buffer.put((byte) (0x80 | c >> 6 & 0x3f));
+                    buffer.put((byte) (0x80 | c & 0x3f));
+                }
+            }
+        }
+
+        @Override
+        public String read(ByteBuffer buffer) {
+            int length = length(buffer);
+            String value;
+            if (buffer.hasArray()) {
+                value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            }
+            else {
+                byte[] bytes = new byte[length];
+                buffer.duplicate().get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+    };
+
+    static final ValueCodec<ByteBuffer> BYTES = new ValueCodec<ByteBuffer>() {
+        @Override
+        public int size(ByteBuffer value) {
+            return Integer.BYTES + value.remaining();
+        }
+
+        @Override
+        public void write(ByteBuffer value, ByteBuffer buffer) {
+            if (buffer.remaining() < Integer.BYTES + value.remaining())
+                throw new BufferOverflowException();
+            buffer.putInt(value.remaining());
+            buffer.put(value.duplicate());
+        }
+
+        @Override
+        public ByteBuffer read(ByteBuffer buffer) {
+            int length = length(buffer);
+            ByteBuffer slice = buffer.slice();
+            slice.limit(length);
+            buffer.position(buffer.position() + length);
+            return slice.asReadOnlyBuffer();
+        }
+    };
+}
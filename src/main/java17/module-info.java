@@ -0,0 +1,3 @@
+module se.fnord.either {
+    exports se.fnord.either;
+}
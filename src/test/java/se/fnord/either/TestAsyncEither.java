@@ -0,0 +1,183 @@
+package se.fnord.either;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+import static se.fnord.either.TestUtil.leftValue;
+
+public class TestAsyncEither {
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final Executor executor = r -> {
+        submitted.incrementAndGet();
+        pool.execute(r);
+    };
+
+    @After
+    public void tearDown() throws InterruptedException {
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static <L, R> Either<L, R> get(AsyncEither<L, R> e) throws ExecutionException, InterruptedException {
+        return e.toCompletableFuture().get();
+    }
+
+    @Test
+    public void testCompletedRunsWithoutExecutor() throws Exception {
+        AsyncEither<String, Integer> e = AsyncEither.<String, Integer>completed(Either.right(1), executor)
+                .map(i -> i + 1)
+                .flatMap(i -> Either.right(i * 2))
+                .leftMap(s -> s + "L");
+
+        assertTrue(e.isDone());
+        assertRight(4, get(e));
+        assertEquals(0, submitted.get());
+    }
+
+    @Test
+    public void testPendingRunsOnExecutor() throws Exception {
+        CompletableFuture<Either<String, Integer>> source = new CompletableFuture<>();
+        AsyncEither<String, Integer> e = AsyncEither.of(source, executor)
+                .map(i -> i + 1)
+                .leftMap(s -> s + "L");
+
+        assertFalse(e.isDone());
+        source.complete(Either.right(1));
+        assertRight(2, get(e));
+        assertEquals(2, submitted.get());
+    }
+
+    @Test
+    public void testLeft() throws Exception {
+        AsyncEither<String, Integer> e = AsyncEither.<String, Integer>completed(Either.left("L"), null)
+                .map(i -> i + 1)
+                .leftMap(s -> s + "L")
+                .bimap(s -> s + "L", i -> i + 1);
+
+        assertLeft("LLL", get(e));
+    }
+
+    @Test
+    public void testFlatMapAsync() throws Exception {
+        CompletableFuture<Either<String, Integer>> inner = new CompletableFuture<>();
+        AsyncEither<String, Integer> e = AsyncEither.<String, Integer>completed(Either.right(1), executor)
+                .flatMapAsync(i -> AsyncEither.of(inner, executor))
+                .map(i -> i + 1);
+
+        assertFalse(e.isDone());
+        inner.complete(Either.right(2));
+        assertRight(3, get(e));
+
+        AsyncEither<String, Integer> left = AsyncEither.<String, Integer>completed(Either.left("L"), executor)
+                .flatMapAsync(i -> { throw new AssertionError(); });
+        assertLeft("L", get(left));
+    }
+
+    @Test
+    public void testFromStage() throws Exception {
+        CompletableFuture<Integer> failing = new CompletableFuture<>();
+        failing.completeExceptionally(new IOException("failed"));
+
+        assertThat(leftValue(get(AsyncEither.fromStage(failing, executor))), instanceOf(IOException.class));
+        assertRight(1, get(AsyncEither.fromStage(CompletableFuture.completedFuture(1), executor)));
+
+        CompletableFuture<Integer> later = CompletableFuture.supplyAsync(() -> { throw new IllegalStateException(); }, pool);
+        assertThat(leftValue(get(AsyncEither.fromStage(later, executor))), instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void testSupplyAsync() throws Exception {
+        assertRight(1, get(AsyncEither.supplyAsync(() -> 1, executor)));
+        assertThat(leftValue(get(AsyncEither.supplyAsync(() -> { throw new IOException(); }, executor))), instanceOf(IOException.class));
+    }
+
+    @Test
+    public void testFold() throws Exception {
+        assertEquals("R1", AsyncEither.completed(Either.right(1), executor).fold(l -> "L" + l, r -> "R" + r).toCompletableFuture().get());
+        assertEquals("LL", AsyncEither.completed(Either.left("L"), executor).fold(l -> "L" + l, r -> "R" + r).toCompletableFuture().get());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testThrowingStage() throws Exception {
+        get(AsyncEither.<String, Integer>completed(Either.right(1), null).map(i -> { throw new IllegalStateException(); }));
+    }
+
+    @Test
+    public void testFailuresOnlyBecomeLeftsWhenCaptured() throws Exception {
+        CompletableFuture<Either<String, Integer>> failing = new CompletableFuture<>();
+        AsyncEither<String, Integer> of = AsyncEither.of(failing, executor);
+        AsyncEither<String, Integer> mapped = AsyncEither.<String, Integer>completed(Either.right(1), executor).map(i -> { throw new IllegalStateException(); });
+        failing.completeExceptionally(new IOException("failed"));
+
+        for (AsyncEither<String, Integer> e : Arrays.asList(of, mapped, of.map(i -> i + 1))) {
+            try {
+                get(e);
+                fail();
+            }
+            catch (ExecutionException x) {
+                assertNotNull(x.getCause());
+            }
+        }
+
+        // The same failures are captured as left values by fromStage
+        assertThat(leftValue(get(AsyncEither.fromStage(of.toCompletableFuture(), executor))), instanceOf(IOException.class));
+        assertThat(leftValue(get(AsyncEither.fromStage(mapped.toCompletableFuture(), executor))), instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void testCapturePolicy() throws Exception {
+        CapturePolicy<Exception> policy = CapturePolicy.exceptions();
+        CompletableFuture<Either<Exception, Integer>> failing = new CompletableFuture<>();
+        AsyncEither<Exception, Integer> of = AsyncEither.of(failing, executor, policy);
+        failing.completeExceptionally(new IOException("failed"));
+        assertThat(leftValue(get(of)), instanceOf(IOException.class));
+
+        AsyncEither<Exception, Integer> one = AsyncEither.completed(Either.right(1), executor);
+        assertRight(2, get(one.tryMap(i -> i + 1, policy)));
+        assertThat(leftValue(get(one.tryMap(i -> { throw new IOException(); }, policy))), instanceOf(IOException.class));
+        assertRight(3, get(one.tryFlatMap(i -> Either.right(i + 2), policy)));
+        assertThat(leftValue(get(one.tryFlatMap(i -> { throw new IOException(); }, policy))), instanceOf(IOException.class));
+        assertSame(leftValue(get(of)), leftValue(get(of.tryMap(i -> { throw new IOException(); }, policy))));
+
+        CapturePolicy<String> named = CapturePolicy.<String>builder().otherwise(e -> e.getClass().getSimpleName());
+        assertLeft("IOException", get(AsyncEither.completed(Either.<String, Integer>right(1), executor).tryMap(i -> { throw new IOException(); }, named)));
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testCapturePolicyLeavesErrors() throws Exception {
+        CompletableFuture<Either<Exception, Integer>> failing = new CompletableFuture<>();
+        failing.completeExceptionally(new AssertionError());
+        get(AsyncEither.of(failing, executor, CapturePolicy.exceptions()));
+    }
+
+    @Test
+    public void testOfCopiesStage() throws Exception {
+        CompletableFuture<Either<String, Integer>> stage = CompletableFuture.completedFuture(Either.right(1));
+        AsyncEither<String, Integer> e = AsyncEither.of(stage, executor);
+        stage.obtrudeValue(Either.right(2));
+        assertRight(1, get(e));
+        assertRight(2, get(e.map(i -> i + 1)));
+    }
+
+    @Test
+    public void testToCompletableFutureIsACopy() throws Exception {
+        AsyncEither<String, Integer> e = AsyncEither.of(new CompletableFuture<>(), null);
+        e.toCompletableFuture().complete(Either.right(1));
+        assertFalse(e.isDone());
+    }
+}
@@ -0,0 +1,62 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestCapturePolicy {
+    private static final StacklessException FAILED = new StacklessException("failed");
+
+    private final CapturePolicy<String> policy = CapturePolicy.<String>builder()
+            .on(StacklessException.class, "stackless")
+            .on(IllegalArgumentException.class, Throwable::getMessage)
+            .otherwise(e -> "other");
+
+    @Test
+    public void testFromSupplier() {
+        assertRight("R", policy.fromSupplier(() -> "R"));
+        assertLeft("stackless", policy.fromSupplier(() -> { throw FAILED; }));
+        assertLeft("L", policy.fromSupplier(() -> { throw new IllegalArgumentException("L"); }));
+        assertLeft("other", policy.fromSupplier(() -> { throw new IOException(); }));
+    }
+
+    @Test
+    public void testFromFunction() {
+        assertRight(1, policy.fromFunction(Integer::parseInt, "1"));
+        assertLeft("For input string: \"L\"", policy.fromFunction(Integer::parseInt, "L"));
+    }
+
+    @Test
+    public void testFromBiFunction() {
+        assertRight(10, policy.fromBiFunction(Integer::parseInt, "A", 16));
+        assertLeft("other", policy.fromBiFunction((a, b) -> { throw new IOException(); }, "A", 16));
+    }
+
+    @Test
+    public void testRegisteredValueIsShared() {
+        Either<String, Object> first = policy.fromSupplier(() -> { throw FAILED; });
+        Either<String, Object> second = policy.fromSupplier(() -> { throw new StacklessException("again"); });
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testFirstRegisteredTypeWins() {
+        CapturePolicy<String> p = CapturePolicy.<String>builder()
+                .on(RuntimeException.class, "runtime")
+                .on(IllegalArgumentException.class, "illegal")
+                .otherwise("other");
+
+        assertLeft("runtime", p.fromSupplier(() -> { throw new IllegalArgumentException(); }));
+        assertLeft("other", p.fromSupplier(() -> { throw new IOException(); }));
+    }
+
+    @Test
+    public void testStacklessException() {
+        assertEquals(0, FAILED.getStackTrace().length);
+        assertEquals(0, new StacklessException("L").getStackTrace().length);
+    }
+}
@@ -0,0 +1,192 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+import static se.fnord.either.TestUtil.leftValue;
+
+public class TestCircuitBreaker {
+    private final AtomicLong time = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private CircuitBreaker breaker() {
+        return CircuitBreaker.builder()
+            .windowSize(10)
+            .minimumCalls(4)
+            .failureRateThreshold(0.5)
+            .openDuration(Duration.ofSeconds(10))
+            .ticker(time::get)
+            .build();
+    }
+
+    private Either<Exception, Integer> call(boolean fail) {
+        calls.incrementAndGet();
+        return fail ? Either.left(new IOException()) : Either.right(1);
+    }
+
+    @Test
+    public void testOpensAtThreshold() {
+        CircuitBreaker breaker = breaker();
+        Function<Boolean, Either<Exception, Integer>> f = EitherOps.circuitBroken(this::call, breaker);
+
+        f.apply(true);
+        f.apply(true);
+        f.apply(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        f.apply(false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        f.apply(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        Either<Exception, Integer> rejected = f.apply(false);
+        assertThat(leftValue(rejected), instanceOf(CircuitBreakerOpenException.class));
+        assertSame(rejected, f.apply(false));
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    public void testStaysClosedBelowThreshold() {
+        CircuitBreaker breaker = breaker();
+        Function<Boolean, Either<Exception, Integer>> f = EitherOps.circuitBroken(this::call, breaker);
+        for (int i = 0; i < 100; i++)
+            f.apply(i % 3 == 2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(100, calls.get());
+    }
+
+    @Test
+    public void testHalfOpenTrial() {
+        CircuitBreaker breaker = breaker();
+        Function<Boolean, Either<Exception, Integer>> f = EitherOps.circuitBroken(this::call, breaker);
+        for (int i = 0; i < 4; i++)
+            f.apply(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        time.addAndGet(Duration.ofSeconds(10).toNanos());
+        f.apply(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(5, calls.get());
+
+        f.apply(false);
+        assertEquals(5, calls.get());
+
+        time.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertRight(1, f.apply(false));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // The window starts over once closed
+        f.apply(true);
+        f.apply(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testOnlyOneTrial() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++)
+            breaker.release(breaker.acquire(), true);
+        time.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertEquals(CircuitBreaker.TRIAL, breaker.acquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals(CircuitBreaker.REJECTED, breaker.acquire());
+    }
+
+    @Test
+    public void testExceptionCountsAsFailure() {
+        CircuitBreaker breaker = breaker();
+        Function<Integer, Either<Exception, Integer>> f = EitherOps.circuitBroken(i -> {
+            throw new IllegalStateException();
+        }, breaker);
+        for (int i = 0; i < 4; i++) {
+            try {
+                f.apply(i);
+                fail();
+            }
+            catch (IllegalStateException expected) {
+            }
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    public void testCustomOpenValue() {
+        CircuitBreaker breaker = breaker();
+        Function<Integer, Either<String, Integer>> f = EitherOps.circuitBroken(i -> Either.left("fail"), breaker, "open");
+        for (int i = 0; i < 4; i++)
+            assertLeft("fail", f.apply(i));
+        assertLeft("open", f.apply(0));
+    }
+
+    @Test
+    public void testAsync() throws Exception {
+        CircuitBreaker breaker = breaker();
+        CompletableFuture<Either<Exception, Integer>> pending = new CompletableFuture<>();
+        Function<Integer, AsyncEither<Exception, Integer>> f = EitherOps.circuitBrokenAsync(i -> AsyncEither.of(pending, null), breaker);
+        for (int i = 0; i < 4; i++)
+            f.apply(i);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        pending.complete(Either.left(new IOException()));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertThat(leftValue(f.apply(0).toCompletableFuture().get()), instanceOf(CircuitBreakerOpenException.class));
+    }
+
+    @Test
+    public void testAsyncTrialTimeout() throws Exception {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+            .windowSize(10)
+            .minimumCalls(4)
+            .openDuration(Duration.ofSeconds(10))
+            .trialTimeout(Duration.ofSeconds(5))
+            .ticker(time::get)
+            .build();
+        CompletableFuture<Either<Exception, Integer>> never = new CompletableFuture<>();
+        Function<Integer, AsyncEither<Exception, Integer>> f = EitherOps.circuitBrokenAsync(i -> {
+            calls.incrementAndGet();
+            return i == 0 ? AsyncEither.of(never, null) : AsyncEither.completed(Either.right(i), null);
+        }, breaker);
+        for (int i = 0; i < 4; i++)
+            breaker.release(breaker.acquire(), true);
+        time.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        f.apply(0);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        time.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(leftValue(f.apply(1).toCompletableFuture().get()), instanceOf(CircuitBreakerOpenException.class));
+
+        // The trial times out and counts as failed, so the breaker opens for another open duration
+        time.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(leftValue(f.apply(1).toCompletableFuture().get()), instanceOf(CircuitBreakerOpenException.class));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        time.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertRight(1, f.apply(1).toCompletableFuture().get());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // The late outcome of the abandoned trial is ignored
+        never.complete(Either.left(new IOException()));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testAsyncNullCountsAsFailure() {
+        CircuitBreaker breaker = breaker();
+        CompletableFuture<Either<Exception, Integer>> pending = new CompletableFuture<>();
+        Function<Integer, AsyncEither<Exception, Integer>> f = EitherOps.circuitBrokenAsync(i -> AsyncEither.of(pending, null), breaker);
+        for (int i = 0; i < 4; i++)
+            f.apply(i);
+        pending.complete(null);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+}
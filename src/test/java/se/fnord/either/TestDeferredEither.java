@@ -0,0 +1,83 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestDeferredEither {
+    private static final int DEPTH = 1_000_000;
+
+    private static DeferredEither<String, Integer> countDown(int n) {
+        if (n == 0)
+            return DeferredEither.right(0);
+        return DeferredEither.<String, Integer>defer(() -> countDown(n - 1)).map(i -> i + 1);
+    }
+
+    private static DeferredEither<String, Integer> failAt(int n, int failure) {
+        if (n == failure)
+            return DeferredEither.left("failed at " + n);
+        if (n == 0)
+            return DeferredEither.right(0);
+        return DeferredEither.<String, Integer>right(n - 1).flatMap(i -> failAt(i, failure)).map(i -> i + 1);
+    }
+
+    @Test
+    public void testNow() {
+        assertRight(1, DeferredEither.now(Either.right(1)).evaluate());
+        assertLeft("L", DeferredEither.now(Either.left("L")).evaluate());
+    }
+
+    @Test
+    public void testMap() {
+        assertRight(2, DeferredEither.<String, Integer>right(1).map(i -> i + 1).evaluate());
+        assertLeft("L", DeferredEither.<String, Integer>left("L").map(i -> i + 1).evaluate());
+        assertLeft("LL", DeferredEither.<String, Integer>left("L").leftMap(s -> s + "L").evaluate());
+        assertRight(1, DeferredEither.<String, Integer>right(1).leftMap(s -> s + "L").evaluate());
+    }
+
+    @Test
+    public void testFlatMap() {
+        assertRight(2, DeferredEither.<String, Integer>right(1).flatMap(i -> DeferredEither.right(i + 1)).evaluate());
+        assertLeft("1", DeferredEither.<String, Integer>right(1).flatMap(i -> DeferredEither.<String, Integer>left(i.toString())).evaluate());
+        assertRight(1, DeferredEither.<String, Integer>left("L").leftFlatMap(s -> DeferredEither.<String, Integer>right(s.length())).evaluate());
+    }
+
+    @Test
+    public void testDeepRecursion() {
+        assertRight(DEPTH, countDown(DEPTH).evaluate());
+        assertRight(DEPTH, failAt(DEPTH, -1).evaluate());
+    }
+
+    @Test
+    public void testDeepLeftShortCircuits() {
+        AtomicInteger recovered = new AtomicInteger();
+        Either<String, Integer> result = failAt(DEPTH, 10)
+            .leftFlatMap(s -> {
+                recovered.incrementAndGet();
+                return DeferredEither.left(s);
+            })
+            .evaluate();
+        assertLeft("failed at 10", result);
+        assertEquals(1, recovered.get());
+    }
+
+    @Test
+    public void testLongLeftAssociatedChain() {
+        DeferredEither<String, Integer> chain = DeferredEither.right(0);
+        for (int i = 0; i < DEPTH; i++)
+            chain = chain.flatMap(v -> DeferredEither.right(v + 1));
+        assertRight(DEPTH, chain.evaluate());
+    }
+
+    @Test
+    public void testReevaluates() {
+        AtomicInteger calls = new AtomicInteger();
+        DeferredEither<String, Integer> deferred = DeferredEither.defer(() -> DeferredEither.right(calls.incrementAndGet()));
+        assertRight(1, deferred.evaluate());
+        assertRight(2, deferred.evaluate());
+    }
+}
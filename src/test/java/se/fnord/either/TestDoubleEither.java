@@ -0,0 +1,123 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestDoubleEither {
+    @Test
+    public void testFromSupplier() {
+        assertEquals(DoubleEither.right(1.0), DoubleEither.fromSupplier((DoubleSupplier) () -> 1.0));
+        assertTrue(DoubleEither.fromSupplier((ThrowingDoubleSupplier) () -> { throw new IOException(); }).isLeft());
+        assertTrue(DoubleEither.fromFunction(Double::parseDouble, "L").isLeft());
+        assertEquals(DoubleEither.right(1.0), DoubleEither.fromFunction(Double::parseDouble, "1"));
+    }
+
+    @Test
+    public void testEitherConversion() {
+        assertRight(1.0, DoubleEither.right(1.0).toEither());
+        assertLeft("L", DoubleEither.left("L").toEither());
+        assertEquals(DoubleEither.right(1.0), DoubleEither.fromEither(Either.right(1.0)));
+        assertEquals(DoubleEither.left("L"), DoubleEither.fromEither(Either.left("L")));
+    }
+
+    @Test
+    public void testFromEitherNullRight() {
+        try {
+            DoubleEither.fromEither(Either.<String, Double>right(null));
+            fail();
+        }
+        catch (NullPointerException e) {
+            assertEquals("Right value is null and cannot be unboxed to double", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMapToDouble() {
+        assertEquals(DoubleEither.right(2.0), DoubleEither.right(1.0).mapToDouble(i -> i + 1.0));
+        DoubleEither<String> left = DoubleEither.left("L");
+        assertSame(left, left.mapToDouble(i -> i + 1.0));
+    }
+
+    @Test
+    public void testMapToObj() {
+        assertRight("1.0", DoubleEither.right(1.0).mapToObj(Double::toString));
+        assertLeft("L", DoubleEither.left("L").mapToObj(Double::toString));
+    }
+
+    @Test
+    public void testLeftMap() {
+        assertEquals(DoubleEither.left("LL"), DoubleEither.left("L").leftMap(s -> s + "L"));
+        DoubleEither<String> right = DoubleEither.right(1.0);
+        assertSame(right, right.leftMap(s -> s + "L"));
+    }
+
+    @Test
+    public void testFlatMapToDouble() {
+        assertEquals(DoubleEither.right(2.0), DoubleEither.<String>right(1.0).flatMapToDouble(i -> DoubleEither.right(i + 1.0)));
+        assertEquals(DoubleEither.left("1.0"), DoubleEither.<String>right(1.0).flatMapToDouble(i -> DoubleEither.left(Double.toString(i))));
+        assertEquals(DoubleEither.left("L"), DoubleEither.<String>left("L").flatMapToDouble(i -> DoubleEither.right(i + 1.0)));
+    }
+
+    @Test
+    public void testFold() {
+        assertEquals(2.0, DoubleEither.right(1.0).foldDouble(l -> -1, i -> i + 1.0), 0.0);
+        assertEquals(-1.0, DoubleEither.left("L").foldDouble(l -> -1, i -> i + 1.0), 0.0);
+        assertEquals("R1.0", DoubleEither.right(1.0).fold(l -> "L" + l, i -> "R" + i));
+        assertEquals("LL", DoubleEither.left("L").fold(l -> "L" + l, i -> "R" + i));
+    }
+
+    @Test
+    public void testOrElse() {
+        assertEquals(1.0, DoubleEither.right(1.0).orElseDouble(2.0), 0.0);
+        assertEquals(1.0, DoubleEither.right(1.0).orElseDouble(l -> 2.0), 0.0);
+        assertEquals(2.0, DoubleEither.left("L").orElseDouble(2.0), 0.0);
+        assertEquals(1.0, DoubleEither.left("L").orElseDouble(String::length), 0.0);
+    }
+
+    @Test
+    public void testIsLeftIsRight() {
+        assertTrue(DoubleEither.left("L").isLeft());
+        assertFalse(DoubleEither.left("L").isRight());
+        assertFalse(DoubleEither.right(1.0).isLeft());
+        assertTrue(DoubleEither.right(1.0).isRight());
+    }
+
+    @Test
+    public void testOption() {
+        assertEquals(OptionalDouble.of(1), DoubleEither.right(1.0).option());
+        assertEquals(OptionalDouble.empty(), DoubleEither.left("L").option());
+        assertEquals(Optional.empty(), DoubleEither.right(1.0).leftOption());
+        assertEquals(Optional.of("L"), DoubleEither.left("L").leftOption());
+    }
+
+    @Test
+    public void testStream() {
+        assertArrayEquals(new double[] {1}, DoubleEither.right(1.0).stream().toArray(), 0.0);
+        assertArrayEquals(new double[] {}, DoubleEither.left("L").stream().toArray(), 0.0);
+        assertArrayEquals(new String[] {}, DoubleEither.right(1.0).leftStream().toArray(String[]::new));
+        assertArrayEquals(new String[] {"L"}, DoubleEither.left("L").leftStream().toArray(String[]::new));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("right<1.0>", DoubleEither.right(1.0).toString());
+        assertEquals("left<L>", DoubleEither.left("L").toString());
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        assertNotEquals(DoubleEither.right(2.0), DoubleEither.right(1.0));
+        assertEquals(DoubleEither.right(Double.NaN), DoubleEither.right(Double.NaN));
+        assertNotEquals(DoubleEither.left(1), DoubleEither.right(1.0));
+        assertEquals(Either.right(1.0).hashCode(), DoubleEither.right(1.0).hashCode());
+        assertEquals(Either.left("L").hashCode(), DoubleEither.left("L").hashCode());
+    }
+}
@@ -0,0 +1,100 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestEither {
+    @Test
+    public void testTailRecM() {
+        Either<String, Integer> sum = Either.tailRecM(new int[] { 1_000_000, 0 }, s -> s[0] == 0
+            ? Either.right(Either.right(s[1]))
+            : Either.right(Either.left(new int[] { s[0] - 1, s[1] + 1 })));
+        assertRight(1_000_000, sum);
+    }
+
+    @Test
+    public void testTailRecMLeft() {
+        Either<String, Integer> result = Either.tailRecM(0, i -> i == 100_000
+            ? Either.left("stopped at " + i)
+            : Either.right(Either.left(i + 1)));
+        assertLeft("stopped at 100000", result);
+    }
+
+    @Test
+    public void testEquality() {
+        assertEquals(Either.left("a"), Either.left("a"));
+        assertEquals(Either.right("a"), Either.right("a"));
+        assertEquals(Either.right(null), Either.right(null));
+        assertNotEquals(Either.left("a"), Either.right("a"));
+        assertNotEquals(Either.left(null), Either.right(null));
+        assertEquals(Either.left("a").hashCode(), Either.left("a").hashCode());
+        assertEquals("left<a>", Either.left("a").toString());
+        assertEquals("right<1>", Either.right(1).toString());
+    }
+
+    @Test
+    public void testTagBranching() {
+        Either<String, Integer> left = Either.left("a");
+        Either<String, Integer> right = Either.right(1);
+
+        assertEquals("a!", left.fold(l -> l + "!", r -> "no"));
+        assertEquals(Integer.valueOf(2), right.fold(l -> -1, r -> r + 1));
+        assertEquals(Integer.valueOf(7), left.orElse(7));
+        assertEquals(Integer.valueOf(1), right.orElse(7));
+        assertEquals(Integer.valueOf(1), left.orElse(String::length));
+        assertSame(left, left.bimap(Function.identity(), r -> r + 1));
+        assertSame(right, right.bimap(l -> l + "!", Function.identity()));
+        assertLeft("a!", left.bimap(l -> l + "!", r -> r + 1));
+        assertRight(2, right.bimap(l -> l + "!", r -> r + 1));
+        assertRight("a", left.swap());
+        assertLeft(1, right.swap());
+        assertEquals(Optional.of("a"), left.leftOption());
+        assertEquals(Optional.empty(), left.rightOption());
+    }
+
+    @Test
+    public void testInterned() {
+        assertSame(Either.unit(), Either.right(null));
+        assertSame(Either.rightTrue(), Either.right(true));
+        assertSame(Either.rightFalse(), Either.right(false));
+        assertSame(Either.right(-128), Either.right(-128));
+        assertSame(Either.right(127), Either.right(127));
+        assertSame(Either.left(0), Either.left(0));
+        assertSame(Either.left(null), Either.left(null));
+        assertNotSame(Either.right(128), Either.right(128));
+        assertNotSame(Either.right(-129), Either.right(-129));
+        assertNotSame(Either.left(1), Either.right(1));
+        assertNotSame(Either.left(true), Either.right(true));
+
+        assertTrue(Either.unit().isRight());
+        assertNull(Either.unit().orElse((Void) null));
+        assertRight(true, Either.rightTrue());
+        assertRight(false, Either.rightFalse());
+        assertLeft(5, Either.left(5));
+        assertEquals(Either.right(5), Either.right(2).map(i -> i + 3));
+        assertEquals(Either.right(1000), Either.right(1000));
+        assertEquals(Either.right(5).hashCode(), Either.right(Integer.valueOf(5)).hashCode());
+    }
+
+    @Test
+    public void testInternedKeepsIdentity() {
+        Integer boxed = Integer.valueOf(5);
+        @SuppressWarnings("deprecation")
+        Integer distinct = new Integer(5);
+        assertSame(boxed, Either.right(boxed).orElse((Integer) null));
+        assertSame(distinct, Either.right(distinct).orElse((Integer) null));
+        assertSame(distinct, Either.left(distinct).swap().orElse((Integer) null));
+        assertEquals(Either.right(boxed), Either.right(distinct));
+    }
+}
@@ -0,0 +1,122 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestEitherArray {
+    // Spans several tag words, with a partial last word
+    private static EitherArray<String, Integer> sample(int size) {
+        EitherArray<String, Integer> array = EitherArray.ofSize(size);
+        for (int i = 0; i < size; i++) {
+            if (i % 3 == 0)
+                array.setLeft(i, "L" + i);
+            else
+                array.setRight(i, i);
+        }
+        return array;
+    }
+
+    @Test
+    public void testOfSize() {
+        EitherArray<String, String> array = EitherArray.ofSize(3);
+        assertEquals(3, array.size());
+        assertEquals(Either.right(null), array.get(0));
+        assertEquals(0, array.countLefts());
+    }
+
+    @Test
+    public void testOf() {
+        EitherArray<String, String> array = EitherArray.of(Either.left("L"), Either.right("R"));
+        assertLeft("L", array.get(0));
+        assertRight("R", array.get(1));
+        assertEquals("[left<L>, right<R>]", array.toString());
+    }
+
+    @Test
+    public void testSet() {
+        EitherArray<String, String> array = EitherArray.ofSize(2);
+        array.set(0, Either.left("L"));
+        array.set(1, Either.right("R"));
+        assertTrue(array.isLeft(0));
+        assertTrue(array.isRight(1));
+        array.set(0, Either.right("R"));
+        assertTrue(array.isRight(0));
+        assertEquals("R", array.getRight(0));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testGetLeftOfRight() {
+        EitherArray.of(Either.right("R")).getLeft(0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testGetRightOfLeft() {
+        EitherArray.of(Either.left("L")).getRight(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        EitherArray.ofSize(64).get(64);
+    }
+
+    @Test
+    public void testCount() {
+        EitherArray<String, Integer> array = sample(130);
+        assertEquals(44, array.countLefts());
+        assertEquals(86, array.countRights());
+        assertEquals(0, EitherArray.ofSize(0).countLefts());
+    }
+
+    @Test
+    public void testMapRight() {
+        EitherArray<String, Integer> array = sample(130);
+        EitherArray<String, Integer> mapped = array.mapRight(i -> -i);
+        for (int i = 0; i < 130; i++) {
+            if (i % 3 == 0)
+                assertLeft("L" + i, mapped.get(i));
+            else
+                assertRight(-i, mapped.get(i));
+        }
+        assertRight(1, array.get(1));
+    }
+
+    @Test
+    public void testMapLeft() {
+        EitherArray<String, Integer> mapped = sample(130).mapLeft(s -> s + "L");
+        assertLeft("L129L", mapped.get(129));
+        assertRight(128, mapped.get(128));
+    }
+
+    @Test
+    public void testFoldAll() {
+        List<String> folded = sample(5).foldAll(l -> l, r -> "R" + r);
+        assertEquals(Arrays.asList("L0", "R1", "R2", "L3", "R4"), folded);
+    }
+
+    @Test
+    public void testPartition() {
+        Partition<List<String>, List<Integer>> partition = sample(5).partition();
+        assertEquals(Arrays.asList("L0", "L3"), partition.lefts());
+        assertEquals(Arrays.asList(1, 2, 4), partition.rights());
+        assertEquals(Partition.of(Collections.emptyList(), Collections.emptyList()), EitherArray.ofSize(0).partition());
+    }
+
+    @Test
+    public void testFrom() {
+        List<Either<String, Integer>> list = new ArrayList<>();
+        for (int i = 0; i < 70; i++)
+            list.add(sample(70).get(i));
+        assertEquals(sample(70), EitherArray.from(list));
+        assertEquals(sample(70).hashCode(), EitherArray.from(list).hashCode());
+        assertNotEquals(sample(69), EitherArray.from(list));
+    }
+}
@@ -0,0 +1,113 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestEitherBatch {
+    private static Either<String, Integer>[] values(int n) {
+        Either<String, Integer>[] values = BatchLoops.newArray(n);
+        for (int i = 0; i < n; i++)
+            values[i] = i % 10 == 0 ? Either.left("L" + i) : Either.right(i);
+        return values;
+    }
+
+    @Test
+    public void testMapRights() {
+        Either<String, Integer>[] in = values(20);
+        Either<String, Integer>[] out = BatchLoops.newArray(20);
+        EitherBatch.mapRights(in, i -> i * 2, out);
+        for (int i = 0; i < 20; i++) {
+            if (i % 10 == 0)
+                assertSame(in[i], out[i]);
+            else
+                assertRight(i * 2, out[i]);
+        }
+    }
+
+    @Test
+    public void testMapRightsInPlace() {
+        Either<String, Integer>[] in = values(20);
+        EitherBatch.mapRights(in, i -> i + 1, in);
+        assertRight(2, in[1]);
+        assertLeft("L10", in[10]);
+    }
+
+    @Test
+    public void testMapLefts() {
+        Either<String, Integer>[] in = values(20);
+        Either<Integer, Integer>[] out = BatchLoops.newArray(20);
+        EitherBatch.mapLefts(in, String::length, out);
+        assertLeft(3, out[10]);
+        assertSame(in[1], out[1]);
+    }
+
+    @Test
+    public void testFlatMapAll() {
+        Either<String, Integer>[] in = values(20);
+        Either<String, Integer>[] out = BatchLoops.newArray(20);
+        EitherBatch.flatMapAll(in, i -> i % 2 == 0 ? Either.right(i) : Either.left("odd"), out);
+        assertLeft("L0", out[0]);
+        assertLeft("odd", out[1]);
+        assertRight(2, out[2]);
+    }
+
+    @Test
+    public void testFoldAll() {
+        Either<String, Integer>[] in = values(20);
+        String[] out = new String[20];
+        EitherBatch.foldAll(in, l -> l, Object::toString, out);
+        assertEquals("L0", out[0]);
+        assertEquals("1", out[1]);
+    }
+
+    @Test
+    public void testLists() {
+        List<Either<String, Integer>> in = Arrays.asList(values(4));
+        assertEquals(Arrays.asList(Either.left("L0"), Either.right(2), Either.right(3), Either.right(4)), EitherBatch.mapRights(in, i -> i + 1));
+        assertEquals(Arrays.asList(Either.left(2), Either.right(1), Either.right(2), Either.right(3)), EitherBatch.mapLefts(in, String::length));
+        assertEquals(Arrays.asList(Either.left("L0"), Either.left("1"), Either.right(2), Either.left("3")),
+            EitherBatch.flatMapAll(in, i -> i % 2 == 0 ? Either.right(i) : Either.left(i.toString())));
+        assertEquals(Arrays.asList("L0", "1", "2", "3"), EitherBatch.foldAll(in, l -> l, Object::toString));
+        assertLeft("L0", in.get(0));
+        assertRight(1, in.get(1));
+    }
+
+    @Test
+    public void testParallel() {
+        int n = BatchLoops.CHUNK * 10 + 17;
+        Either<String, Integer>[] in = values(n);
+        Either<String, Integer>[] out = BatchLoops.newArray(n);
+        EitherBatch.mapRights(in, i -> i * 2, out, ForkJoinPool.commonPool());
+        for (int i = 0; i < n; i++) {
+            if (i % 10 == 0)
+                assertSame(in[i], out[i]);
+            else
+                assertRight(i * 2, out[i]);
+        }
+
+        List<Either<String, Integer>> mapped = EitherBatch.mapRights(Arrays.asList(in), i -> i * 2, ForkJoinPool.commonPool());
+        assertEquals(n, mapped.size());
+        assertSame(in[0], mapped.get(0));
+        assertRight((n - 1) * 2, mapped.get(n - 1));
+        List<Integer> foldedList = EitherBatch.foldAll(Arrays.asList(in), l -> -1, r -> r, ForkJoinPool.commonPool());
+        assertEquals(Integer.valueOf(-1), foldedList.get(BatchLoops.CHUNK * 10));
+        assertEquals(Integer.valueOf(n - 1), foldedList.get(n - 1));
+
+        Integer[] folded = new Integer[n];
+        EitherBatch.foldAll(in, l -> -1, r -> r, folded, ForkJoinPool.commonPool());
+        assertEquals(Integer.valueOf(-1), folded[BatchLoops.CHUNK * 10]);
+        assertEquals(Integer.valueOf(n - 1), folded[n - 1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortOutput() {
+        EitherBatch.mapRights(values(2), i -> i, BatchLoops.newArray(1));
+    }
+}
@@ -0,0 +1,207 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertRight;
+import static se.fnord.either.TestUtil.leftValue;
+
+public class TestEitherCache {
+    private final AtomicLong time = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Integer lookup(String key) throws IOException {
+        calls.incrementAndGet();
+        if (key.startsWith("fail"))
+            throw new IOException(key);
+        return key.length();
+    }
+
+    private CachePolicy.Builder policy() {
+        return CachePolicy.builder().ticker(time::get);
+    }
+
+    @Test
+    public void testRecursiveLoad() {
+        AtomicReference<Function<String, Either<Exception, Integer>>> self = new AtomicReference<>();
+        Function<String, Either<Exception, Integer>> cached = EitherOps.cached(key -> {
+            calls.incrementAndGet();
+            // "a" depends on "b", which depends on "a"; "c" depends on itself; "d" depends on "e"
+            switch (key) {
+                case "a": return self.get().apply("b").orElse(0) + 1;
+                case "b": return self.get().apply("a").orElse(0) + 1;
+                case "c": return self.get().apply("c").orElse(0) + 1;
+                case "d": return self.get().apply("e").orElse(0) + 1;
+                default: return 1;
+            }
+        }, policy().build());
+        self.set(cached);
+
+        for (String key : new String[] { "a", "c" }) {
+            try {
+                cached.apply(key);
+                fail();
+            }
+            catch (IllegalStateException expected) {
+            }
+        }
+        assertEquals(0, ((EitherCache<?, ?>) cached).size());
+
+        assertRight(2, cached.apply("d"));
+        assertRight(1, cached.apply("e"));
+        calls.set(0);
+        try {
+            cached.apply("a");
+            fail();
+        }
+        catch (IllegalStateException expected) {
+        }
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testCachesRights() {
+        Function<String, Either<Exception, Integer>> cached = EitherOps.cached(this::lookup, policy().build());
+        assertRight(3, cached.apply("abc"));
+        assertRight(3, cached.apply("abc"));
+        assertRight(1, cached.apply("a"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testSeparateTtls() {
+        Function<String, Either<Exception, Integer>> cached = EitherOps.cached(this::lookup, policy()
+            .rightTtl(Duration.ofSeconds(60))
+            .leftTtl(Duration.ofSeconds(5))
+            .build());
+
+        Either<Exception, Integer> failure = cached.apply("fail");
+        assertThat(leftValue(failure), instanceOf(IOException.class));
+        assertRight(2, cached.apply("ok"));
+        assertEquals(2, calls.get());
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertSame(failure, cached.apply("fail"));
+        assertRight(2, cached.apply("ok"));
+        assertEquals(2, calls.get());
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertNotSame(failure, cached.apply("fail"));
+        assertRight(2, cached.apply("ok"));
+        assertEquals(3, calls.get());
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(55));
+        assertRight(2, cached.apply("ok"));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void testZeroTtlDoesNotCache() {
+        Function<String, Either<Exception, Integer>> cached = EitherOps.cached(this::lookup, policy().leftTtl(Duration.ZERO).build());
+        cached.apply("fail");
+        cached.apply("fail");
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testExpiredEntriesDoNotBuildUp() {
+        EitherCache<String, Integer> zeroTtl = new EitherCache<>(this::lookup, policy().leftTtl(Duration.ZERO).build());
+        for (int i = 0; i < 10_000; i++)
+            zeroTtl.apply("fail");
+        assertEquals(10_000, calls.get());
+        assertEquals(1, zeroTtl.size());
+        assertTrue(zeroTtl.queued() <= 2 * zeroTtl.size() + 17);
+
+        EitherCache<String, Integer> expiring = new EitherCache<>(this::lookup, policy().rightTtl(Duration.ofSeconds(1)).build());
+        for (int i = 0; i < 10_000; i++) {
+            expiring.apply("k" + i % 5);
+            time.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        }
+        assertEquals(5, expiring.size());
+        assertTrue(expiring.queued() <= 2 * expiring.size() + 17);
+    }
+
+    @Test
+    public void testMaximumSize() {
+        EitherCache<String, Integer> cached = new EitherCache<>(this::lookup, policy().maximumSize(10).build());
+        for (int i = 0; i < 100; i++)
+            cached.apply("k" + i);
+        assertEquals(10, cached.size());
+    }
+
+    @Test
+    public void testRecentlyUsedSurviveEviction() {
+        EitherCache<String, Integer> cached = new EitherCache<>(this::lookup, policy().maximumSize(2).build());
+        cached.apply("hot");
+        cached.apply("a");
+        cached.apply("hot");
+        cached.apply("b");
+        cached.apply("c");
+        assertEquals(4, calls.get());
+
+        cached.apply("hot");
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void testErrorIsNotCached() {
+        Function<String, Either<Exception, Integer>> cached = EitherOps.cached(k -> {
+            if (calls.incrementAndGet() == 1)
+                throw new AssertionError();
+            return 1;
+        }, policy().build());
+        try {
+            cached.apply("k");
+            fail();
+        }
+        catch (AssertionError expected) {
+        }
+        assertRight(1, cached.apply("k"));
+    }
+
+    @Test
+    public void testCoalescesConcurrentMisses() throws Exception {
+        int threads = 8;
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, Either<Exception, Integer>> cached = EitherOps.cached(k -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await();
+            return k.length();
+        }, policy().build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Either<Exception, Integer>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cached.apply("key")));
+            started.await();
+            for (int i = 1; i < threads; i++)
+                results.add(executor.submit(() -> cached.apply("key")));
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<Either<Exception, Integer>> result : results)
+                assertRight(3, result.get());
+            assertEquals(1, calls.get());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
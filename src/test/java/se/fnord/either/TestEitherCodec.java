@@ -0,0 +1,188 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestEitherCodec {
+    private final EitherCodec<String, Long> codec = EitherCodec.of(ValueCodec.utf8(), ValueCodec.int64());
+
+    private static <T> T roundTrip(ValueCodec<T> codec, T value, ByteBuffer buffer) {
+        codec.write(value, buffer);
+        assertEquals(codec.size(value), buffer.position());
+        buffer.flip();
+        T read = codec.read(buffer);
+        assertFalse(buffer.hasRemaining());
+        return read;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        assertLeft("fnord", roundTrip(codec, Either.left("fnord"), ByteBuffer.allocate(64)));
+        assertRight(17L, roundTrip(codec, Either.right(17L), ByteBuffer.allocate(64)));
+        assertLeft("fnord", roundTrip(codec, Either.left("fnord"), ByteBuffer.allocateDirect(64)));
+        assertRight(17L, roundTrip(codec, Either.right(17L), ByteBuffer.allocateDirect(64).order(ByteOrder.LITTLE_ENDIAN)));
+    }
+
+    @Test
+    public void testLayout() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        codec.write(Either.right(1L), buffer);
+        codec.write(Either.left("a"), buffer);
+        buffer.flip();
+        assertEquals(EitherCodec.RIGHT, buffer.get());
+        assertEquals(1L, buffer.getLong());
+        assertEquals(EitherCodec.LEFT, buffer.get());
+        assertEquals(1, buffer.getInt());
+        assertEquals('a', buffer.get());
+    }
+
+    @Test
+    public void testStockCodecs() {
+        assertEquals(Integer.valueOf(-5), roundTrip(ValueCodec.int32(), -5, ByteBuffer.allocate(4)));
+        assertEquals(Double.valueOf(0.5), roundTrip(ValueCodec.float64(), 0.5, ByteBuffer.allocate(8)));
+        for (String s : Arrays.asList("", "ascii", "\u00e5\u00e4\u00f6", "\u20ac", "\ud83d\ude00", "\ud83dx"))
+            assertEquals(new String(s.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8), roundTrip(ValueCodec.utf8(), s, ByteBuffer.allocateDirect(32)));
+    }
+
+    @Test
+    public void testBytesIsSlice() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        ValueCodec.bytes().write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), buffer);
+        buffer.flip();
+        ByteBuffer read = ValueCodec.bytes().read(buffer);
+        assertEquals(3, read.remaining());
+        assertTrue(read.isReadOnly());
+        buffer.put(5, (byte) 9);
+        assertEquals(9, read.get(1));
+    }
+
+    @Test
+    public void testNested() {
+        EitherCodec<Integer, Either<String, Long>> nested = EitherCodec.of(ValueCodec.int32(), codec);
+        Either<Integer, Either<String, Long>> value = Either.right(Either.left("inner"));
+        assertEquals(value, roundTrip(nested, value, ByteBuffer.allocate(64)));
+    }
+
+    @Test
+    public void testOverflowLeavesPosition() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.put((byte) 1);
+        try {
+            codec.write(Either.left("too long for the buffer"), buffer);
+            fail();
+        }
+        catch (BufferOverflowException expected) {
+        }
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    public void testUtf8MatchesCharset() {
+        Random random = new Random(17);
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        for (int n = 0; n < 1000; n++) {
+            char[] chars = new char[random.nextInt(20)];
+            for (int i = 0; i < chars.length; i++) {
+                // Mostly ASCII, with two- and three-byte characters and surrogates, paired or not
+                int kind = random.nextInt(5);
+                chars[i] = (char) (kind < 2 ? random.nextInt(0x80) : kind == 2 ? random.nextInt(0x800) : kind == 3 ? 0xd800 + random.nextInt(0x800) : random.nextInt(0x10000));
+            }
+            String value = new String(chars);
+            byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+            buffer.clear();
+            ValueCodec.utf8().write(value, buffer);
+            assertEquals(ValueCodec.utf8().size(value), buffer.position());
+            assertEquals(expected.length, buffer.getInt(0));
+            byte[] actual = new byte[expected.length];
+            buffer.position(Integer.BYTES);
+            buffer.get(actual);
+            assertArrayEquals(value, expected, actual);
+        }
+    }
+
+    @Test
+    public void testValueOverflowLeavesPosition() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.put((byte) 1);
+        for (Runnable write : Arrays.<Runnable>asList(
+                () -> ValueCodec.utf8().write("too long", buffer),
+                () -> ValueCodec.bytes().write(ByteBuffer.allocate(4), buffer))) {
+            try {
+                write.run();
+                fail();
+            }
+            catch (BufferOverflowException expected) {
+            }
+            assertEquals(1, buffer.position());
+            assertEquals(0, buffer.get(1));
+        }
+    }
+
+    @Test(expected = BufferUnderflowException.class)
+    public void testUnderflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        codec.write(Either.left("fnord"), buffer);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 1);
+        codec.read(buffer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTag() {
+        codec.read(ByteBuffer.wrap(new byte[] { 7 }));
+    }
+
+    @Test
+    public void testNegativeLength() {
+        for (ValueCodec<?> valueCodec : Arrays.asList(ValueCodec.utf8(), ValueCodec.bytes())) {
+            ByteBuffer buffer = ByteBuffer.allocate(8);
+            buffer.putInt(-4).putInt(0).flip();
+            try {
+                valueCodec.read(buffer);
+                fail();
+            }
+            catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testBulk() {
+        List<Either<String, Long>> values = new ArrayList<>();
+        for (long i = 0; i < 100; i++)
+            values.add(i % 7 == 0 ? Either.left("failed " + i) : Either.right(i));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+        codec.writeAll(values, buffer);
+        buffer.flip();
+        assertEquals(values, codec.readAll(buffer.duplicate()));
+
+        List<Either<String, Long>> streamed = new ArrayList<>();
+        assertEquals(100, codec.readAll(buffer, streamed::add));
+        assertEquals(values, streamed);
+    }
+
+    @Test
+    public void testBulkOverflowLeavesPosition() {
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+        try {
+            codec.writeAll(Arrays.asList(Either.right(1L), Either.right(2L)), buffer);
+            fail();
+        }
+        catch (BufferOverflowException expected) {
+        }
+        assertEquals(0, buffer.position());
+    }
+}
@@ -0,0 +1,96 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestEitherCollectors {
+    private static Either<String, Integer> parse(String s) {
+        return s.chars().allMatch(Character::isDigit) ? Either.right(Integer.parseInt(s)) : Either.left(s);
+    }
+
+    private static Stream<Either<String, Integer>> parsed(String... strings) {
+        return Stream.of(strings).map(TestEitherCollectors::parse);
+    }
+
+    private static Stream<Either<String, Integer>> numbers(int count) {
+        return IntStream.range(0, count).mapToObj(i -> i % 10 == 0 ? Either.left("L" + i) : Either.right(i));
+    }
+
+    @Test
+    public void testPartition() {
+        Partition<List<String>, List<Integer>> partition = parsed("1", "A", "2", "B").collect(EitherCollectors.partition());
+        assertEquals(Arrays.asList("A", "B"), partition.lefts());
+        assertEquals(Arrays.asList(1, 2), partition.rights());
+    }
+
+    @Test
+    public void testPartitionParallel() {
+        Partition<List<String>, List<Integer>> partition = numbers(100000).parallel().collect(EitherCollectors.partition());
+        assertEquals(numbers(100000).flatMap(Either::leftStream).collect(Collectors.toList()), partition.lefts());
+        assertEquals(numbers(100000).flatMap(Either::rightStream).collect(Collectors.toList()), partition.rights());
+    }
+
+    @Test
+    public void testPartitionConcurrent() {
+        Collector<Either<? extends String, ? extends Integer>, ?, Partition<Queue<String>, Queue<Integer>>> collector = EitherCollectors.partitionConcurrent();
+        assertTrue(collector.characteristics().contains(Collector.Characteristics.CONCURRENT));
+        assertTrue(collector.characteristics().contains(Collector.Characteristics.UNORDERED));
+
+        Partition<Queue<String>, Queue<Integer>> partition = numbers(100000).parallel().collect(collector);
+        assertEquals(10000, partition.lefts().size());
+        assertEquals(90000, new HashSet<>(partition.rights()).size());
+    }
+
+    @Test
+    public void testPartitioning() {
+        Collector<Either<? extends String, ? extends Integer>, ?, Partition<Set<String>, Integer>> collector =
+                EitherCollectors.partitioning(Collectors.toSet(), Collectors.summingInt(i -> i));
+        assertFalse(collector.characteristics().contains(Collector.Characteristics.UNORDERED));
+
+        Partition<Set<String>, Integer> partition = parsed("1", "A", "2", "A").collect(collector);
+        assertEquals(Collections.singleton("A"), partition.lefts());
+        assertEquals(Integer.valueOf(3), partition.rights());
+
+        Partition<Long, Long> counts = numbers(100000).parallel().collect(EitherCollectors.partitioning(Collectors.counting(), Collectors.counting()));
+        assertEquals(Partition.of(10000L, 90000L), counts);
+    }
+
+    @Test
+    public void testSequence() {
+        assertRight(Arrays.asList(1, 2, 3), parsed("1", "2", "3").collect(EitherCollectors.sequence()));
+        assertLeft("A", parsed("1", "A", "3", "B").collect(EitherCollectors.sequence()));
+        assertRight(Collections.emptyList(), parsed().collect(EitherCollectors.sequence()));
+    }
+
+    @Test
+    public void testSequenceParallel() {
+        assertLeft("L0", numbers(100000).parallel().collect(EitherCollectors.sequence()));
+        assertRight(IntStream.range(0, 100000).filter(i -> i % 10 != 0).boxed().collect(Collectors.toList()),
+                numbers(100000).parallel().filter(Either::isRight).collect(EitherCollectors.sequence()));
+        assertLeft("L50000", IntStream.range(0, 100000).parallel()
+                .mapToObj(i -> i >= 50000 && i % 10 == 0 ? Either.left("L" + i) : Either.right(i))
+                .collect(EitherCollectors.sequence()));
+    }
+
+    @Test
+    public void testTraverse() {
+        Function<String, Either<RuntimeException, Integer>> parse = EitherOps.fromFunction(Integer::parseInt);
+        assertRight(Arrays.asList(1, 2), Stream.of("1", "2").collect(EitherCollectors.traverse(parse)));
+        assertTrue(Stream.of("1", "A").collect(EitherCollectors.traverse(parse)).isLeft());
+    }
+}
@@ -0,0 +1,127 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestEitherCursor {
+    @Test
+    public void testNewCursorHoldsRightNull() {
+        EitherCursor<String, Integer> cursor = EitherCursor.create();
+        assertTrue(cursor.isRight());
+        assertNull(cursor.getRight());
+        assertSame(Either.unit(), cursor.freeze());
+    }
+
+    @Test
+    public void testSet() {
+        EitherCursor<String, Integer> cursor = EitherCursor.create();
+        assertSame(cursor, cursor.setLeft("failed"));
+        assertTrue(cursor.isLeft());
+        assertEquals("failed", cursor.getLeft());
+        assertSame(cursor, cursor.setRight(3));
+        assertTrue(cursor.isRight());
+        assertEquals(Integer.valueOf(3), cursor.getRight());
+        cursor.set(Either.left("again"));
+        assertLeft("again", cursor.freeze());
+        cursor.set(Either.right(4));
+        assertRight(4, cursor.freeze());
+    }
+
+    @Test
+    public void testWrongSide() {
+        EitherCursor<String, Integer> cursor = EitherCursor.create();
+        try {
+            cursor.getLeft();
+            fail();
+        }
+        catch (NoSuchElementException e) {
+            // Expected
+        }
+        cursor.setLeft("failed");
+        try {
+            cursor.getRight();
+            fail();
+        }
+        catch (NoSuchElementException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testMap() {
+        EitherCursor<String, Integer> cursor = EitherCursor.<String, Integer>create().setRight(2);
+        assertRight(5, cursor.mapRight(i -> i * 2).mapRight(i -> i + 1).mapLeft(l -> l + "!").freeze());
+
+        cursor.setLeft("failed");
+        assertLeft("failed!", cursor.mapRight(i -> i * 2).mapLeft(l -> l + "!").freeze());
+    }
+
+    @Test
+    public void testFlatMap() {
+        EitherCursor<String, Integer> cursor = EitherCursor.<String, Integer>create().setRight(2);
+        cursor.flatMapRight(i -> Either.right(i + 1));
+        assertEquals(Integer.valueOf(3), cursor.getRight());
+        cursor.flatMapRight(i -> i > 2 ? Either.left("too large") : Either.right(i));
+        assertEquals("too large", cursor.getLeft());
+        cursor.flatMapRight(i -> Either.right(0));
+        assertEquals("too large", cursor.getLeft());
+    }
+
+    @Test
+    public void testFlatMapInPlace() {
+        EitherCursor<String, Integer> cursor = EitherCursor.<String, Integer>create().setRight(2);
+        cursor.flatMapRight((i, c) -> c.setRight(i * 10));
+        assertEquals(Integer.valueOf(20), cursor.getRight());
+        cursor.flatMapRight((i, c) -> { });
+        assertEquals(Integer.valueOf(20), cursor.getRight());
+        cursor.flatMapRight((i, c) -> c.setLeft("failed at " + i));
+        assertEquals("failed at 20", cursor.getLeft());
+        cursor.flatMapRight((i, c) -> c.setRight(0));
+        assertEquals("failed at 20", cursor.getLeft());
+    }
+
+    @Test
+    public void testFold() {
+        EitherCursor<String, Integer> cursor = EitherCursor.create();
+        assertEquals("r1", cursor.setRight(1).fold(l -> "l" + l, r -> "r" + r));
+        assertEquals("lx", cursor.setLeft("x").fold(l -> "l" + l, r -> "r" + r));
+        assertEquals(Integer.valueOf(7), cursor.orElse(7));
+        assertEquals(Integer.valueOf(1), cursor.setRight(1).orElse(7));
+    }
+
+    @Test
+    public void testReuse() {
+        EitherCursor<String, Integer> cursor = EitherCursor.create();
+        String[] tokens = { "1", "2", "x", "4" };
+        int sum = 0;
+        int errors = 0;
+        for (String token : tokens) {
+            cursor.setRight(0).flatMapRight((i, c) -> {
+                if (token.chars().allMatch(Character::isDigit))
+                    c.setRight(Integer.parseInt(token));
+                else
+                    c.setLeft(token);
+            });
+            if (cursor.isLeft())
+                errors++;
+            else
+                sum += cursor.getRight();
+        }
+        assertEquals(7, sum);
+        assertEquals(1, errors);
+    }
+
+    @Test
+    public void testFreezeIsDetached() {
+        EitherCursor<String, Integer> cursor = EitherCursor.<String, Integer>create().setRight(1000);
+        Either<String, Integer> frozen = cursor.freeze();
+        cursor.setLeft("changed");
+        assertRight(1000, frozen);
+        assertEquals("cursor<left<changed>>", cursor.toString());
+    }
+}
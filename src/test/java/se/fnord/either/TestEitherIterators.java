@@ -0,0 +1,387 @@
+package se.fnord.either;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertRight;
+import static se.fnord.either.TestUtil.leftValue;
+
+public class TestEitherIterators {
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Counts from 0 to size - 1, throwing an IOException instead of returning the elements in <code>failAt</code>.
+     * Fails the test if it is used by two threads at once.
+     */
+    private static final class Source implements ThrowingIterator<Integer> {
+        private final int size;
+        private final List<Integer> failAt;
+        private final AtomicInteger reads = new AtomicInteger();
+        private final AtomicBoolean inUse = new AtomicBoolean();
+        private final AtomicBoolean concurrent = new AtomicBoolean();
+        private final AtomicInteger closed = new AtomicInteger();
+        private int next;
+
+        Source(int size, Integer... failAt) {
+            this.size = size;
+            this.failAt = Arrays.asList(failAt);
+        }
+
+        private void enter() {
+            if (!inUse.compareAndSet(false, true))
+                concurrent.set(true);
+        }
+
+        @Override
+        public boolean hasNext() {
+            enter();
+            try {
+                return next < size;
+            }
+            finally {
+                inUse.set(false);
+            }
+        }
+
+        @Override
+        public Integer next() throws IOException {
+            enter();
+            try {
+                reads.incrementAndGet();
+                int value = next++;
+                if (failAt.contains(value))
+                    throw new IOException("failed at " + value);
+                return value;
+            }
+            finally {
+                inUse.set(false);
+            }
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+
+    private static List<Object> drain(EitherIterator<Integer> iterator) {
+        List<Object> values = new ArrayList<>();
+        while (iterator.hasNext())
+            values.add(iterator.next().fold(e -> e.getMessage(), r -> r));
+        return values;
+    }
+
+    @Test
+    public void testOf() {
+        Source source = new Source(3);
+        EitherIterator<Integer> iterator = EitherIterators.of(source);
+        assertEquals(Arrays.asList(0, 1, 2), drain(iterator));
+        try {
+            iterator.next();
+            fail();
+        }
+        catch (NoSuchElementException e) {
+            // Expected
+        }
+        iterator.close();
+        assertEquals(1, source.closed.get());
+    }
+
+    @Test
+    public void testStopAtFailure() {
+        Source source = new Source(5, 2);
+        assertEquals(Arrays.asList(0, 1, "failed at 2"), drain(EitherIterators.of(source)));
+        assertEquals(3, source.reads.get());
+    }
+
+    @Test
+    public void testContinueAfterFailure() {
+        Source source = new Source(5, 1, 3);
+        List<Object> values = drain(EitherIterators.of(source, EitherIterators.FailureMode.CONTINUE));
+        assertEquals(Arrays.asList(0, "failed at 1", 2, "failed at 3", 4), values);
+    }
+
+    @Test
+    public void testHasNextFailureEndsIteration() {
+        AtomicInteger calls = new AtomicInteger();
+        ThrowingIterator<Integer> source = new ThrowingIterator<Integer>() {
+            @Override
+            public boolean hasNext() throws Exception {
+                if (calls.incrementAndGet() > 1)
+                    throw new IOException("connection lost");
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return 1;
+            }
+        };
+        EitherIterator<Integer> iterator = EitherIterators.of(source, EitherIterators.FailureMode.CONTINUE);
+        assertEquals(Arrays.asList(1, "connection lost"), drain(iterator));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testFromIterator() {
+        Iterable<Integer> values = Arrays.asList(1, 2, 3);
+        List<Either<Exception, Integer>> result = new ArrayList<>();
+        EitherIterators.of(ThrowingIterator.from(values.iterator())).forEachRemaining(result::add);
+        assertEquals(Arrays.asList(Either.right(1), Either.right(2), Either.right(3)), result);
+    }
+
+    @Test
+    public void testCloseFailure() {
+        ThrowingIterator<Integer> source = new ThrowingIterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return false;
+            }
+
+            @Override
+            public Integer next() {
+                throw new NoSuchElementException();
+            }
+
+            @Override
+            public void close() throws IOException {
+                throw new IOException("close failed");
+            }
+        };
+        try {
+            EitherIterators.of(source).close();
+            fail();
+        }
+        catch (UncheckedIOException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+    }
+
+    @Test
+    public void testPrefetching() {
+        Source source = new Source(10_000);
+        try (EitherIterator<Integer> iterator = EitherIterators.prefetching(source, executor, 16, 64, EitherIterators.FailureMode.STOP)) {
+            int expected = 0;
+            while (iterator.hasNext())
+                assertRight(expected++, iterator.next());
+            assertEquals(10_000, expected);
+        }
+        assertFalse(source.concurrent.get());
+        assertEquals(1, source.closed.get());
+    }
+
+    @Test
+    public void testPrefetchingFailureModes() {
+        Source stopping = new Source(100, 50, 70);
+        List<Object> stopped = drain(EitherIterators.prefetching(stopping, executor, 8, 32, EitherIterators.FailureMode.STOP));
+        assertEquals(51, stopped.size());
+        assertEquals("failed at 50", stopped.get(50));
+
+        Source continuing = new Source(100, 50, 70);
+        List<Object> continued = drain(EitherIterators.prefetching(continuing, executor, 8, 32, EitherIterators.FailureMode.CONTINUE));
+        assertEquals(100, continued.size());
+        assertEquals("failed at 50", continued.get(50));
+        assertEquals("failed at 70", continued.get(70));
+        assertEquals(99, continued.get(99));
+    }
+
+    @Test
+    public void testPrefetchingIsBounded() throws InterruptedException {
+        Source source = new Source(1000);
+        try (EitherIterator<Integer> iterator = EitherIterators.prefetching(source, executor, 10, 40, EitherIterators.FailureMode.STOP)) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (source.reads.get() < 40 && System.nanoTime() < deadline)
+                Thread.sleep(1);
+            Thread.sleep(50);
+            assertEquals(40, source.reads.get());
+
+            // A chunk is only read once there is room for all of it
+            for (int i = 0; i < 9; i++)
+                assertRight(i, iterator.next());
+            Thread.sleep(50);
+            assertEquals(40, source.reads.get());
+
+            assertRight(9, iterator.next());
+            deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (source.reads.get() < 50 && System.nanoTime() < deadline)
+                Thread.sleep(1);
+            Thread.sleep(50);
+            assertEquals(50, source.reads.get());
+        }
+    }
+
+    @Test
+    public void testPrefetchingOnCallingThread() {
+        Executor direct = Runnable::run;
+        Source source = new Source(100, 42);
+        List<Object> values = drain(EitherIterators.prefetching(source, direct, 7, 20, EitherIterators.FailureMode.CONTINUE));
+        assertEquals(100, values.size());
+        assertEquals("failed at 42", values.get(42));
+
+        Executor rejecting = r -> {
+            throw new RejectedExecutionException();
+        };
+        assertEquals(100, drain(EitherIterators.prefetching(new Source(100), rejecting, 7, 20, EitherIterators.FailureMode.STOP)).size());
+    }
+
+    @Test
+    public void testPrefetchingClose() throws InterruptedException {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger closed = new AtomicInteger();
+        ThrowingIterator<Integer> source = new ThrowingIterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() throws InterruptedException {
+                reading.countDown();
+                release.await();
+                return 1;
+            }
+
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+            }
+        };
+        EitherIterator<Integer> iterator = EitherIterators.prefetching(source, executor, 4, 4, EitherIterators.FailureMode.STOP);
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        Thread closer = new Thread(iterator::close);
+        closer.start();
+        closer.join(100);
+        // The source is in use, so closing waits for the chunk being read
+        assertTrue(closer.isAlive());
+        assertEquals(0, closed.get());
+
+        release.countDown();
+        closer.join(5000);
+        assertFalse(closer.isAlive());
+        assertEquals(1, closed.get());
+        assertFalse(iterator.hasNext());
+        iterator.close();
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testPrefetchingInterrupted() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        ThrowingIterator<Integer> source = new ThrowingIterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() throws InterruptedException {
+                release.await();
+                return 1;
+            }
+        };
+        AtomicReference<Either<Exception, Integer>> first = new AtomicReference<>();
+        AtomicBoolean more = new AtomicBoolean(true);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        try (EitherIterator<Integer> iterator = EitherIterators.prefetching(source, executor, 1, 1, EitherIterators.FailureMode.STOP)) {
+            Thread consumer = new Thread(() -> {
+                first.set(iterator.next());
+                more.set(iterator.hasNext());
+                interrupted.set(Thread.currentThread().isInterrupted());
+            });
+            consumer.start();
+            Thread.sleep(50);
+            consumer.interrupt();
+            consumer.join(5000);
+            assertFalse(consumer.isAlive());
+            release.countDown();
+        }
+        assertThat(leftValue(first.get()), instanceOf(InterruptedException.class));
+        assertFalse(more.get());
+        assertTrue(interrupted.get());
+    }
+
+    private static ThrowingIterator<Integer> interruptedSource() {
+        return new ThrowingIterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() throws InterruptedException {
+                throw new InterruptedException();
+            }
+        };
+    }
+
+    @Test
+    public void testInterruptedSource() {
+        try (EitherIterator<Integer> iterator = EitherIterators.of(interruptedSource())) {
+            assertThat(leftValue(iterator.next()), instanceOf(InterruptedException.class));
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    @Test
+    public void testPrefetchingInterruptedSource() throws InterruptedException {
+        // A pool clears the interrupt status between tasks, so look at it as the fetch task ends
+        CountDownLatch fetched = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Executor checking = task -> executor.execute(() -> {
+            task.run();
+            interrupted.set(Thread.interrupted());
+            fetched.countDown();
+        });
+        try (EitherIterator<Integer> iterator = EitherIterators.prefetching(interruptedSource(), checking, 1, 1, EitherIterators.FailureMode.STOP)) {
+            assertThat(leftValue(iterator.next()), instanceOf(InterruptedException.class));
+            assertFalse(iterator.hasNext());
+        }
+        assertTrue(fetched.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testStream() {
+        Source source = new Source(5, 3);
+        List<Either<Exception, Integer>> values;
+        try (Stream<Either<Exception, Integer>> stream = EitherIterators.stream(EitherIterators.of(source, EitherIterators.FailureMode.CONTINUE))) {
+            values = stream.collect(Collectors.toList());
+        }
+        assertEquals(5, values.size());
+        assertThat(leftValue(values.get(3)), instanceOf(IOException.class));
+        assertEquals(1, source.closed.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacitySmallerThanChunk() {
+        EitherIterators.prefetching(new Source(1), executor, 8, 4, EitherIterators.FailureMode.STOP);
+    }
+}
@@ -0,0 +1,203 @@
+package se.fnord.either;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.*;
+
+public class TestEitherLog {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final EitherCodec<String, Long> codec = EitherCodec.of(ValueCodec.utf8(), ValueCodec.int64());
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static List<Either<String, Long>> values(int n) {
+        List<Either<String, Long>> values = new ArrayList<>();
+        for (long i = 0; i < n; i++)
+            values.add(i % 5 == 0 ? Either.left("failed " + i) : Either.right(i));
+        return values;
+    }
+
+    // A record as laid out in a segment: the length, the checksum, and the encoded value
+    private ByteBuffer record(Either<String, Long> value) {
+        ByteBuffer record = ByteBuffer.allocate(EitherLog.HEADER + codec.size(value));
+        record.position(EitherLog.HEADER);
+        codec.write(value, record);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), EitherLog.HEADER, codec.size(value));
+        record.putInt(0, codec.size(value)).putInt(Integer.BYTES, (int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    private static Path firstSegment(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().findFirst().get();
+        }
+    }
+
+    private static long segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void testAppendAndIterate() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        List<Either<String, Long>> values = values(1000);
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 1024)) {
+            for (Either<String, Long> value : values)
+                log.append(value);
+
+            assertEquals(1000, log.size());
+            assertEquals(200, log.leftCount());
+            assertEquals(800, log.rightCount());
+            assertEquals(values, toList(log.iterator()));
+            assertEquals(values.stream().filter(Either::isLeft).map(TestUtil::leftValue).collect(Collectors.toList()), toList(log.lefts()));
+            assertEquals(values.stream().filter(Either::isRight).map(TestUtil::rightValue).collect(Collectors.toList()), toList(log.rights()));
+        }
+        assertTrue(segmentFiles(directory) > 1);
+    }
+
+    @Test
+    public void testSkipsSegmentsWithoutMatches() throws IOException {
+        try (EitherLog<String, Long> log = EitherLog.open(folder.newFolder().toPath(), codec, 64)) {
+            for (long i = 0; i < 100; i++)
+                log.append(Either.right(i));
+            log.append(Either.left("only"));
+            for (long i = 0; i < 100; i++)
+                log.append(Either.right(i));
+
+            Iterator<String> lefts = log.lefts();
+            assertTrue(lefts.hasNext());
+            assertEquals("only", lefts.next());
+            assertFalse(lefts.hasNext());
+            assertEquals(200, toList(log.rights()).size());
+        }
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        List<Either<String, Long>> values = values(300);
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 512)) {
+            for (Either<String, Long> value : values.subList(0, 200))
+                log.append(value);
+        }
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 512)) {
+            assertEquals(200, log.size());
+            assertEquals(40, log.leftCount());
+            for (Either<String, Long> value : values.subList(200, 300))
+                log.append(value);
+        }
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 512)) {
+            assertEquals(values, toList(log.iterator()));
+        }
+    }
+
+    @Test
+    public void testTornRecordIsNotResurrected() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 256)) {
+            log.append(Either.left("first"));
+        }
+        Path file = firstSegment(directory);
+        // A torn record whose length never made it to disk, holding a valid record right past a shorter one
+        int end = EitherLog.HEADER + codec.size(Either.left("first"));
+        Either<String, Long> shorter = Either.right(7L);
+        ByteBuffer stale = record(Either.right(99L));
+        ByteBuffer torn = ByteBuffer.allocate(EitherLog.HEADER + codec.size(shorter) + stale.remaining());
+        torn.position(EitherLog.HEADER + codec.size(shorter));
+        torn.put(stale);
+        torn.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(torn, end);
+        }
+
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 256)) {
+            assertEquals(1, log.size());
+            log.append(shorter);
+        }
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 256)) {
+            assertEquals(Arrays.asList(Either.left("first"), shorter), toList(log.iterator()));
+        }
+    }
+
+    @Test
+    public void testChecksumMismatchEndsSegment() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 256)) {
+            log.append(Either.left("first"));
+            log.append(Either.right(2L));
+        }
+        // The length of the second record reached the disk, but not all of its value
+        int second = EitherLog.HEADER + codec.size(Either.left("first"));
+        try (FileChannel channel = FileChannel.open(firstSegment(directory), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), second + EitherLog.HEADER + 2);
+        }
+
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 256)) {
+            assertEquals(Arrays.asList(Either.left("first")), toList(log.iterator()));
+            log.append(Either.right(3L));
+        }
+        try (EitherLog<String, Long> log = EitherLog.open(directory, codec, 256)) {
+            assertEquals(Arrays.asList(Either.left("first"), Either.right(3L)), toList(log.iterator()));
+        }
+    }
+
+    @Test
+    public void testIteratorIsSnapshot() throws IOException {
+        try (EitherLog<String, Long> log = EitherLog.open(folder.newFolder().toPath(), codec, 64)) {
+            log.append(Either.right(1L));
+            Iterator<Long> rights = log.rights();
+            log.append(Either.right(2L));
+            assertEquals(1, toList(rights).size());
+            assertEquals(2, toList(log.rights()).size());
+        }
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        try (EitherLog<String, Long> log = EitherLog.open(folder.newFolder().toPath(), codec, 64)) {
+            assertEquals(0, log.size());
+            assertFalse(log.iterator().hasNext());
+            assertFalse(log.lefts().hasNext());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordLargerThanSegment() throws IOException {
+        try (EitherLog<String, Long> log = EitherLog.open(folder.newFolder().toPath(), codec, 16)) {
+            log.append(Either.left("much too long for a segment"));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosed() throws IOException {
+        EitherLog<String, Long> log = EitherLog.open(folder.newFolder().toPath(), codec, 64);
+        log.close();
+        log.append(Either.right(1L));
+    }
+}
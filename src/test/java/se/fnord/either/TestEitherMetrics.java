@@ -0,0 +1,126 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestEitherMetrics {
+    private static Integer parse(String s) throws IOException {
+        if (s.isEmpty())
+            throw new IOException("empty");
+        return Integer.parseInt(s);
+    }
+
+    @Test
+    public void testCounts() {
+        EitherMetrics registry = EitherMetrics.create();
+        Function<String, Either<Exception, Integer>> f = EitherOps.instrumented(registry, "parse", EitherOps.fromThrowingFunction(TestEitherMetrics::parse));
+
+        assertRight(1, f.apply("1"));
+        assertRight(2, f.apply("2"));
+        f.apply("");
+        f.apply("x");
+        f.apply("y");
+
+        CallMetrics.Snapshot snapshot = registry.metrics("parse").snapshot();
+        assertEquals("parse", snapshot.name());
+        assertEquals(5, snapshot.calls());
+        assertEquals(2, snapshot.rights());
+        assertEquals(3, snapshot.lefts());
+        assertEquals(Long.valueOf(1), snapshot.leftsByType().get(IOException.class));
+        assertEquals(Long.valueOf(2), snapshot.leftsByType().get(NumberFormatException.class));
+        long bucketed = 0;
+        for (long count : snapshot.latencyBuckets())
+            bucketed += count;
+        assertEquals(5, bucketed);
+    }
+
+    @Test
+    public void testSupplier() {
+        EitherMetrics registry = EitherMetrics.create();
+        Supplier<Either<String, Integer>> s = EitherOps.instrumentedSupplier(registry, "supply", () -> Either.left("L"));
+        s.get();
+        assertEquals(Long.valueOf(1), registry.metrics("supply").snapshot().leftsByType().get(String.class));
+    }
+
+    @Test
+    public void testThrown() {
+        EitherMetrics registry = EitherMetrics.create();
+        Function<String, Either<String, Integer>> f = EitherOps.instrumented(registry, "throwing", s -> {
+            if (s.isEmpty())
+                throw new IllegalArgumentException("empty");
+            return s.equals("x") ? Either.left(s) : Either.right(s.length());
+        });
+        Supplier<Either<String, Integer>> s = EitherOps.instrumentedSupplier(registry, "throwing", () -> {
+            throw new IllegalStateException();
+        });
+
+        f.apply("a");
+        f.apply("x");
+        for (Runnable call : Arrays.<Runnable>asList(() -> f.apply(""), s::get)) {
+            try {
+                call.run();
+                fail();
+            }
+            catch (RuntimeException expected) {
+            }
+        }
+
+        CallMetrics.Snapshot snapshot = registry.metrics("throwing").snapshot();
+        assertEquals(4, snapshot.calls());
+        assertEquals(1, snapshot.rights());
+        assertEquals(1, snapshot.lefts());
+        assertEquals(2, snapshot.thrown());
+        assertEquals(3, snapshot.failures());
+        assertEquals(4, Arrays.stream(snapshot.latencyBuckets()).sum());
+    }
+
+    @Test
+    public void testSharedName() {
+        EitherMetrics registry = EitherMetrics.create();
+        Function<Integer, Either<String, Integer>> a = EitherOps.instrumented(registry, "shared", Either::right);
+        Function<Integer, Either<String, Integer>> b = EitherOps.instrumented(registry, "shared", Either::right);
+        Function<Integer, Either<String, Integer>> c = EitherOps.instrumented(registry, "other", Either::right);
+        a.apply(1);
+        b.apply(1);
+        c.apply(1);
+
+        Map<String, CallMetrics.Snapshot> snapshot = registry.snapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals(2, snapshot.get("shared").calls());
+        assertEquals(1, snapshot.get("other").calls());
+    }
+
+    @Test
+    public void testBucket() {
+        assertEquals(0, CallMetrics.bucket(0));
+        assertEquals(1, CallMetrics.bucket(1));
+        assertEquals(2, CallMetrics.bucket(2));
+        assertEquals(2, CallMetrics.bucket(3));
+        assertEquals(11, CallMetrics.bucket(1024));
+        assertEquals(63, CallMetrics.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testLatencyQuantile() {
+        CallMetrics metrics = new CallMetrics("q");
+        assertEquals(0, metrics.snapshot().latencyQuantile(0.5));
+        for (int i = 0; i < 90; i++)
+            metrics.record(Either.right(1), 100);
+        for (int i = 0; i < 10; i++)
+            metrics.record(Either.right(1), 5000);
+
+        CallMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(127, snapshot.latencyQuantile(0.5));
+        assertEquals(127, snapshot.latencyQuantile(0.9));
+        assertEquals(8191, snapshot.latencyQuantile(0.99));
+        assertEquals(90 * 100 + 10 * 5000, snapshot.totalNanos());
+    }
+}
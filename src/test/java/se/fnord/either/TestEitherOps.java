@@ -3,12 +3,29 @@ package se.fnord.either;
 import org.hamcrest.CoreMatchers;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static se.fnord.either.TestUtil.*;
 
 public class TestEitherOps {
@@ -40,6 +57,135 @@ public class TestEitherOps {
         assertThat(leftValue(f2.get()), CoreMatchers.isA(RuntimeException.class));
     }
 
+    @Test
+    public void testCapturing() {
+        CapturePolicy<String> policy = EitherOps.<String>capturing()
+                .on(NumberFormatException.class, "NaN")
+                .otherwise("other");
+
+        Function<String, Either<String, Integer>> f1 = EitherOps.fromThrowingFunction(Integer::parseInt, policy);
+        assertRight(1, f1.apply("1"));
+        assertLeft("NaN", f1.apply("L"));
+
+        Supplier<Either<String, Integer>> f2 = EitherOps.fromThrowingSupplier(() -> { throw new Exception(); }, policy);
+        assertLeft("other", f2.get());
+
+        BiFunction<String, Integer, Either<String, Integer>> f3 = EitherOps.fromThrowingBiFunction(Integer::parseInt, policy);
+        assertRight(10, f3.apply("A", 16));
+        assertLeft("NaN", f3.apply("L", 10));
+    }
+
+    @Test
+    public void testTraverseConcurrent() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            AtomicInteger active = new AtomicInteger();
+            AtomicInteger maxActive = new AtomicInteger();
+            List<String> inputs = IntStream.range(0, 1000)
+                    .mapToObj(i -> i % 100 == 99 ? "L" + i : Integer.toString(i))
+                    .collect(Collectors.toList());
+
+            List<Either<Exception, Integer>> results = EitherOps.traverseConcurrent(inputs, s -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1);
+                    return Integer.parseInt(s);
+                }
+                finally {
+                    active.decrementAndGet();
+                }
+            }, 3, executor);
+
+            assertEquals(1000, results.size());
+            for (int i = 0; i < 1000; i++) {
+                if (i % 100 == 99)
+                    assertThat(leftValue(results.get(i)), CoreMatchers.instanceOf(Exception.class));
+                else
+                    assertRight(i, results.get(i));
+            }
+            assertTrue(maxActive.get() <= 3);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTraverseConcurrentFailFast() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AtomicInteger calls = new AtomicInteger();
+            List<Integer> inputs = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+            List<Either<Exception, Integer>> results = EitherOps.traverseConcurrent(inputs, i -> {
+                calls.incrementAndGet();
+                if (i == 10)
+                    throw new IOException();
+                return i;
+            }, 2, executor, true);
+
+            assertEquals(1000, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                // Calls that had not started when the failure was recorded are cancelled, whatever their position
+                if (i == 10)
+                    continue;
+                if (results.get(i).isRight())
+                    assertRight(i, results.get(i));
+                else
+                    assertThat(leftValue(results.get(i)), CoreMatchers.instanceOf(CancellationException.class));
+            }
+            assertThat(leftValue(results.get(10)), CoreMatchers.instanceOf(IOException.class));
+            assertThat(leftValue(results.get(999)), CoreMatchers.instanceOf(CancellationException.class));
+            assertTrue(calls.get() < 1000);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTraverseConcurrentCancellationPerTraversal() throws InterruptedException {
+        Executor direct = Runnable::run;
+        ThrowingFunction<Integer, Integer> failFirst = i -> {
+            if (i == 0)
+                throw new IOException();
+            return i;
+        };
+        List<Either<Exception, Integer>> first = EitherOps.traverseConcurrent(Arrays.asList(0, 1), failFirst, 1, direct, true);
+        List<Either<Exception, Integer>> second = EitherOps.traverseConcurrent(Arrays.asList(0, 1), failFirst, 1, direct, true);
+        assertThat(leftValue(first.get(1)), CoreMatchers.instanceOf(CancellationException.class));
+        assertNotSame(leftValue(first.get(1)), leftValue(second.get(1)));
+    }
+
+    @Test
+    public void testTraverseConcurrentWrongSize() throws InterruptedException {
+        // A collection whose size() disagrees with its iterator
+        Collection<Integer> inputs = new AbstractCollection<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return Arrays.asList(1, 2, 3, 4).iterator();
+            }
+
+            @Override
+            public int size() {
+                return 2;
+            }
+        };
+        List<Either<Exception, Integer>> results = EitherOps.traverseConcurrent(inputs, i -> i * 2, 2, Runnable::run);
+        assertEquals(4, results.size());
+        assertRight(8, results.get(3));
+    }
+
+    @Test
+    public void testTraverseConcurrentRejected() throws InterruptedException {
+        List<Either<Exception, Integer>> results = EitherOps.traverseConcurrent(Arrays.asList(1, 2), i -> i, 1, r -> {
+            throw new RejectedExecutionException();
+        });
+
+        assertThat(leftValue(results.get(0)), CoreMatchers.instanceOf(RejectedExecutionException.class));
+        assertThat(leftValue(results.get(1)), CoreMatchers.instanceOf(RejectedExecutionException.class));
+    }
+
     @Test
     public void testLeftMap() {
         EitherF<String, String, String, String> f = EitherOps.leftMap(s -> s + "L");
@@ -0,0 +1,102 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestEitherPipeline {
+    @Test
+    public void testEmpty() {
+        EitherF<String, String, String, String> f = EitherPipeline.<String, String>start().build();
+
+        Either<String, String> left = Either.left("L");
+        Either<String, String> right = Either.right("R");
+        assertSame(left, f.apply(left));
+        assertSame(right, f.apply(right));
+    }
+
+    @Test
+    public void testMap() {
+        EitherF<String, String, String, Integer> f = EitherPipeline.<String, String>start()
+                .map(s -> s + "R")
+                .rightMap(String::length)
+                .build();
+
+        assertLeft("L", f.apply(Either.left("L")));
+        assertRight(2, f.apply(Either.right("R")));
+    }
+
+    @Test
+    public void testLeftMap() {
+        EitherF<String, String, Integer, String> f = EitherPipeline.<String, String>start()
+                .leftMap(s -> s + "L")
+                .leftMap(String::length)
+                .build();
+
+        assertLeft(2, f.apply(Either.left("L")));
+        assertRight("R", f.apply(Either.right("R")));
+    }
+
+    @Test
+    public void testBiMap() {
+        EitherF<String, String, String, String> f = EitherPipeline.<String, String>start()
+                .bimap(l -> l + "L", r -> r + "R")
+                .build();
+
+        assertLeft("LL", f.apply(Either.left("L")));
+        assertRight("RR", f.apply(Either.right("R")));
+    }
+
+    @Test
+    public void testFlatMap() {
+        EitherF<String, String, String, String> f = EitherPipeline.<String, String>start()
+                .map(s -> s + "1")
+                .flatMap(s -> s.startsWith("L") ? Either.left(s) : Either.right(s))
+                .map(s -> s + "2")
+                .leftMap(s -> s + "3")
+                .build();
+
+        assertLeft("L3", f.apply(Either.left("L")));
+        assertLeft("L13", f.apply(Either.right("L")));
+        assertRight("R12", f.apply(Either.right("R")));
+    }
+
+    @Test
+    public void testLeftFlatMap() {
+        EitherF<String, String, String, String> f = EitherPipeline.<String, String>start()
+                .leftMap(s -> s + "1")
+                .leftFlatMap(s -> s.startsWith("R") ? Either.right(s) : Either.left(s))
+                .map(s -> s + "2")
+                .leftMap(s -> s + "3")
+                .build();
+
+        assertLeft("L13", f.apply(Either.left("L")));
+        assertRight("R12", f.apply(Either.left("R")));
+        assertRight("R2", f.apply(Either.right("R")));
+    }
+
+    @Test
+    public void testReturnsFlatMapResult() {
+        Either<String, String> result = Either.right("X");
+        EitherF<String, String, String, String> f = EitherPipeline.<String, String>start()
+                .map(s -> s + "R")
+                .flatMap(s -> result)
+                .leftMap(s -> s + "L")
+                .build();
+
+        assertSame(result, f.apply(Either.right("R")));
+    }
+
+    @Test
+    public void testBuildersAreImmutable() {
+        EitherPipeline<String, String, String, String> base = EitherPipeline.<String, String>start().map(s -> s + "1");
+        EitherF<String, String, String, String> f1 = base.map(s -> s + "2").build();
+        EitherF<String, String, String, String> f2 = base.map(s -> s + "3").build();
+
+        assertRight("R12", f1.apply(Either.right("R")));
+        assertRight("R13", f2.apply(Either.right("R")));
+        assertRight("R1", base.build().apply(Either.right("R")));
+    }
+}
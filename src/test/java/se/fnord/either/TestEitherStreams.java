@@ -0,0 +1,79 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestEitherStreams {
+    private static Either<String, Integer> leftAt(int i, int at) {
+        return i >= at && i % at == 0 ? Either.left("L" + i) : Either.right(i);
+    }
+
+    @Test
+    public void testTakeRightsUntilLeft() {
+        List<String> lefts = new ArrayList<>();
+        List<Integer> rights = EitherStreams.takeRightsUntilLeft(Stream.iterate(0, i -> i + 1).map(i -> leftAt(i, 3)), lefts::add)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(0, 1, 2), rights);
+        assertEquals(Collections.singletonList("L3"), lefts);
+    }
+
+    @Test
+    public void testTakeRightsWithoutLeft() {
+        List<String> lefts = new ArrayList<>();
+        List<Integer> rights = EitherStreams.takeRightsUntilLeft(Stream.of(Either.<String, Integer>right(1), Either.right(2)), lefts::add)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(1, 2), rights);
+        assertEquals(Collections.emptyList(), lefts);
+    }
+
+    @Test
+    public void testSequenceLazy() {
+        AtomicInteger pulled = new AtomicInteger();
+        Stream<Either<String, Integer>> stream = Stream.iterate(0, i -> i + 1)
+                .peek(i -> pulled.incrementAndGet())
+                .map(i -> leftAt(i, 5));
+
+        assertLeft("L5", EitherStreams.sequenceLazy(stream));
+        assertEquals(6, pulled.get());
+
+        assertRight(Arrays.asList(1, 2), EitherStreams.sequenceLazy(Stream.of(Either.<String, Integer>right(1), Either.right(2))));
+        assertRight(Collections.emptyList(), EitherStreams.sequenceLazy(Stream.<Either<String, Integer>>empty()));
+    }
+
+    @Test
+    public void testSequenceLazyParallel() {
+        int size = 10000000;
+        AtomicInteger pulled = new AtomicInteger();
+        Stream<Either<String, Integer>> stream = IntStream.range(0, size).parallel()
+                .peek(i -> pulled.incrementAndGet())
+                .mapToObj(i -> leftAt(i, 1000));
+
+        Either<String, List<Integer>> result = EitherStreams.sequenceLazy(stream);
+        assertTrue(result.isLeft());
+        assertTrue(pulled.get() < size);
+
+        assertRight(IntStream.range(0, 100000).boxed().collect(Collectors.toList()),
+                EitherStreams.sequenceLazy(IntStream.range(0, 100000).parallel().mapToObj(Either::<String, Integer>right)));
+    }
+
+    @Test
+    public void testClosesSource() {
+        AtomicInteger closed = new AtomicInteger();
+        EitherStreams.sequenceLazy(Stream.of(Either.right(1)).onClose(closed::incrementAndGet));
+        assertEquals(1, closed.get());
+    }
+}
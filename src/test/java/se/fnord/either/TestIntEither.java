@@ -0,0 +1,122 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.IntSupplier;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestIntEither {
+    @Test
+    public void testFromSupplier() {
+        assertEquals(IntEither.right(1), IntEither.fromSupplier((IntSupplier) () -> 1));
+        assertTrue(IntEither.fromSupplier((ThrowingIntSupplier) () -> { throw new IOException(); }).isLeft());
+        assertTrue(IntEither.fromFunction(Integer::parseInt, "L").isLeft());
+        assertEquals(IntEither.right(1), IntEither.fromFunction(Integer::parseInt, "1"));
+    }
+
+    @Test
+    public void testEitherConversion() {
+        assertRight(1, IntEither.right(1).toEither());
+        assertLeft("L", IntEither.left("L").toEither());
+        assertEquals(IntEither.right(1), IntEither.fromEither(Either.right(1)));
+        assertEquals(IntEither.left("L"), IntEither.fromEither(Either.left("L")));
+    }
+
+    @Test
+    public void testFromEitherNullRight() {
+        try {
+            IntEither.fromEither(Either.<String, Integer>right(null));
+            fail();
+        }
+        catch (NullPointerException e) {
+            assertEquals("Right value is null and cannot be unboxed to int", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMapToInt() {
+        assertEquals(IntEither.right(2), IntEither.right(1).mapToInt(i -> i + 1));
+        IntEither<String> left = IntEither.left("L");
+        assertSame(left, left.mapToInt(i -> i + 1));
+    }
+
+    @Test
+    public void testMapToObj() {
+        assertRight("1", IntEither.right(1).mapToObj(Integer::toString));
+        assertLeft("L", IntEither.left("L").mapToObj(Integer::toString));
+    }
+
+    @Test
+    public void testLeftMap() {
+        assertEquals(IntEither.left("LL"), IntEither.left("L").leftMap(s -> s + "L"));
+        IntEither<String> right = IntEither.right(1);
+        assertSame(right, right.leftMap(s -> s + "L"));
+    }
+
+    @Test
+    public void testFlatMapToInt() {
+        assertEquals(IntEither.right(2), IntEither.<String>right(1).flatMapToInt(i -> IntEither.right(i + 1)));
+        assertEquals(IntEither.left("1"), IntEither.<String>right(1).flatMapToInt(i -> IntEither.left(Integer.toString(i))));
+        assertEquals(IntEither.left("L"), IntEither.<String>left("L").flatMapToInt(i -> IntEither.right(i + 1)));
+    }
+
+    @Test
+    public void testFold() {
+        assertEquals(2, IntEither.right(1).foldInt(l -> -1, i -> i + 1));
+        assertEquals(-1, IntEither.left("L").foldInt(l -> -1, i -> i + 1));
+        assertEquals("R1", IntEither.right(1).fold(l -> "L" + l, i -> "R" + i));
+        assertEquals("LL", IntEither.left("L").fold(l -> "L" + l, i -> "R" + i));
+    }
+
+    @Test
+    public void testOrElse() {
+        assertEquals(1, IntEither.right(1).orElseInt(2));
+        assertEquals(1, IntEither.right(1).orElseInt(l -> 2));
+        assertEquals(2, IntEither.left("L").orElseInt(2));
+        assertEquals(1, IntEither.left("L").orElseInt(String::length));
+    }
+
+    @Test
+    public void testIsLeftIsRight() {
+        assertTrue(IntEither.left("L").isLeft());
+        assertFalse(IntEither.left("L").isRight());
+        assertFalse(IntEither.right(1).isLeft());
+        assertTrue(IntEither.right(1).isRight());
+    }
+
+    @Test
+    public void testOption() {
+        assertEquals(OptionalInt.of(1), IntEither.right(1).option());
+        assertEquals(OptionalInt.empty(), IntEither.left("L").option());
+        assertEquals(Optional.empty(), IntEither.right(1).leftOption());
+        assertEquals(Optional.of("L"), IntEither.left("L").leftOption());
+    }
+
+    @Test
+    public void testStream() {
+        assertArrayEquals(new int[] {1}, IntEither.right(1).stream().toArray());
+        assertArrayEquals(new int[] {}, IntEither.left("L").stream().toArray());
+        assertArrayEquals(new String[] {}, IntEither.right(1).leftStream().toArray(String[]::new));
+        assertArrayEquals(new String[] {"L"}, IntEither.left("L").leftStream().toArray(String[]::new));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("right<1>", IntEither.right(1).toString());
+        assertEquals("left<L>", IntEither.left("L").toString());
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        assertNotEquals(IntEither.right(2), IntEither.right(1));
+        assertNotEquals(IntEither.left(1), IntEither.right(1));
+        assertEquals(Either.right(1).hashCode(), IntEither.right(1).hashCode());
+        assertEquals(Either.left("L").hashCode(), IntEither.left("L").hashCode());
+    }
+}
@@ -0,0 +1,157 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+import static se.fnord.either.TestUtil.leftValue;
+
+public class TestLazyEither {
+    @Test
+    public void testNotEvaluatedUntilNeeded() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyEither<Exception, Integer> lazy = LazyEither.fromSupplier(calls::incrementAndGet);
+        LazyEither<Exception, Integer> mapped = lazy.map(i -> i * 2).flatMap(i -> Either.right(i + 1));
+
+        assertFalse(lazy.isEvaluated());
+        assertFalse(mapped.isEvaluated());
+        assertEquals(0, calls.get());
+
+        assertRight(3, mapped.get());
+        assertTrue(lazy.isEvaluated());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testEvaluatedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyEither<Exception, Integer> lazy = LazyEither.fromSupplier(calls::incrementAndGet);
+        assertTrue(lazy.isRight());
+        assertEquals(1, (int) lazy.orElse(-1));
+        assertEquals("1", lazy.fold(Object::toString, Object::toString));
+        assertEquals(1, calls.get());
+
+        LazyEither<Exception, Integer> a = lazy.map(i -> i + 1);
+        LazyEither<Exception, Integer> b = lazy.map(i -> i + 2);
+        assertRight(2, a.get());
+        assertRight(3, b.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testFromSupplierCaptures() {
+        LazyEither<Exception, Integer> lazy = LazyEither.fromSupplier(() -> {
+            throw new IOException("fnord");
+        });
+        assertTrue(lazy.isLeft());
+        assertThat(leftValue(lazy.get()), instanceOf(IOException.class));
+        assertEquals(-1, (int) lazy.orElse(-1));
+    }
+
+    @Test
+    public void testLeft() {
+        assertLeft("LL", LazyEither.<String, Integer>left("L").leftMap(s -> s + "L").get());
+        assertLeft("L", LazyEither.<String, Integer>left("L").map(i -> i + 1).get());
+        assertRight(1, LazyEither.<String, Integer>left("L").leftFlatMap(s -> Either.right(s.length())).get());
+        assertLeft(1, LazyEither.<String, Integer>left("L").bimap(String::length, i -> i + 1).get());
+    }
+
+    @Test
+    public void testUncheckedExceptionLeavesUnevaluated() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyEither<String, Integer> lazy = LazyEither.of(() -> {
+            if (calls.incrementAndGet() == 1)
+                throw new IllegalStateException();
+            return Either.right(calls.get());
+        });
+        try {
+            lazy.get();
+            fail();
+        }
+        catch (IllegalStateException expected) {
+        }
+        assertFalse(lazy.isEvaluated());
+        assertRight(2, lazy.get());
+    }
+
+    @Test
+    public void testNullSupplierResult() {
+        LazyEither<String, Integer> lazy = LazyEither.of(() -> null);
+        for (int i = 0; i < 2; i++) {
+            try {
+                lazy.get();
+                fail();
+            }
+            catch (NullPointerException e) {
+                assertEquals("supplier returned null", e.getMessage());
+            }
+        }
+        assertFalse(lazy.isEvaluated());
+    }
+
+    @Test
+    public void testLongChain() {
+        LazyEither<String, Integer> lazy = LazyEither.right(0);
+        for (int i = 0; i < 100000; i++)
+            lazy = lazy.map(v -> v + 1);
+        assertRight(100000, lazy.get());
+        assertTrue(lazy.isEvaluated());
+
+        // Evaluating the middle of a chain first leaves the rest to be computed from there
+        LazyEither<String, Integer> root = LazyEither.of(() -> Either.right(0));
+        LazyEither<String, Integer> middle = root;
+        for (int i = 0; i < 50000; i++)
+            middle = middle.map(v -> v + 1);
+        LazyEither<String, Integer> end = middle;
+        for (int i = 0; i < 50000; i++)
+            end = end.flatMap(v -> Either.right(v + 1));
+        assertRight(50000, middle.get());
+        assertRight(100000, end.get());
+    }
+
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        int threads = 8;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        LazyEither<Exception, Integer> lazy = LazyEither.fromSupplier(() -> {
+            Thread.sleep(10);
+            return calls.incrementAndGet();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Either<Exception, Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++)
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return lazy.get();
+                }));
+            start.countDown();
+            for (Future<Either<Exception, Integer>> result : results)
+                assertRight(1, result.get());
+            assertEquals(1, calls.get());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testToString() {
+        LazyEither<String, Integer> lazy = LazyEither.of(() -> Either.right(1));
+        assertEquals("lazy<?>", lazy.toString());
+        lazy.get();
+        assertEquals("lazy<" + Either.right(1) + ">", lazy.toString());
+    }
+}
@@ -3,6 +3,7 @@ package se.fnord.either;
 import org.junit.Test;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.Assert.*;
 import static se.fnord.either.TestUtil.assertLeft;
@@ -20,11 +21,24 @@ public class TestLeft {
         assertLeft("L", Either.left("L").rightMap(s -> s + "R"));
     }
 
+    @Test
+    public void testRightMapReturnsSame() {
+        Either<String, String> left = Either.left("L");
+        assertSame(left, left.map(s -> s + "R"));
+        assertSame(left, left.rightMap(s -> s + "R"));
+    }
+
     @Test
     public void testBiMap() {
         assertLeft("LL", Either.left("L").bimap(l -> l + "L", r -> r + "R"));
     }
 
+    @Test
+    public void testBiMapIdentityReturnsSame() {
+        Either<String, String> left = Either.left("L");
+        assertSame(left, left.bimap(Function.identity(), r -> r + "R"));
+    }
+
 
     @Test
     public void testRightFlatMap() {
@@ -0,0 +1,122 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestLongEither {
+    @Test
+    public void testFromSupplier() {
+        assertEquals(LongEither.right(1L), LongEither.fromSupplier((LongSupplier) () -> 1L));
+        assertTrue(LongEither.fromSupplier((ThrowingLongSupplier) () -> { throw new IOException(); }).isLeft());
+        assertTrue(LongEither.fromFunction(Long::parseLong, "L").isLeft());
+        assertEquals(LongEither.right(1L), LongEither.fromFunction(Long::parseLong, "1"));
+    }
+
+    @Test
+    public void testEitherConversion() {
+        assertRight(1L, LongEither.right(1L).toEither());
+        assertLeft("L", LongEither.left("L").toEither());
+        assertEquals(LongEither.right(1L), LongEither.fromEither(Either.right(1L)));
+        assertEquals(LongEither.left("L"), LongEither.fromEither(Either.left("L")));
+    }
+
+    @Test
+    public void testFromEitherNullRight() {
+        try {
+            LongEither.fromEither(Either.<String, Long>right(null));
+            fail();
+        }
+        catch (NullPointerException e) {
+            assertEquals("Right value is null and cannot be unboxed to long", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMapToLong() {
+        assertEquals(LongEither.right(2L), LongEither.right(1L).mapToLong(i -> i + 1L));
+        LongEither<String> left = LongEither.left("L");
+        assertSame(left, left.mapToLong(i -> i + 1L));
+    }
+
+    @Test
+    public void testMapToObj() {
+        assertRight("1", LongEither.right(1L).mapToObj(Long::toString));
+        assertLeft("L", LongEither.left("L").mapToObj(Long::toString));
+    }
+
+    @Test
+    public void testLeftMap() {
+        assertEquals(LongEither.left("LL"), LongEither.left("L").leftMap(s -> s + "L"));
+        LongEither<String> right = LongEither.right(1L);
+        assertSame(right, right.leftMap(s -> s + "L"));
+    }
+
+    @Test
+    public void testFlatMapToLong() {
+        assertEquals(LongEither.right(2L), LongEither.<String>right(1L).flatMapToLong(i -> LongEither.right(i + 1L)));
+        assertEquals(LongEither.left("1"), LongEither.<String>right(1L).flatMapToLong(i -> LongEither.left(Long.toString(i))));
+        assertEquals(LongEither.left("L"), LongEither.<String>left("L").flatMapToLong(i -> LongEither.right(i + 1L)));
+    }
+
+    @Test
+    public void testFold() {
+        assertEquals(2L, LongEither.right(1L).foldLong(l -> -1, i -> i + 1L));
+        assertEquals(-1L, LongEither.left("L").foldLong(l -> -1, i -> i + 1L));
+        assertEquals("R1", LongEither.right(1L).fold(l -> "L" + l, i -> "R" + i));
+        assertEquals("LL", LongEither.left("L").fold(l -> "L" + l, i -> "R" + i));
+    }
+
+    @Test
+    public void testOrElse() {
+        assertEquals(1L, LongEither.right(1L).orElseLong(2L));
+        assertEquals(1L, LongEither.right(1L).orElseLong(l -> 2L));
+        assertEquals(2L, LongEither.left("L").orElseLong(2L));
+        assertEquals(1L, LongEither.left("L").orElseLong(String::length));
+    }
+
+    @Test
+    public void testIsLeftIsRight() {
+        assertTrue(LongEither.left("L").isLeft());
+        assertFalse(LongEither.left("L").isRight());
+        assertFalse(LongEither.right(1L).isLeft());
+        assertTrue(LongEither.right(1L).isRight());
+    }
+
+    @Test
+    public void testOption() {
+        assertEquals(OptionalLong.of(1), LongEither.right(1L).option());
+        assertEquals(OptionalLong.empty(), LongEither.left("L").option());
+        assertEquals(Optional.empty(), LongEither.right(1L).leftOption());
+        assertEquals(Optional.of("L"), LongEither.left("L").leftOption());
+    }
+
+    @Test
+    public void testStream() {
+        assertArrayEquals(new long[] {1}, LongEither.right(1L).stream().toArray());
+        assertArrayEquals(new long[] {}, LongEither.left("L").stream().toArray());
+        assertArrayEquals(new String[] {}, LongEither.right(1L).leftStream().toArray(String[]::new));
+        assertArrayEquals(new String[] {"L"}, LongEither.left("L").leftStream().toArray(String[]::new));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("right<1>", LongEither.right(1L).toString());
+        assertEquals("left<L>", LongEither.left("L").toString());
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        assertNotEquals(LongEither.right(2L), LongEither.right(1L));
+        assertNotEquals(LongEither.left(1), LongEither.right(1L));
+        assertEquals(Either.right(1L).hashCode(), LongEither.right(1L).hashCode());
+        assertEquals(Either.left("L").hashCode(), LongEither.left("L").hashCode());
+    }
+}
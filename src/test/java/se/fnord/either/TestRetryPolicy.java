@@ -0,0 +1,141 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestRetryPolicy {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Either<String, Integer> failTimes(int failures) {
+        int call = calls.incrementAndGet();
+        return call <= failures ? Either.left("fail " + call) : Either.right(call);
+    }
+
+    @Test
+    public void testRetriesUntilRight() {
+        RetryPolicy<Object> policy = RetryPolicy.builder().maxAttempts(3).delay(Duration.ZERO).build();
+        Function<Integer, Either<String, Integer>> f = EitherOps.retrying(this::failTimes, policy);
+        assertRight(3, f.apply(2));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testGivesUpAfterMaxAttempts() {
+        RetryPolicy<Object> policy = RetryPolicy.builder().maxAttempts(3).delay(Duration.ZERO).build();
+        Function<Integer, Either<String, Integer>> f = EitherOps.retrying(this::failTimes, policy);
+        assertLeft("fail 3", f.apply(5));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testRetryIf() {
+        RetryPolicy<Exception> policy = RetryPolicy.<Exception>builder()
+            .delay(Duration.ZERO)
+            .retryIf(e -> e instanceof IOException)
+            .build();
+        Function<String, Either<Exception, Integer>> f = EitherOps.retrying(EitherOps.fromThrowingFunction(s -> {
+            calls.incrementAndGet();
+            return Integer.parseInt(s);
+        }), policy);
+        f.apply("x");
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testBackoff() {
+        RetryPolicy<Object> policy = RetryPolicy.builder()
+            .backoff(Duration.ofMillis(10), Duration.ofMillis(50), 2)
+            .build();
+        assertEquals(Duration.ofMillis(10).toNanos(), policy.delayNanos(1));
+        assertEquals(Duration.ofMillis(20).toNanos(), policy.delayNanos(2));
+        assertEquals(Duration.ofMillis(40).toNanos(), policy.delayNanos(3));
+        assertEquals(Duration.ofMillis(50).toNanos(), policy.delayNanos(4));
+        assertEquals(Duration.ofMillis(50).toNanos(), policy.delayNanos(40));
+    }
+
+    @Test
+    public void testJitter() {
+        RetryPolicy<Object> policy = RetryPolicy.builder()
+            .delay(Duration.ofMillis(10))
+            .jitter(0.5)
+            .build();
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.delayNanos(1);
+            assertTrue(delay > Duration.ofMillis(5).toNanos() && delay <= Duration.ofMillis(10).toNanos());
+        }
+    }
+
+    @Test
+    public void testSleepsBetweenAttempts() {
+        RetryPolicy<Object> policy = RetryPolicy.builder().maxAttempts(3).delay(Duration.ofMillis(20)).build();
+        long start = System.nanoTime();
+        EitherOps.retrying(this::failTimes, policy).apply(5);
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(40).toNanos());
+    }
+
+    @Test
+    public void testAsync() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            RetryPolicy<Object> policy = RetryPolicy.builder().maxAttempts(4).delay(Duration.ofMillis(5)).build();
+            Function<Integer, AsyncEither<String, Integer>> f = EitherOps.retryingAsync(
+                n -> AsyncEither.completed(failTimes(n), null), policy, scheduler);
+
+            assertRight(3, f.apply(2).toCompletableFuture().get());
+            calls.set(0);
+            assertLeft("fail 4", f.apply(10).toCompletableFuture().get());
+            assertEquals(4, calls.get());
+        }
+        finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testAsyncRejected() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.shutdown();
+        RetryPolicy<Object> policy = RetryPolicy.builder().delay(Duration.ofMillis(5)).build();
+        Function<Integer, AsyncEither<String, Integer>> f = EitherOps.retryingAsync(
+            n -> AsyncEither.completed(failTimes(n), null), policy, scheduler);
+        assertLeft("fail 1", f.apply(10).toCompletableFuture().get());
+    }
+
+    @Test
+    public void testAsyncThrowingFunction() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            RetryPolicy<Object> policy = RetryPolicy.builder().delay(Duration.ofMillis(5)).build();
+            Function<Integer, AsyncEither<String, Integer>> f = EitherOps.retryingAsync(n -> {
+                if (calls.incrementAndGet() >= n)
+                    throw new IllegalStateException("attempt " + calls.get());
+                return AsyncEither.completed(Either.left("fail"), null);
+            }, policy, scheduler);
+
+            for (int n : new int[] { 1, 2 }) {
+                calls.set(0);
+                try {
+                    f.apply(n).toCompletableFuture().get();
+                    fail();
+                }
+                catch (ExecutionException e) {
+                    assertEquals("attempt " + n, e.getCause().getMessage());
+                }
+            }
+        }
+        finally {
+            scheduler.shutdown();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package se.fnord.either;
 import org.junit.Test;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.Assert.*;
 import static se.fnord.either.TestUtil.assertLeft;
@@ -20,11 +21,23 @@ public class TestRight {
         assertRight("RR", Either.right("R").rightMap(s -> s + "R"));
     }
 
+    @Test
+    public void testLeftMapReturnsSame() {
+        Either<String, String> right = Either.right("R");
+        assertSame(right, right.leftMap(s -> s + "L"));
+    }
+
     @Test
     public void testBiMap() {
         assertRight("RR", Either.right("R").bimap(l -> l + "L", r -> r + "R"));
     }
 
+    @Test
+    public void testBiMapIdentityReturnsSame() {
+        Either<String, String> right = Either.right("R");
+        assertSame(right, right.bimap(l -> l + "L", Function.identity()));
+    }
+
 
     @Test
     public void testRightFlatMap() {
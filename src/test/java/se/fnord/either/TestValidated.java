@@ -0,0 +1,103 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static se.fnord.either.TestUtil.assertLeft;
+import static se.fnord.either.TestUtil.assertRight;
+
+public class TestValidated {
+    private static Validated<String, Integer> positive(int i) {
+        return i > 0 ? Validated.valid(i) : Validated.invalid(i + " is not positive");
+    }
+
+    @Test
+    public void testValid() {
+        Validated<String, Integer> v = Validated.valid(1);
+        assertTrue(v.isValid());
+        assertFalse(v.isInvalid());
+        assertEquals(Collections.emptyList(), v.errors());
+        assertEquals(Integer.valueOf(1), v.orElse(2));
+        assertRight(1, v.toEither());
+        assertEquals("valid<1>", v.toString());
+    }
+
+    @Test
+    public void testInvalid() {
+        Validated<String, Integer> v = Validated.invalid("E");
+        assertFalse(v.isValid());
+        assertTrue(v.isInvalid());
+        assertEquals(Collections.singletonList("E"), v.errors());
+        assertEquals(Integer.valueOf(2), v.orElse(2));
+        assertEquals(Integer.valueOf(1), v.orElse(List::size));
+        assertLeft(Collections.singletonList("E"), v.toEither());
+        assertEquals("invalid<[E]>", v.toString());
+    }
+
+    @Test
+    public void testFromEither() {
+        assertEquals(Validated.valid(1), Validated.fromEither(Either.right(1)));
+        assertEquals(Validated.invalid("E"), Validated.fromEither(Either.left("E")));
+    }
+
+    @Test
+    public void testMap() {
+        assertEquals(Validated.valid(2), positive(1).map(i -> i + 1));
+        assertEquals(Validated.invalid("0 is not positive"), positive(0).map(i -> i + 1));
+        assertEquals(Validated.invalid(17), positive(0).mapErrors(String::length));
+        Validated<String, Integer> valid = positive(1);
+        assertSame(valid, valid.mapErrors(String::length));
+    }
+
+    @Test
+    public void testZip() {
+        assertEquals(Validated.valid(3), positive(1).zip(positive(2), Integer::sum));
+        assertEquals(Arrays.asList("0 is not positive"), positive(1).zip(positive(0), Integer::sum).errors());
+        assertEquals(Arrays.asList("0 is not positive"), positive(0).zip(positive(1), Integer::sum).errors());
+        assertEquals(Arrays.asList("0 is not positive", "-1 is not positive"), positive(0).zip(positive(-1), Integer::sum).errors());
+    }
+
+    @Test
+    public void testMapN() {
+        assertEquals(Validated.valid(3), Validated.map2(positive(1), positive(2), Integer::sum));
+        assertEquals(Validated.valid(6), Validated.map3(positive(1), positive(2), positive(3), (a, b, c) -> a + b + c));
+        assertEquals(Validated.valid(10), Validated.map4(positive(1), positive(2), positive(3), positive(4), (a, b, c, d) -> a + b + c + d));
+
+        assertEquals(Arrays.asList("0 is not positive", "-2 is not positive"),
+                Validated.map4(positive(1), positive(0), positive(3), positive(-2), (a, b, c, d) -> a + b + c + d).errors());
+        assertEquals(Arrays.asList("-1 is not positive"),
+                Validated.map3(positive(-1), positive(2), positive(3), (a, b, c) -> a + b + c).errors());
+    }
+
+    @Test
+    public void testFold() {
+        assertEquals("1", positive(1).fold(e -> "E", Object::toString));
+        assertEquals("E[0 is not positive]", positive(0).fold(e -> "E" + e, Object::toString));
+    }
+
+    @Test
+    public void testCollector() {
+        assertEquals(Validated.valid(Arrays.asList(1, 2, 3)), Stream.of(1, 2, 3).map(TestValidated::positive).collect(Validated.collector()));
+        assertEquals(Arrays.asList("0 is not positive", "-1 is not positive"),
+                Stream.of(1, 0, 2, -1).map(TestValidated::positive).collect(Validated.collector()).errors());
+
+        Validated<String, List<Integer>> parallel = IntStream.range(-50000, 50000).parallel().boxed()
+                .map(TestValidated::positive)
+                .collect(Validated.collector());
+        assertEquals(50001, parallel.errors().size());
+        assertEquals("-50000 is not positive", parallel.errors().get(0));
+        assertEquals("0 is not positive", parallel.errors().get(50000));
+    }
+
+    @Test
+    public void testEitherCollector() {
+        assertEquals(Validated.valid(Arrays.asList(1, 2)), Stream.of(Either.<String, Integer>right(1), Either.right(2)).collect(EitherCollectors.accumulating()));
+        assertEquals(Arrays.asList("A", "B"), Stream.of(Either.<String, Integer>left("A"), Either.right(2), Either.left("B")).collect(EitherCollectors.accumulating()).errors());
+    }
+}
@@ -0,0 +1,47 @@
+package se.fnord.either;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class TestValidator {
+    @Test
+    public void testNoErrors() {
+        Validator<String> v = Validator.<String>create()
+                .require(true, "E1")
+                .check(Either.right(1))
+                .check(Validated.valid(2));
+
+        assertFalse(v.hasErrors());
+        assertEquals(Validated.valid("V"), v.result("V"));
+        assertEquals(Validated.valid("V"), v.result(x -> "V"));
+    }
+
+    @Test
+    public void testErrors() {
+        Validator<String> v = Validator.<String>create()
+                .require(false, "E1")
+                .check(Either.left("E2"))
+                .check(Validated.invalid("E3"))
+                .check(Validated.invalid("E4").zip(Validated.invalid("E5"), (a, b) -> a))
+                .error("E6");
+
+        assertTrue(v.hasErrors());
+        assertEquals(Arrays.asList("E1", "E2", "E3", "E4", "E5", "E6"), v.result("V").errors());
+        assertEquals(Arrays.asList("E1", "E2", "E3", "E4", "E5", "E6"), v.result(x -> { throw new AssertionError(); }).errors());
+    }
+
+    @Test
+    public void testManyErrors() {
+        Validator<Integer> v = Validator.create();
+        for (int i = 0; i < 40; i++)
+            v.require(i % 2 == 0, i);
+
+        assertEquals(20, v.result("V").errors().size());
+        assertEquals(Integer.valueOf(39), v.result("V").errors().get(19));
+        assertEquals(Collections.singletonList(1), Validator.<Integer>create().error(1).result("V").errors());
+    }
+}